@@ -0,0 +1,178 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.javafx.application.PlatformImpl;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+/**
+ * This is a utility class for common benchmark setup chores, such as making
+ * sure the JavaFX Toolkit is running before any controls are instantiated.
+ */
+public final class BenchmarkUtilities {
+
+    // Cache whether the JavaFX Toolkit has already been started in this JVM.
+    private static boolean fxToolkitStarted = false;
+
+    /**
+     * The default constructor is disabled, as this is a static utility class.
+     */
+    private BenchmarkUtilities() {}
+
+    /**
+     * Selects the Monocle headless Glass platform and the software renderer,
+     * so that Scenes can be laid out and styled without any display attached.
+     * <p>
+     * NOTE: This must be called before the JavaFX Toolkit is started.
+     */
+    public static void enableHeadlessToolkit() {
+        System.setProperty( "glass.platform", "Monocle" ); //$NON-NLS-1$ //$NON-NLS-2$
+        System.setProperty( "monocle.platform", "Headless" ); //$NON-NLS-1$ //$NON-NLS-2$
+        System.setProperty( "prism.order", "sw" ); //$NON-NLS-1$ //$NON-NLS-2$
+        System.setProperty( "prism.text", "t2k" ); //$NON-NLS-1$ //$NON-NLS-2$
+        System.setProperty( "java.awt.headless", "true" ); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Runs the supplied task on the JavaFX Application Thread and blocks the
+     * calling thread until it has completed, rethrowing any runtime failure.
+     *
+     * @param task
+     *            The task to run on the JavaFX Application Thread
+     */
+    public static void runAndWait( final Runnable task ) {
+        if ( Platform.isFxApplicationThread() ) {
+            task.run();
+            return;
+        }
+
+        final CountDownLatch taskLatch = new CountDownLatch( 1 );
+        final RuntimeException[] failure = new RuntimeException[ 1 ];
+        Platform.runLater( () -> {
+            try {
+                task.run();
+            }
+            catch ( final RuntimeException re ) {
+                failure[ 0 ] = re;
+            }
+            finally {
+                taskLatch.countDown();
+            }
+        } );
+
+        try {
+            taskLatch.await();
+        }
+        catch ( final InterruptedException ie ) {
+            Thread.currentThread().interrupt();
+        }
+
+        if ( failure[ 0 ] != null ) {
+            throw failure[ 0 ];
+        }
+    }
+
+    /**
+     * Returns the number of Nodes in the Scene Graph rooted at the supplied
+     * Node, including the root itself and any Nodes contributed by Skins.
+     *
+     * @param root
+     *            The root of the Scene Graph branch to count
+     * @return The number of Nodes in the Scene Graph branch
+     */
+    public static int countNodes( final Node root ) {
+        int nodeCount = 1;
+        if ( root instanceof Parent ) {
+            for ( final Node child : ( ( Parent ) root ).getChildrenUnmodifiable() ) {
+                nodeCount += countNodes( child );
+            }
+        }
+        return nodeCount;
+    }
+
+    /**
+     * Returns the currently used heap, after making a best effort to collect
+     * any unreachable objects so that the result approximates retained heap.
+     *
+     * @return The used heap, in bytes
+     */
+    public static long getUsedHeapAfterGc() {
+        final Runtime runtime = Runtime.getRuntime();
+        for ( int i = 0; i < 4; i++ ) {
+            System.gc();
+            try {
+                Thread.sleep( 50L );
+            }
+            catch ( final InterruptedException ie ) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Starts the JavaFX Toolkit once per JVM (each JMH fork is its own JVM).
+     * <p>
+     * NOTE: Controls can be instantiated off the JavaFX Application Thread as
+     *  long as they are not yet attached to a live Scene, but the Toolkit must
+     *  be initialized first for CSS and Skin related static initializers.
+     */
+    public static synchronized void startFxToolkit() {
+        if ( fxToolkitStarted ) {
+            return;
+        }
+
+        final CountDownLatch startupLatch = new CountDownLatch( 1 );
+        try {
+            PlatformImpl.startup( startupLatch::countDown );
+        }
+        catch ( final IllegalStateException ise ) {
+            // The Toolkit was already started by someone else.
+            startupLatch.countDown();
+        }
+
+        try {
+            startupLatch.await( 10L, TimeUnit.SECONDS );
+        }
+        catch ( final InterruptedException ie ) {
+            Thread.currentThread().interrupt();
+        }
+
+        fxToolkitStarted = true;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mhschmieder.fxsigproccontrols.control.ChannelParameterPublisher;
+import com.mhschmieder.fxsigproccontrols.model.ChannelParameterSnapshot;
+import com.mhschmieder.jsigproc.filter.HighLowPassFilterType;
+
+/**
+ * Stress-tests the FX-to-DSP parameter bridge with one writer publishing as
+ * fast as it can and many concurrent readers, standing in for audio threads.
+ * <p>
+ * Every value the writer stages is derived from one counter, so a reader can
+ * tell from any snapshot whether it is internally consistent; a torn read
+ * fails the run. The reader results show the cost of a wait-free read of a
+ * whole channel, and the GC profiler confirms that readers allocate nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ChannelParameterBridgeBenchmark {
+
+    private static final int          NUMBER_OF_BANDS = 10;
+
+    private ChannelParameterPublisher publisher;
+    private long                      counter;
+
+    @Setup
+    public void setUp() {
+        publisher = new ChannelParameterPublisher( NUMBER_OF_BANDS );
+        stage( 0L );
+        publisher.publish();
+    }
+
+    private void stage( final long value ) {
+        final double base = value;
+        publisher.setMasterLevelSettings( base, ( value & 1L ) != 0L, ( value & 2L ) != 0L );
+        publisher.setHighPassFilter( HighLowPassFilterType.SECOND_ORDER_HIGH_PASS,
+                                     base + 1.0d,
+                                     ( value & 1L ) != 0L );
+        publisher.setLowPassFilter( HighLowPassFilterType.LOW_PASS,
+                                    base + 2.0d,
+                                    ( value & 2L ) != 0L );
+        for ( int bandIndex = 0; bandIndex < NUMBER_OF_BANDS; bandIndex++ ) {
+            publisher.setBand( bandIndex,
+                               base + bandIndex,
+                               base * 0.5d,
+                               -base,
+                               ( value & 1L ) != 0L );
+        }
+    }
+
+    @Benchmark
+    @Group("bridge")
+    @GroupThreads(1)
+    public long publish() {
+        stage( ++counter );
+        publisher.publish();
+        return counter;
+    }
+
+    @Benchmark
+    @Group("bridge")
+    @GroupThreads(7)
+    public double read() {
+        final ChannelParameterSnapshot snapshot = publisher.getSnapshot();
+        final double base = snapshot.getGainDb();
+        final long value = ( long ) base;
+        boolean consistent = ( snapshot.isMuted() == ( ( value & 1L ) != 0L ) )
+                && ( snapshot.isPolarityReversed() == ( ( value & 2L ) != 0L ) )
+                && ( snapshot.getHighPassCutoffFrequencyHz() == ( base + 1.0d ) )
+                && ( snapshot.isHighPassBypassed() == ( ( value & 1L ) != 0L ) )
+                && ( snapshot.getLowPassCutoffFrequencyHz() == ( base + 2.0d ) )
+                && ( snapshot.isLowPassBypassed() == ( ( value & 2L ) != 0L ) );
+
+        double sum = 0.0d;
+        final int numberOfBands = snapshot.getNumberOfBands();
+        for ( int bandIndex = 0; bandIndex < numberOfBands; bandIndex++ ) {
+            consistent &= ( snapshot.getBandFrequencyHz( bandIndex ) == ( base + bandIndex ) )
+                    && ( snapshot.getBandBandwidthOctaves( bandIndex ) == ( base * 0.5d ) )
+                    && ( snapshot.getBandGainDb( bandIndex ) == -base )
+                    && ( snapshot.isBandBypassed( bandIndex ) == ( ( value & 1L ) != 0L ) );
+            sum += snapshot.getBandGainDb( bandIndex );
+        }
+
+        if ( !consistent ) {
+            throw new IllegalStateException( "Torn read of snapshot " //$NON-NLS-1$
+                    + snapshot.getSequenceNumber() );
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.benchmark;
+
+import com.mhschmieder.fxsigproccontrols.control.AllPassFilterControls;
+import com.mhschmieder.fxsigproccontrols.control.HighLowPassFilterControls;
+import com.mhschmieder.fxsigproccontrols.control.MasterLevelSettingsControls;
+import com.mhschmieder.fxsigproccontrols.control.ParametricFilterControls;
+import com.mhschmieder.jcommons.util.ClientProperties;
+import com.mhschmieder.jsigproc.filter.ElectronicFilterType;
+import javafx.scene.layout.GridPane;
+
+/**
+ * A representative console channel strip, built the same way as in client
+ * applications: Master Level Settings, a High Pass and a Low Pass filter,
+ * ten Parametric Filter bands and four All Pass Filter sections, all laid out
+ * in a single Grid Pane column per control group.
+ * <p>
+ * In lazy mode, the filter bands and sections use lazy construction and start
+ * out hidden, which is how dense consoles with mostly unused bands are built;
+ * their controls are added to the reserved layout rows on first reveal.
+ */
+public final class ChannelStrip {
+
+    public static final int             NUMBER_OF_PARAMETRIC_FILTERS = 10;
+    public static final int             NUMBER_OF_ALL_PASS_FILTERS   = 4;
+
+    public final MasterLevelSettingsControls _masterLevelSettingsControls;
+    public final HighLowPassFilterControls   _highPassFilterControls;
+    public final HighLowPassFilterControls   _lowPassFilterControls;
+    public final ParametricFilterControls[]  _parametricFilterControls;
+    public final AllPassFilterControls[]     _allPassFilterControls;
+
+    public final GridPane                    _layout;
+
+    public ChannelStrip( final ClientProperties clientProperties ) {
+        this( clientProperties, false );
+    }
+
+    public ChannelStrip( final ClientProperties clientProperties,
+                         final boolean lazyFilterConstruction ) {
+        _masterLevelSettingsControls = new MasterLevelSettingsControls( clientProperties,
+                                                                        true,
+                                                                        true );
+
+        _highPassFilterControls = new HighLowPassFilterControls( clientProperties,
+                                                                 true,
+                                                                 ElectronicFilterType.HIGH_PASS,
+                                                                 true,
+                                                                 10.0d,
+                                                                 20000.0d,
+                                                                 20.0d );
+        _lowPassFilterControls = new HighLowPassFilterControls( clientProperties,
+                                                                true,
+                                                                ElectronicFilterType.LOW_PASS,
+                                                                true,
+                                                                10.0d,
+                                                                20000.0d,
+                                                                20000.0d );
+
+        _parametricFilterControls = new ParametricFilterControls[ NUMBER_OF_PARAMETRIC_FILTERS ];
+        for ( int i = 0; i < NUMBER_OF_PARAMETRIC_FILTERS; i++ ) {
+            _parametricFilterControls[ i ] = new ParametricFilterControls( clientProperties,
+                                                                           i + 1,
+                                                                           lazyFilterConstruction );
+        }
+
+        _allPassFilterControls = new AllPassFilterControls[ NUMBER_OF_ALL_PASS_FILTERS ];
+        for ( int i = 0; i < NUMBER_OF_ALL_PASS_FILTERS; i++ ) {
+            _allPassFilterControls[ i ] = new AllPassFilterControls( clientProperties,
+                                                                     i + 1,
+                                                                     true,
+                                                                     lazyFilterConstruction );
+        }
+
+        _layout = new GridPane();
+        layoutControls();
+    }
+
+    private void layoutControls() {
+        int row = 0;
+
+        _layout.add( _masterLevelSettingsControls._polarityToggleButton, 0, row++ );
+        _layout.add( _masterLevelSettingsControls._gainEditor, 0, row++ );
+        _layout.add( _masterLevelSettingsControls._muteToggleButton, 0, row++ );
+
+        row = addHighLowPassFilterControls( _highPassFilterControls, row );
+        row = addHighLowPassFilterControls( _lowPassFilterControls, row );
+
+        for ( final ParametricFilterControls parametricFilterControls : _parametricFilterControls ) {
+            final int firstRow = row;
+            row += 4;
+            if ( parametricFilterControls.isMaterialized() ) {
+                addParametricFilterControls( parametricFilterControls, firstRow );
+            }
+            else {
+                parametricFilterControls.setMaterializationHandler(
+                        controls -> addParametricFilterControls( controls, firstRow ) );
+            }
+        }
+
+        for ( final AllPassFilterControls allPassFilterControls : _allPassFilterControls ) {
+            final int firstRow = row;
+            row += 3;
+            if ( allPassFilterControls.isMaterialized() ) {
+                addAllPassFilterControls( allPassFilterControls, firstRow );
+            }
+            else {
+                allPassFilterControls.setMaterializationHandler(
+                        controls -> addAllPassFilterControls( controls, firstRow ) );
+            }
+        }
+    }
+
+    private void addParametricFilterControls( final ParametricFilterControls parametricFilterControls,
+                                              final int firstRow ) {
+        int row = firstRow;
+        _layout.add( parametricFilterControls._filterToggleButton, 0, row++ );
+        _layout.add( parametricFilterControls._frequencyEditor, 0, row++ );
+        _layout.add( parametricFilterControls._bandwidthEditor, 0, row++ );
+        _layout.add( parametricFilterControls._gainEditor, 0, row++ );
+    }
+
+    private void addAllPassFilterControls( final AllPassFilterControls allPassFilterControls,
+                                           final int firstRow ) {
+        int row = firstRow;
+        _layout.add( allPassFilterControls._filterToggleButton, 0, row++ );
+        _layout.add( allPassFilterControls._frequencyEditor, 0, row++ );
+        _layout.add( allPassFilterControls._bandwidthEditor, 0, row++ );
+    }
+
+    private int addHighLowPassFilterControls( final HighLowPassFilterControls highLowPassFilterControls,
+                                              final int startRow ) {
+        int row = startRow;
+        _layout.add( highLowPassFilterControls._highLowPassFilterLabel, 0, row++ );
+        _layout.add( highLowPassFilterControls._highLowPassFilterSelector, 0, row++ );
+        _layout.add( highLowPassFilterControls._highLowPassCutoffFrequencyLabel, 0, row++ );
+        _layout.add( highLowPassFilterControls._highLowPassCutoffFrequencyEditor, 0, row++ );
+        _layout.add( highLowPassFilterControls._highLowPassToggleButton, 0, row++ );
+        return row;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.benchmark;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+import com.mhschmieder.jcommons.util.ClientProperties;
+import javafx.scene.Scene;
+import javafx.scene.layout.HBox;
+
+/**
+ * Headless harness that times construction and the first CSS and layout pass
+ * for a console of N channel strips, and reports the number of Nodes created
+ * and the heap retained per strip.
+ * <p>
+ * This runs on the Monocle headless platform so that it can be used on build
+ * servers to catch regressions in the control factories. It is a stand-alone
+ * harness rather than a JMH benchmark, as the first CSS pass is by definition
+ * a one-shot cost that cannot be warmed up without skewing the measurement;
+ * instead, a configurable number of throwaway warmup consoles are built first
+ * so that class loading and JIT compilation are excluded from the results.
+ * <p>
+ * Usage: ChannelStripHarness [numberOfChannels] [numberOfWarmupRounds] [lazy]
+ * <p>
+ * Passing "lazy" as the third argument builds the filter bands and sections
+ * in lazy construction mode, to measure the saving for hidden bands.
+ */
+public final class ChannelStripHarness {
+
+    public static final int NUMBER_OF_CHANNELS_DEFAULT      = 256;
+    public static final int NUMBER_OF_WARMUP_ROUNDS_DEFAULT = 3;
+
+    /**
+     * The default constructor is disabled, as this is a static entry class.
+     */
+    private ChannelStripHarness() {}
+
+    public static void main( final String[] args ) {
+        final int numberOfChannels = ( args.length > 0 )
+            ? Integer.parseInt( args[ 0 ] )
+            : NUMBER_OF_CHANNELS_DEFAULT;
+        final int numberOfWarmupRounds = ( args.length > 1 )
+            ? Integer.parseInt( args[ 1 ] )
+            : NUMBER_OF_WARMUP_ROUNDS_DEFAULT;
+        final boolean lazyFilterConstruction = ( args.length > 2 )
+                && "lazy".equalsIgnoreCase( args[ 2 ] ); //$NON-NLS-1$
+
+        BenchmarkUtilities.enableHeadlessToolkit();
+        BenchmarkUtilities.startFxToolkit();
+
+        final ClientProperties clientProperties = ClientProperties.makeDefault();
+
+        // Warm up with small consoles, discarding the results.
+        for ( int i = 0; i < numberOfWarmupRounds; i++ ) {
+            measure( clientProperties, Math.min( numberOfChannels, 16 ), lazyFilterConstruction );
+        }
+
+        final Result result = measure( clientProperties,
+                                       numberOfChannels,
+                                       lazyFilterConstruction );
+        result.report( System.out );
+
+        System.exit( 0 );
+    }
+
+    /**
+     * Builds, styles and lays out a console of the given number of channel
+     * strips, returning the timings and resource counts for that console.
+     *
+     * @param clientProperties
+     *            The Client Properties to pass to the control constructors
+     * @param numberOfChannels
+     *            The number of channel strips to build
+     * @param lazyFilterConstruction
+     *            true if the filter controls should be lazily constructed
+     * @return The measured timings and resource counts
+     */
+    public static Result measure( final ClientProperties clientProperties,
+                                  final int numberOfChannels,
+                                  final boolean lazyFilterConstruction ) {
+        final Result result = new Result( numberOfChannels );
+        final ChannelStrip[] channelStrips = new ChannelStrip[ numberOfChannels ];
+        final HBox console = new HBox();
+
+        final long heapBefore = BenchmarkUtilities.getUsedHeapAfterGc();
+
+        BenchmarkUtilities.runAndWait( () -> {
+            final long constructionStart = System.nanoTime();
+            for ( int i = 0; i < numberOfChannels; i++ ) {
+                channelStrips[ i ] = new ChannelStrip( clientProperties, lazyFilterConstruction );
+                console.getChildren().add( channelStrips[ i ]._layout );
+            }
+            result.constructionNanos = System.nanoTime() - constructionStart;
+
+            final Scene scene = new Scene( console );
+            final long layoutStart = System.nanoTime();
+            console.applyCss();
+            console.layout();
+            result.firstLayoutNanos = System.nanoTime() - layoutStart;
+
+            // NOTE: Skins are only created during the CSS pass, so we count
+            //  Nodes afterwards to include their contribution.
+            result.nodeCount = BenchmarkUtilities.countNodes( scene.getRoot() );
+        } );
+
+        final long heapAfter = BenchmarkUtilities.getUsedHeapAfterGc();
+        result.retainedHeapBytes = heapAfter - heapBefore;
+
+        // Keep the console reachable until after the heap has been measured.
+        if ( console.getChildren().size() != numberOfChannels ) {
+            throw new IllegalStateException( "Console was not fully built" ); //$NON-NLS-1$
+        }
+
+        return result;
+    }
+
+    /**
+     * The timings and resource counts for a single console measurement.
+     */
+    public static final class Result {
+
+        public final int numberOfChannels;
+
+        public long      constructionNanos;
+        public long      firstLayoutNanos;
+        public int       nodeCount;
+        public long      retainedHeapBytes;
+
+        public Result( final int pNumberOfChannels ) {
+            numberOfChannels = pNumberOfChannels;
+        }
+
+        public void report( final PrintStream printStream ) {
+            final int channels = Math.max( 1, numberOfChannels );
+            printStream.println( String.format( Locale.US,
+                                                "Channel strips:          %d", //$NON-NLS-1$
+                                                numberOfChannels ) );
+            printStream.println( String.format( Locale.US,
+                                                "Construction:            %.2f ms (%.3f ms/strip)", //$NON-NLS-1$
+                                                constructionNanos * 1.0e-6d,
+                                                ( constructionNanos * 1.0e-6d ) / channels ) );
+            printStream.println( String.format( Locale.US,
+                                                "First CSS/layout pass:   %.2f ms (%.3f ms/strip)", //$NON-NLS-1$
+                                                firstLayoutNanos * 1.0e-6d,
+                                                ( firstLayoutNanos * 1.0e-6d ) / channels ) );
+            printStream.println( String.format( Locale.US,
+                                                "Nodes created:           %d (%d/strip)", //$NON-NLS-1$
+                                                nodeCount,
+                                                nodeCount / channels ) );
+            printStream.println( String.format( Locale.US,
+                                                "Heap retained:           %.1f KiB (%.1f KiB/strip)", //$NON-NLS-1$
+                                                retainedHeapBytes / 1024.0d,
+                                                ( retainedHeapBytes / 1024.0d ) / channels ) );
+        }
+    }
+}
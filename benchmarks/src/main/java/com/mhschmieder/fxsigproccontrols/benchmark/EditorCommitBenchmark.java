@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.benchmark;
+
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mhschmieder.fxcontrols.control.DoubleEditor;
+import com.mhschmieder.fxsigproccontrols.control.SigprocControlFactory;
+import com.mhschmieder.jcommons.util.ClientProperties;
+
+/**
+ * Approximates the text-to-double commit path that the Frequency Editor and
+ * the Gain Editor inherit from the Double Editor: undecorate the typed text,
+ * parse it with up to four decimal places, adjust its precision, store the
+ * value, and then format and decorate it again for display.
+ * <p>
+ * This is only an approximation, not the editors' real commit path: the
+ * parsing and formatting that the Double Editor does between our overrides
+ * is not reachable from outside, so it is stood in for here by two number
+ * formats configured the way the editors configure theirs (zero to one
+ * decimal places for display, zero to four for parsing, US locale). Our own
+ * overrides, and the value property update, are the real ones.
+ * <p>
+ * NOTE: Decorators that format their own display text from the value ignore
+ *  the stand-in display text; it is still formatted, as the inherited path
+ *  formats before decorating. Results are for comparing revisions of the
+ *  overrides, not for quoting as the cost of a real commit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EditorCommitBenchmark {
+
+    private static final String[] FREQUENCY_TEXTS = new String[] {
+                                                                   "20",
+                                                                   "31.5",
+                                                                   "63.25",
+                                                                   "125",
+                                                                   "999.9999",
+                                                                   "1000",
+                                                                   "3150.5",
+                                                                   "16000" };
+
+    private static final String[] GAIN_TEXTS      = new String[] {
+                                                                   "-18",
+                                                                   "-6.5",
+                                                                   "0",
+                                                                   "+0.1",
+                                                                   "3.25",
+                                                                   "+12" };
+
+    private DoubleEditor          frequencyEditor;
+    private DoubleEditor          gainEditor;
+
+    // Stand-ins for the Double Editor's own display and parse formats.
+    private NumberFormat          standInDisplayFormat;
+    private NumberFormat          standInParseFormat;
+
+    private int                   frequencyIndex;
+    private int                   gainIndex;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtilities.startFxToolkit();
+
+        final ClientProperties clientProperties = ClientProperties.makeDefault();
+
+        frequencyEditor = SigprocControlFactory.getFrequencyEditor( clientProperties,
+                                                                    "Frequency",
+                                                                    " Hz",
+                                                                    10.0d,
+                                                                    20000.0d,
+                                                                    1000.0d,
+                                                                    1000.0d,
+                                                                    2 );
+
+        gainEditor = SigprocControlFactory.getGainEditor( clientProperties,
+                                                          " dB",
+                                                          -18.0d,
+                                                          18.0d,
+                                                          0.0d,
+                                                          true );
+
+        standInDisplayFormat = NumberFormat.getNumberInstance( Locale.US );
+        standInDisplayFormat.setGroupingUsed( false );
+        standInDisplayFormat.setMinimumFractionDigits( 0 );
+        standInDisplayFormat.setMaximumFractionDigits( 1 );
+
+        standInParseFormat = NumberFormat.getNumberInstance( Locale.US );
+        standInParseFormat.setGroupingUsed( false );
+        standInParseFormat.setMinimumFractionDigits( 0 );
+        standInParseFormat.setMaximumFractionDigits( 4 );
+
+        frequencyIndex = 0;
+        gainIndex = 0;
+    }
+
+    // NOTE: Only the calls on the editor are real; see the class comment.
+    private String approximateCommit( final DoubleEditor doubleEditor, final String typedText ) {
+        final String undecoratedText = doubleEditor.getUndecoratedText( typedText );
+
+        double value;
+        try {
+            value = standInParseFormat.parse( undecoratedText ).doubleValue();
+        }
+        catch ( final ParseException pe ) {
+            value = doubleEditor.getValue();
+        }
+
+        final double adjustedValue = doubleEditor.adjustPrecision( value );
+        doubleEditor.setValue( adjustedValue );
+
+        final String formattedText = standInDisplayFormat.format( adjustedValue );
+        return doubleEditor.getDecoratedText( adjustedValue, formattedText );
+    }
+
+    @Benchmark
+    public String frequencyEditorCommit() {
+        final String typedText = FREQUENCY_TEXTS[ frequencyIndex ];
+        frequencyIndex = ( frequencyIndex + 1 ) % FREQUENCY_TEXTS.length;
+        return approximateCommit( frequencyEditor, typedText );
+    }
+
+    @Benchmark
+    public String gainEditorCommit() {
+        final String typedText = GAIN_TEXTS[ gainIndex ];
+        gainIndex = ( gainIndex + 1 ) % GAIN_TEXTS.length;
+        return approximateCommit( gainEditor, typedText );
+    }
+}
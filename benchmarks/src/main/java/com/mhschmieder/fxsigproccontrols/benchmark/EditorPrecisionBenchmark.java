@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mhschmieder.fxsigproccontrols.control.FrequencyEditor;
+import com.mhschmieder.fxsigproccontrols.control.SigprocControlFactory;
+import com.mhschmieder.fxsigproccontrols.control.cell.FrequencyEditorTableCell;
+import com.mhschmieder.jcommons.util.ClientProperties;
+
+/**
+ * Measures the precision adjustment that is applied to every frequency value
+ * that is committed or stepped via the arrow keys, both for the stand-alone
+ * Frequency Editor and for the Frequency Editor Table Cell.
+ * <p>
+ * The input values straddle the precision cutoff frequency so that both the
+ * integer rounding branch and the decimal rounding branch are exercised. The
+ * display text for the adjusted values is measured as well, as that is what
+ * each arrow-key increment or table refresh does next.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EditorPrecisionBenchmark {
+
+    // Frequencies that straddle the default 1 kHz and 100 Hz cutoffs.
+    private static final double[] FREQUENCIES_HZ = new double[] {
+                                                                  20.04d,
+                                                                  31.53d,
+                                                                  63.17d,
+                                                                  99.96d,
+                                                                  125.42d,
+                                                                  999.95d,
+                                                                  1000.5d,
+                                                                  3150.25d,
+                                                                  12500.7d,
+                                                                  19999.99d };
+
+    private FrequencyEditor                             frequencyEditor;
+    private FrequencyEditorTableCell< Object, Double >  frequencyEditorTableCell;
+
+    private int                                         frequencyIndex;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtilities.startFxToolkit();
+
+        final ClientProperties clientProperties = ClientProperties.makeDefault();
+
+        // Match the settings used by the Parametric Filter Controls.
+        frequencyEditor = SigprocControlFactory.getFrequencyEditor( clientProperties,
+                                                                    "Frequency",
+                                                                    " Hz",
+                                                                    10.0d,
+                                                                    20000.0d,
+                                                                    1000.0d,
+                                                                    1000.0d,
+                                                                    2 );
+
+        frequencyEditorTableCell = new FrequencyEditorTableCell<>( false, clientProperties );
+
+        frequencyIndex = 0;
+    }
+
+    private double nextFrequency() {
+        final double frequencyHz = FREQUENCIES_HZ[ frequencyIndex ];
+        frequencyIndex = ( frequencyIndex + 1 ) % FREQUENCIES_HZ.length;
+        return frequencyHz;
+    }
+
+    @Benchmark
+    public double frequencyEditorAdjustPrecision() {
+        return frequencyEditor.adjustPrecision( nextFrequency() );
+    }
+
+    @Benchmark
+    public double frequencyEditorTableCellAdjustPrecision() {
+        return frequencyEditorTableCell.adjustPrecision( nextFrequency() );
+    }
+
+    @Benchmark
+    public String frequencyEditorGetDecoratedText() {
+        final double frequencyHz = frequencyEditor.adjustPrecision( nextFrequency() );
+        return frequencyEditor.getDecoratedText( frequencyHz, null );
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mhschmieder.fxsigproccontrols.control.GainEditor;
+import com.mhschmieder.fxsigproccontrols.control.SigprocControlFactory;
+import com.mhschmieder.jcommons.util.ClientProperties;
+
+/**
+ * Measures the text decoration and undecoration applied by the Gain Editor
+ * on every display refresh and every commit, respectively.
+ * <p>
+ * Both sign conventions are covered, as the "default to negative gain" mode
+ * takes a different (and more expensive) path through the string utilities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GainEditorTextBenchmark {
+
+    // Typical gain values as they would be displayed.
+    private static final double[] GAIN_VALUES_DB = new double[] {
+                                                                  -18.0d,
+                                                                  -6.5d,
+                                                                  -0.1d,
+                                                                  0.0d,
+                                                                  0.1d,
+                                                                  3.2d,
+                                                                  12.0d };
+
+    // Typical gain text as it would be typed or pasted by the user.
+    private static final String[] GAIN_TEXTS     = new String[] {
+                                                                  "-18",
+                                                                  "-6.5",
+                                                                  "-0.1",
+                                                                  "0",
+                                                                  "+0.1",
+                                                                  "3.2",
+                                                                  "+12" };
+
+    @Param({ "true", "false" })
+    public boolean                defaultToNegativeGain;
+
+    private GainEditor            gainEditor;
+
+    // Pre-formatted display text, so that only the decoration is measured.
+    private String[]              gainDisplayTexts;
+
+    private int                   gainIndex;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtilities.startFxToolkit();
+
+        final ClientProperties clientProperties = ClientProperties.makeDefault();
+
+        gainEditor = SigprocControlFactory.getGainEditor( clientProperties,
+                                                          " dB",
+                                                          -18.0d,
+                                                          18.0d,
+                                                          0.0d,
+                                                          defaultToNegativeGain );
+
+        gainDisplayTexts = new String[ GAIN_VALUES_DB.length ];
+        for ( int i = 0; i < GAIN_VALUES_DB.length; i++ ) {
+            gainDisplayTexts[ i ] = Double.toString( GAIN_VALUES_DB[ i ] );
+        }
+
+        gainIndex = 0;
+    }
+
+    private int nextIndex() {
+        final int index = gainIndex;
+        gainIndex = ( gainIndex + 1 ) % GAIN_VALUES_DB.length;
+        return index;
+    }
+
+    @Benchmark
+    public String getDecoratedText() {
+        final int index = nextIndex();
+        return gainEditor.getDecoratedText( GAIN_VALUES_DB[ index ], gainDisplayTexts[ index ] );
+    }
+
+    @Benchmark
+    public String getUndecoratedText() {
+        return gainEditor.getUndecoratedText( GAIN_TEXTS[ nextIndex() ] );
+    }
+}
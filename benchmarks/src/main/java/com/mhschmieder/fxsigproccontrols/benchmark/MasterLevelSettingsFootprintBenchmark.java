@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mhschmieder.fxsigproccontrols.model.MasterLevelSettings;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+
+/**
+ * Measures the per-instance footprint of Master Level Settings, as bytes
+ * allocated per construction ("gc.alloc.rate.norm" from the GC profiler that
+ * the benchmark runner always attaches).
+ * <p>
+ * The eager variant replicates the original layout, with all three JavaFX
+ * properties made up front, so the saving from lazy property materialisation
+ * can be read directly from one run. The "bound" variant forces all three
+ * properties into existence, to show the cost once an instance meets a GUI.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MasterLevelSettingsFootprintBenchmark {
+
+    /**
+     * The original, eager layout of Master Level Settings, for comparison.
+     */
+    static final class EagerMasterLevelSettings {
+
+        final BooleanProperty polarityReversed;
+        final DoubleProperty  gain;
+        final BooleanProperty muted;
+
+        EagerMasterLevelSettings( final boolean pPolarityReversed,
+                                  final double pGain,
+                                  final boolean pMuted ) {
+            polarityReversed = new SimpleBooleanProperty( pPolarityReversed );
+            gain = new SimpleDoubleProperty( pGain );
+            muted = new SimpleBooleanProperty( pMuted );
+        }
+    }
+
+    private double gainDb = -6.0d;
+
+    @Benchmark
+    public Object eagerMasterLevelSettings() {
+        return new EagerMasterLevelSettings( false, gainDb, false );
+    }
+
+    @Benchmark
+    public Object lazyMasterLevelSettings() {
+        return new MasterLevelSettings( false, gainDb, false );
+    }
+
+    @Benchmark
+    public Object lazyMasterLevelSettingsBound() {
+        final MasterLevelSettings masterLevelSettings = new MasterLevelSettings( false,
+                                                                                 gainDb,
+                                                                                 false );
+        masterLevelSettings.polarityReversedProperty();
+        masterLevelSettings.gainProperty();
+        masterLevelSettings.mutedProperty();
+        return masterLevelSettings;
+    }
+}
@@ -30,11 +30,26 @@
  */
 package com.mhschmieder.fxsigproccontrols.control;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 import com.mhschmieder.fxcontrols.control.DoubleEditor;
+import com.mhschmieder.fxsigproccontrols.util.SigprocEvents;
 import com.mhschmieder.jcommons.util.ClientProperties;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.scene.control.ToggleButton;
 
-public final class AllPassFilterControls {
+/**
+ * The controls for a single All Pass Filter section.
+ * <p>
+ * As with the Parametric Filter Controls, lazy construction mode defers making
+ * the toggle button and editors until the group is first revealed, holding the
+ * values in plain fields until then. Listen to this object, and use its value
+ * accessors, to work with the section regardless of materialization.
+ */
+public final class AllPassFilterControls implements Observable {
 
     // Declare default constants, where appropriate, for all fields.
     public static final double    FREQUENCY_MINIMUM_HZ = 10.0d;
@@ -48,34 +63,209 @@ public final class AllPassFilterControls {
     public FrequencyEditor        _frequencyEditor;
     public DoubleEditor           _bandwidthEditor;
 
+    private final ClientProperties _clientProperties;
+    private final int              _filterNumber;
+
+    // The channel to tag the controls with, for flight recorder events.
+    private int                    _eventChannel;
+
+    // Lightweight value holder, used until the controls are materialized.
+    private double                 _frequencyHz;
+    private double                 _qFactor;
+    private boolean                _bypassed;
+    private boolean                _groupVisible;
+
+    private boolean                _materialized;
+
+    private List< InvalidationListener >       _listeners;
+    private Consumer< AllPassFilterControls > _materializationHandler;
+
     public AllPassFilterControls( final ClientProperties clientProperties,
                                   final int filterNumber,
                                   final boolean useDefaultFrequencies ) {
+        this( clientProperties, filterNumber, useDefaultFrequencies, false );
+    }
+
+    public AllPassFilterControls( final ClientProperties clientProperties,
+                                  final int filterNumber,
+                                  final boolean useDefaultFrequencies,
+                                  final boolean lazyConstruction ) {
+        _clientProperties = clientProperties;
+        _filterNumber = filterNumber;
+        _eventChannel = SigprocEvents.UNKNOWN_IDENTIFIER;
+
+        _frequencyHz = useDefaultFrequencies
+            ? DEFAULT_FREQUENCIES[ filterNumber - 1 ]
+            : 100.0d;
+        _qFactor = 1.0d;
+        _bypassed = false;
+        _groupVisible = !lazyConstruction;
+
+        _materialized = false;
+
+        if ( !lazyConstruction ) {
+            materialize();
+        }
+    }
+
+    // Make the controls now, if not already made, from the held values.
+    public void materialize() {
+        if ( _materialized ) {
+            return;
+        }
+        _materialized = true;
+
         _filterToggleButton = SigprocLabeledControlFactory
-                .getSingleFilterToggleButton( filterNumber, true, false );
+                .getSingleFilterToggleButton( _filterNumber, true, _bypassed );
 
         _frequencyEditor = SigprocControlFactory
-                .getFrequencyEditor( clientProperties,
+                .getFrequencyEditor( _clientProperties,
                                      "All Pass Filter Center Frequency",
                                      " Hz",
                                      FREQUENCY_MINIMUM_HZ,
                                      FREQUENCY_MAXIMUM_HZ,
-                                     useDefaultFrequencies
-                                         ? DEFAULT_FREQUENCIES[ filterNumber - 1 ]
-                                         : 100.0d,
+                                     _frequencyHz,
                                          1000.0d,
                                          2 );
         _frequencyEditor.setValueIncrement( 0.1d );
 
-        _bandwidthEditor = SigprocControlFactory.getBandwidthEditor( clientProperties,
+        _bandwidthEditor = SigprocControlFactory.getBandwidthEditor( _clientProperties,
                                                                        BANDWIDTH_MINIMUM_Q,
                                                                        BANDWIDTH_MAXIMUM_Q,
-                                                                       1.0d );
+                                                                       _qFactor );
+
+        // Forward all control changes to our own listeners.
+        final InvalidationListener forwardingListener = observable -> fireInvalidated();
+        _filterToggleButton.selectedProperty().addListener( forwardingListener );
+        _bandwidthEditor.valueProperty().addListener( forwardingListener );
+
+        // NOTE: The committed value listener follows the raw value, and only
+        //  moves to a coalescer if coalescing is turned on for the editor.
+        _frequencyEditor.addCommittedValueListener( ( observable, oldValue,
+                                                      newValue ) -> fireInvalidated() );
+
+        applyEventIdentifiers();
+        applyGroupVisible();
+
+        if ( _materializationHandler != null ) {
+            _materializationHandler.accept( this );
+        }
+    }
+
+    public boolean isMaterialized() {
+        return _materialized;
+    }
+
+    // The handler is where the owner adds newly made controls to its layout.
+    public void setMaterializationHandler( final Consumer< AllPassFilterControls > materializationHandler ) {
+        _materializationHandler = materializationHandler;
     }
 
     public void setGroupVisible( final boolean visible ) {
-        _filterToggleButton.setVisible( visible );
-        _frequencyEditor.setVisible( visible );
-        _bandwidthEditor.setVisible( visible );
+        _groupVisible = visible;
+
+        // The first reveal is what triggers lazy construction.
+        if ( visible && !_materialized ) {
+            materialize();
+            return;
+        }
+
+        applyGroupVisible();
+    }
+
+    public boolean isGroupVisible() {
+        return _groupVisible;
+    }
+
+    private void applyGroupVisible() {
+        if ( !_materialized ) {
+            return;
+        }
+        _filterToggleButton.setVisible( _groupVisible );
+        _frequencyEditor.setVisible( _groupVisible );
+        _bandwidthEditor.setVisible( _groupVisible );
+    }
+
+    // Tag the controls with their channel, for flight recorder events.
+    public void setEventChannel( final int eventChannel ) {
+        _eventChannel = eventChannel;
+
+        if ( _materialized ) {
+            applyEventIdentifiers();
+        }
+    }
+
+    private void applyEventIdentifiers() {
+        SigprocEvents.setIdentifiers( _filterToggleButton, _eventChannel, _filterNumber );
+        SigprocEvents.setIdentifiers( _frequencyEditor, _eventChannel, _filterNumber );
+        SigprocEvents.setIdentifiers( _bandwidthEditor, _eventChannel, _filterNumber );
+    }
+
+    public int getFilterNumber() {
+        return _filterNumber;
+    }
+
+    public double getFrequencyHz() {
+        return _materialized ? _frequencyEditor.getValue() : _frequencyHz;
+    }
+
+    public void setFrequencyHz( final double frequencyHz ) {
+        if ( _materialized ) {
+            _frequencyEditor.setValue( frequencyHz );
+            return;
+        }
+        _frequencyHz = frequencyHz;
+        fireInvalidated();
+    }
+
+    public double getQFactor() {
+        return _materialized ? _bandwidthEditor.getValue() : _qFactor;
+    }
+
+    public void setQFactor( final double qFactor ) {
+        if ( _materialized ) {
+            _bandwidthEditor.setValue( qFactor );
+            return;
+        }
+        _qFactor = qFactor;
+        fireInvalidated();
+    }
+
+    // NOTE: "bypassed" corresponds to the toggle button being selected.
+    public boolean isBypassed() {
+        return _materialized ? _filterToggleButton.isSelected() : _bypassed;
+    }
+
+    public void setBypassed( final boolean bypassed ) {
+        if ( _materialized ) {
+            _filterToggleButton.setSelected( bypassed );
+            return;
+        }
+        _bypassed = bypassed;
+        fireInvalidated();
+    }
+
+    @Override
+    public void addListener( final InvalidationListener listener ) {
+        if ( _listeners == null ) {
+            _listeners = new ArrayList<>( 2 );
+        }
+        _listeners.add( listener );
+    }
+
+    @Override
+    public void removeListener( final InvalidationListener listener ) {
+        if ( _listeners != null ) {
+            _listeners.remove( listener );
+        }
+    }
+
+    private void fireInvalidated() {
+        if ( _listeners == null ) {
+            return;
+        }
+        for ( int i = 0; i < _listeners.size(); i++ ) {
+            _listeners.get( i ).invalidated( this );
+        }
     }
 }
@@ -0,0 +1,298 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.control;
+
+import com.mhschmieder.fxsigproccontrols.util.FilterResponseUtilities;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * A canvas-based display of the combined phase and group delay responses of
+ * a set of All Pass Filter sections.
+ * <p>
+ * As with the Parametric EQ curve, each section's contribution is cached on a
+ * log-frequency grid and only the section that changed is recomputed, after
+ * which the cached contributions are re-summed with additions only. The grid
+ * can be shared between curves, as it is never modified, so that tuning the
+ * all-pass alignment of many outputs at once costs one grid, not one each.
+ * <p>
+ * Phase is drawn unwrapped, from 0 degrees at the top down to -360 degrees per
+ * active section at the bottom; group delay is drawn on its own scale, from
+ * zero at the bottom up to the larger of the current peak and the minimum
+ * group delay range.
+ */
+public final class AllPassResponseCurve extends Pane {
+
+    // Declare default constants for the frequency grid and display ranges.
+    public static final int        NUMBER_OF_POINTS_DEFAULT             = 256;
+    public static final double     GROUP_DELAY_RANGE_MINIMUM_DEFAULT_MS = 1.0d;
+
+    // The shared log-frequency grid, and its display coordinates.
+    private final double[]         frequenciesHz;
+    private final double[]         xCoordinates;
+    private final double[]         yCoordinates;
+
+    // The cached contribution of each section, and their sums.
+    private final double[][]       phasesDegrees;
+    private final double[][]       groupDelaysMs;
+    private final double[]         summedPhasesDegrees;
+    private final double[]         summedGroupDelaysMs;
+
+    private final AllPassFilterControls[] allPassFilterControls;
+
+    private final Canvas           canvas;
+
+    private double                 groupDelayRangeMinimumMs;
+    private Color                  phaseColor;
+    private Color                  groupDelayColor;
+    private Color                  gridColor;
+
+    public AllPassResponseCurve( final AllPassFilterControls[] pAllPassFilterControls ) {
+        this( pAllPassFilterControls,
+              FilterResponseUtilities.makeLogFrequencyGrid( AllPassFilterControls.FREQUENCY_MINIMUM_HZ,
+                                                            AllPassFilterControls.FREQUENCY_MAXIMUM_HZ,
+                                                            NUMBER_OF_POINTS_DEFAULT ) );
+    }
+
+    /**
+     * Makes a curve on a supplied log-frequency grid, which may be shared with
+     * other curves, as long as nobody modifies it.
+     *
+     * @param pAllPassFilterControls
+     *            The All Pass Filter sections to display the response of
+     * @param pFrequenciesHz
+     *            The ascending log-spaced frequency grid to sample on, in Hz
+     */
+    public AllPassResponseCurve( final AllPassFilterControls[] pAllPassFilterControls,
+                                 final double[] pFrequenciesHz ) {
+        // Always call the superclass constructor first!
+        super();
+
+        allPassFilterControls = pAllPassFilterControls;
+
+        frequenciesHz = pFrequenciesHz;
+        final int numberOfPoints = frequenciesHz.length;
+        xCoordinates = new double[ numberOfPoints ];
+        yCoordinates = new double[ numberOfPoints ];
+
+        phasesDegrees = new double[ allPassFilterControls.length ][ numberOfPoints ];
+        groupDelaysMs = new double[ allPassFilterControls.length ][ numberOfPoints ];
+        summedPhasesDegrees = new double[ numberOfPoints ];
+        summedGroupDelaysMs = new double[ numberOfPoints ];
+
+        groupDelayRangeMinimumMs = GROUP_DELAY_RANGE_MINIMUM_DEFAULT_MS;
+        phaseColor = Color.DODGERBLUE;
+        groupDelayColor = Color.DARKORANGE;
+        gridColor = Color.GRAY;
+
+        canvas = new Canvas();
+        getChildren().add( canvas );
+
+        // Compute every contribution once, then only on demand.
+        for ( int sectionIndex = 0; sectionIndex < allPassFilterControls.length; sectionIndex++ ) {
+            updateSection( sectionIndex );
+        }
+        sumResponses();
+
+        for ( int i = 0; i < allPassFilterControls.length; i++ ) {
+            final int sectionIndex = i;
+            allPassFilterControls[ sectionIndex ]
+                    .addListener( observable -> sectionChanged( sectionIndex ) );
+        }
+    }
+
+    private void sectionChanged( final int sectionIndex ) {
+        updateSection( sectionIndex );
+        sumResponses();
+        draw();
+    }
+
+    // Recompute the cached contribution of a single All Pass Filter section.
+    private void updateSection( final int sectionIndex ) {
+        final AllPassFilterControls section = allPassFilterControls[ sectionIndex ];
+        final double[] sectionPhasesDegrees = phasesDegrees[ sectionIndex ];
+        final double[] sectionGroupDelaysMs = groupDelaysMs[ sectionIndex ];
+
+        // A bypassed section contributes nothing; a zero Q factor says so.
+        final double qFactor = section.isBypassed() ? 0.0d : section.getQFactor();
+        FilterResponseUtilities.computeAllPassResponse( frequenciesHz,
+                                                        section.getFrequencyHz(),
+                                                        qFactor,
+                                                        sectionPhasesDegrees,
+                                                        sectionGroupDelaysMs );
+    }
+
+    // Re-sum the cached contributions; this is additions only, no math calls.
+    private void sumResponses() {
+        for ( int i = 0; i < frequenciesHz.length; i++ ) {
+            summedPhasesDegrees[ i ] = 0.0d;
+            summedGroupDelaysMs[ i ] = 0.0d;
+        }
+        for ( int sectionIndex = 0; sectionIndex < allPassFilterControls.length; sectionIndex++ ) {
+            final double[] sectionPhasesDegrees = phasesDegrees[ sectionIndex ];
+            final double[] sectionGroupDelaysMs = groupDelaysMs[ sectionIndex ];
+            for ( int i = 0; i < frequenciesHz.length; i++ ) {
+                summedPhasesDegrees[ i ] += sectionPhasesDegrees[ i ];
+                summedGroupDelaysMs[ i ] += sectionGroupDelaysMs[ i ];
+            }
+        }
+    }
+
+    @Override
+    protected void layoutChildren() {
+        final double width = getWidth();
+        final double height = getHeight();
+        if ( ( canvas.getWidth() != width ) || ( canvas.getHeight() != height ) ) {
+            canvas.setWidth( width );
+            canvas.setHeight( height );
+
+            // The x-coordinates only depend on the width, so cache them here.
+            final double logMinimum = Math.log( frequenciesHz[ 0 ] );
+            final double logRange = Math.log( frequenciesHz[ frequenciesHz.length - 1 ] )
+                    - logMinimum;
+            for ( int i = 0; i < frequenciesHz.length; i++ ) {
+                xCoordinates[ i ] = ( width * ( Math.log( frequenciesHz[ i ] ) - logMinimum ) )
+                        / logRange;
+            }
+
+            // Redraw whenever the layout changes our size.
+            draw();
+        }
+    }
+
+    // Draw the grid, the summed phase, and the summed group delay.
+    private void draw() {
+        final double width = canvas.getWidth();
+        final double height = canvas.getHeight();
+        final GraphicsContext graphicsContext = canvas.getGraphicsContext2D();
+        graphicsContext.clearRect( 0.0d, 0.0d, width, height );
+        if ( ( width <= 0.0d ) || ( height <= 0.0d ) ) {
+            return;
+        }
+
+        // Scale the phase to the number of active sections, and draw a grid
+        // line at each multiple of -360 degrees.
+        int numberOfActiveSections = 0;
+        for ( final AllPassFilterControls section : allPassFilterControls ) {
+            if ( !section.isBypassed() ) {
+                numberOfActiveSections++;
+            }
+        }
+        final double phaseRangeDegrees = 360.0d * Math.max( 1, numberOfActiveSections );
+        final double pixelsPerDegree = height / phaseRangeDegrees;
+
+        graphicsContext.setStroke( gridColor );
+        graphicsContext.setLineWidth( 0.5d );
+        for ( int turn = 1; turn < Math.max( 1, numberOfActiveSections ); turn++ ) {
+            final double y = 360.0d * turn * pixelsPerDegree;
+            graphicsContext.strokeLine( 0.0d, y, width, y );
+        }
+
+        for ( int i = 0; i < summedPhasesDegrees.length; i++ ) {
+            yCoordinates[ i ] = -summedPhasesDegrees[ i ] * pixelsPerDegree;
+        }
+        graphicsContext.setStroke( phaseColor );
+        graphicsContext.setLineWidth( 1.5d );
+        graphicsContext.strokePolyline( xCoordinates, yCoordinates, xCoordinates.length );
+
+        // Scale the group delay to its peak, but no less than the minimum range.
+        double groupDelayRangeMs = groupDelayRangeMinimumMs;
+        for ( final double groupDelayMs : summedGroupDelaysMs ) {
+            groupDelayRangeMs = Math.max( groupDelayRangeMs, groupDelayMs );
+        }
+        final double pixelsPerMs = height / groupDelayRangeMs;
+        for ( int i = 0; i < summedGroupDelaysMs.length; i++ ) {
+            yCoordinates[ i ] = height - ( summedGroupDelaysMs[ i ] * pixelsPerMs );
+        }
+        graphicsContext.setStroke( groupDelayColor );
+        graphicsContext.setLineWidth( 1.5d );
+        graphicsContext.strokePolyline( xCoordinates, yCoordinates, xCoordinates.length );
+    }
+
+    /**
+     * Returns the summed (unwrapped) phase response on the frequency grid.
+     * <p>
+     * NOTE: This is the live cache, so callers must not modify its contents.
+     *
+     * @return The summed phase response, in degrees
+     */
+    public double[] getSummedPhasesDegrees() {
+        return summedPhasesDegrees;
+    }
+
+    /**
+     * Returns the summed group delay response on the frequency grid.
+     * <p>
+     * NOTE: This is the live cache, so callers must not modify its contents.
+     *
+     * @return The summed group delay response, in ms
+     */
+    public double[] getSummedGroupDelaysMs() {
+        return summedGroupDelaysMs;
+    }
+
+    /**
+     * Returns the log-frequency grid the responses are sampled on.
+     * <p>
+     * NOTE: This is the live grid, so callers must not modify its contents.
+     *
+     * @return The log-frequency grid, in Hz
+     */
+    public double[] getFrequenciesHz() {
+        return frequenciesHz;
+    }
+
+    public double getGroupDelayRangeMinimumMs() {
+        return groupDelayRangeMinimumMs;
+    }
+
+    public void setGroupDelayRangeMinimumMs( final double pGroupDelayRangeMinimumMs ) {
+        groupDelayRangeMinimumMs = pGroupDelayRangeMinimumMs;
+        draw();
+    }
+
+    public void setPhaseColor( final Color pPhaseColor ) {
+        phaseColor = pPhaseColor;
+        draw();
+    }
+
+    public void setGroupDelayColor( final Color pGroupDelayColor ) {
+        groupDelayColor = pGroupDelayColor;
+        draw();
+    }
+
+    public void setGridColor( final Color pGridColor ) {
+        gridColor = pGridColor;
+        draw();
+    }
+}
@@ -30,14 +30,31 @@
  */
 package com.mhschmieder.fxsigproccontrols.control;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
 import com.mhschmieder.fxcontrols.control.IntegerSelector;
+import com.mhschmieder.fxsigproccontrols.util.SelectionChangeHelper;
 import com.mhschmieder.jcommons.util.ClientProperties;
 import com.mhschmieder.jsigproc.dsp.DigitalFilterUtilities;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 public final class ButterworthFilterSlopeSelector extends IntegerSelector {
 
+    // Shared immutable drop-lists of slope labels, keyed by order configuration.
+    // NOTE: These are only ever accessed from the JavaFX Application Thread.
+    private static final Map< FilterSlopeOrdersKey, ObservableList< String > > FILTER_SLOPE_LISTS =
+            new HashMap<>();
+
+    // Cache the filter orders that correspond to the drop-list entries.
+    private short[] _filterSlopeOrders;
+
+    // Selection change delivery and recording.
+    private final SelectionChangeHelper selectionChangeHelper;
+
     public ButterworthFilterSlopeSelector( final ClientProperties pClientProperties,
                                            final boolean applyToolkitCss,
                                            final String tooltipText,
@@ -52,12 +69,28 @@ public final class ButterworthFilterSlopeSelector extends IntegerSelector {
         catch ( final Exception ex ) {
             ex.printStackTrace();
         }
+
+        // Record selection changes for the flight recorder and the metrics.
+        selectionChangeHelper = new SelectionChangeHelper( valueProperty(), this );
     }
 
     public String getFilterSlope() {
         return getValue();
     }
 
+    /**
+     * Returns the Butterworth filter order of the current selection, without
+     * parsing the slope label, or zero if there is no current selection.
+     *
+     * @return The Butterworth filter order of the current selection
+     */
+    public short getFilterOrder() {
+        final int selectedIndex = getSelectionModel().getSelectedIndex();
+        return ( ( selectedIndex >= 0 ) && ( selectedIndex < _filterSlopeOrders.length ) )
+            ? _filterSlopeOrders[ selectedIndex ]
+            : 0;
+    }
+
     private void initComboBox( final short[] filterSlopeOrder, final int defaultFilterSlopeIndex ) {
         // NOTE: Groupings are turned off, and we force US locale for now,
         // due to specifics about the implementation of the pattern-matcher.
@@ -76,6 +109,26 @@ public final class ButterworthFilterSlopeSelector extends IntegerSelector {
         setValue( filterSlopeLabel );
     }
 
+    // NOTE: Filter type and slope changes that recompute responses or push
+    //  to DSP should listen via this vs. the raw value, so they are timed.
+    public void addSelectionListener( final ChangeListener< ? super String > listener ) {
+        selectionChangeHelper.addListener( listener );
+    }
+
+    public void removeSelectionListener( final ChangeListener< ? super String > listener ) {
+        selectionChangeHelper.removeListener( listener );
+    }
+
+    // Select the entry for the given Butterworth filter order, if present.
+    public void setFilterOrder( final short filterOrder ) {
+        for ( int i = 0; i < _filterSlopeOrders.length; i++ ) {
+            if ( _filterSlopeOrders[ i ] == filterOrder ) {
+                getSelectionModel().select( i );
+                return;
+            }
+        }
+    }
+
     // Set the drop-list of Filter Slopes.
     // TODO: Format the text for two decimal places at most (maybe one?).
     public void setFilterSlopes( final short[] filterSlopeOrders,
@@ -84,18 +137,65 @@ public final class ButterworthFilterSlopeSelector extends IntegerSelector {
         // list. Be careful if restoring the current selection, as there are
         // many edge cases that either do the wrong thing, result in a blank
         // selection field, or do not generate a callback.
-        final ObservableList< String > filterSlopes = FXCollections.observableArrayList();
-        for ( final short filterSlopeOrder : filterSlopeOrders ) {
-            final String filterSlopeLabel = DigitalFilterUtilities
-                    .getButterworthFilterSlopeLabel( filterSlopeOrder );
-            filterSlopes.add( filterSlopeLabel );
-        }
+        // NOTE: The label lists are shared by all selectors with the same
+        //  order configuration, so they are only computed once per process.
+        _filterSlopeOrders = filterSlopeOrders.clone();
+        final ObservableList< String > filterSlopes = getFilterSlopeList( _filterSlopeOrders );
 
         // Determine the initial default Filter Slope choice, by lookup index.
-        final String defaultFilterSlope = DigitalFilterUtilities
-                .getButterworthFilterSlopeLabel( filterSlopeOrders[ defaultFilterSlopeIndex ] );
+        final String defaultFilterSlope = filterSlopes.get( defaultFilterSlopeIndex );
 
         // Replace the entire list, and re-assert the current selection.
         updateValues( filterSlopes, defaultFilterSlope, true );
     }
+
+    // Get the shared drop-list of slope labels, making it if needed.
+    private static ObservableList< String > getFilterSlopeList( final short[] filterSlopeOrders ) {
+        final FilterSlopeOrdersKey filterSlopeOrdersKey =
+                new FilterSlopeOrdersKey( filterSlopeOrders );
+        ObservableList< String > filterSlopeList = FILTER_SLOPE_LISTS.get( filterSlopeOrdersKey );
+        if ( filterSlopeList == null ) {
+            final ObservableList< String > filterSlopes = FXCollections.observableArrayList();
+            for ( final short filterSlopeOrder : filterSlopeOrders ) {
+                final String filterSlopeLabel = DigitalFilterUtilities
+                        .getButterworthFilterSlopeLabel( filterSlopeOrder );
+                filterSlopes.add( filterSlopeLabel );
+            }
+            filterSlopeList = FXCollections.unmodifiableObservableList( filterSlopes );
+            FILTER_SLOPE_LISTS.put( filterSlopeOrdersKey, filterSlopeList );
+        }
+        return filterSlopeList;
+    }
+
+    /**
+     * Content-based map key for a filter order configuration, as arrays only
+     * have identity semantics for equality and hashing.
+     */
+    private static final class FilterSlopeOrdersKey {
+
+        private final short[] filterSlopeOrders;
+        private final int     hashCode;
+
+        FilterSlopeOrdersKey( final short[] pFilterSlopeOrders ) {
+            filterSlopeOrders = pFilterSlopeOrders;
+            hashCode = Arrays.hashCode( filterSlopeOrders );
+        }
+
+        @Override
+        public boolean equals( final Object obj ) {
+            if ( this == obj ) {
+                return true;
+            }
+            if ( !( obj instanceof FilterSlopeOrdersKey ) ) {
+                return false;
+            }
+            final FilterSlopeOrdersKey other = ( FilterSlopeOrdersKey ) obj;
+            return Arrays.equals( filterSlopeOrders, other.filterSlopeOrders );
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -0,0 +1,521 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.control;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * A single canvas-based node showing the bypass state of every filter of
+ * every channel, for dense overview layouts where one toggle button per
+ * filter (each with its own skin, tooltip and CSS) would be far too heavy.
+ * <p>
+ * Rows are channels and columns are filters. As with the filter toggle
+ * buttons, a "selected" cell means "bypassed" and a clear cell "enabled".
+ * <p>
+ * Clicking a cell toggles it, and dragging paints the new state across
+ * further cells. With the keyboard, the arrow keys, Home and End move the
+ * focused cell, and Space or Enter toggles it. A single tooltip follows
+ * the mouse and names the channel, filter and state under it.
+ * <p>
+ * Listeners get one notification per change, listing every cell that
+ * changed. A whole mouse drag is one change, and so is everything between
+ * {@link #beginUpdate()} and {@link #endUpdate()}.
+ */
+public final class BypassMatrix extends Pane {
+
+    // Declare default cell size, for the preferred size of the matrix.
+    public static final double CELL_SIZE_DEFAULT = 16.0d;
+
+    private static final String BYPASSED_TEXT = "Bypassed"; //$NON-NLS-1$
+    private static final String ENABLED_TEXT  = "Enabled";  //$NON-NLS-1$
+
+    /**
+     * A listener for changes to the bypass state of one or more cells.
+     */
+    @FunctionalInterface
+    public interface BypassChangeListener {
+        /**
+         * Called once per change or batch of changes.
+         *
+         * @param bypassMatrix
+         *            The matrix whose cells changed
+         * @param changedCells
+         *            The cells that changed, by cell index; this is only
+         *            valid for the duration of the call, so copy it to keep it
+         */
+        void bypassChanged( BypassMatrix bypassMatrix, BitSet changedCells );
+    }
+
+    private final int                          numberOfChannels;
+    private final int                          numberOfFilters;
+
+    // The bypass state of each cell, indexed by channel * filters + filter.
+    private final BitSet                       bypassed;
+
+    // The cells changed by the current batch, and its nesting depth.
+    private final BitSet                       changedCells;
+    private final BitSet                       publishedCells;
+    private int                                updateDepth;
+
+    private List< BypassChangeListener >       bypassChangeListeners;
+
+    private final Canvas                       canvas;
+    private final Tooltip                      tooltip;
+
+    private int                                focusedChannel;
+    private int                                focusedFilter;
+
+    // The state being painted by the current mouse drag, if any.
+    private boolean                            dragging;
+    private boolean                            dragBypassed;
+    private int                                hoveredCell;
+
+    private Color                              bypassedColor;
+    private Color                              enabledColor;
+    private Color                              gridColor;
+    private Color                              focusColor;
+
+    public BypassMatrix( final int pNumberOfChannels, final int pNumberOfFilters ) {
+        // Always call the superclass constructor first!
+        super();
+
+        numberOfChannels = pNumberOfChannels;
+        numberOfFilters = pNumberOfFilters;
+
+        final int numberOfCells = numberOfChannels * numberOfFilters;
+        bypassed = new BitSet( numberOfCells );
+        changedCells = new BitSet( numberOfCells );
+        publishedCells = new BitSet( numberOfCells );
+
+        bypassedColor = Color.DIMGRAY;
+        enabledColor = Color.LIMEGREEN;
+        gridColor = Color.BLACK;
+        focusColor = Color.DODGERBLUE;
+
+        hoveredCell = -1;
+
+        canvas = new Canvas();
+        getChildren().add( canvas );
+
+        // NOTE: One tooltip serves every cell, and its text is only updated
+        //  when the mouse moves onto a different cell.
+        tooltip = new Tooltip();
+        Tooltip.install( this, tooltip );
+
+        setPrefSize( numberOfFilters * CELL_SIZE_DEFAULT, numberOfChannels * CELL_SIZE_DEFAULT );
+        setFocusTraversable( true );
+
+        addEventHandler( MouseEvent.MOUSE_PRESSED, this::handleMousePressed );
+        addEventHandler( MouseEvent.MOUSE_DRAGGED, this::handleMouseDragged );
+        addEventHandler( MouseEvent.MOUSE_RELEASED, this::handleMouseReleased );
+        addEventHandler( MouseEvent.MOUSE_MOVED, this::handleMouseMoved );
+        addEventHandler( KeyEvent.KEY_PRESSED, this::handleKeyPressed );
+        focusedProperty().addListener( ( observable, oldValue, newValue ) -> drawFocus() );
+    }
+
+    public int getNumberOfChannels() {
+        return numberOfChannels;
+    }
+
+    public int getNumberOfFilters() {
+        return numberOfFilters;
+    }
+
+    public int getCellIndex( final int channel, final int filter ) {
+        return ( channel * numberOfFilters ) + filter;
+    }
+
+    public int getChannel( final int cellIndex ) {
+        return cellIndex / numberOfFilters;
+    }
+
+    public int getFilter( final int cellIndex ) {
+        return cellIndex % numberOfFilters;
+    }
+
+    // NOTE: "bypassed" corresponds to the toggle button being selected.
+    public boolean isBypassed( final int channel, final int filter ) {
+        return bypassed.get( getCellIndex( channel, filter ) );
+    }
+
+    public void setBypassed( final int channel, final int filter, final boolean pBypassed ) {
+        setCellBypassed( getCellIndex( channel, filter ), pBypassed );
+        publishIfIdle();
+    }
+
+    /**
+     * Sets the bypass state of every filter of a channel, as one change.
+     *
+     * @param channel
+     *            The channel to change
+     * @param pBypassed
+     *            true to bypass the filters; false to enable them
+     */
+    public void setChannelBypassed( final int channel, final boolean pBypassed ) {
+        for ( int filter = 0; filter < numberOfFilters; filter++ ) {
+            setCellBypassed( getCellIndex( channel, filter ), pBypassed );
+        }
+        publishIfIdle();
+    }
+
+    /**
+     * Sets the bypass state of a filter on every channel, as one change.
+     *
+     * @param filter
+     *            The filter to change
+     * @param pBypassed
+     *            true to bypass the filter; false to enable it
+     */
+    public void setFilterBypassed( final int filter, final boolean pBypassed ) {
+        for ( int channel = 0; channel < numberOfChannels; channel++ ) {
+            setCellBypassed( getCellIndex( channel, filter ), pBypassed );
+        }
+        publishIfIdle();
+    }
+
+    /**
+     * Returns a copy of the bypass state of every cell, by cell index.
+     *
+     * @return A copy of the bypass state of every cell
+     */
+    public BitSet getBypassedCells() {
+        return ( BitSet ) bypassed.clone();
+    }
+
+    /**
+     * Replaces the bypass state of every cell, by cell index, as one change.
+     *
+     * @param bypassedCells
+     *            The cells that should be bypassed; all others are enabled
+     */
+    public void setBypassedCells( final BitSet bypassedCells ) {
+        final int numberOfCells = numberOfChannels * numberOfFilters;
+        for ( int cellIndex = 0; cellIndex < numberOfCells; cellIndex++ ) {
+            setCellBypassed( cellIndex, bypassedCells.get( cellIndex ) );
+        }
+        publishIfIdle();
+    }
+
+    public void addBypassChangeListener( final BypassChangeListener listener ) {
+        if ( bypassChangeListeners == null ) {
+            bypassChangeListeners = new ArrayList<>( 2 );
+        }
+        bypassChangeListeners.add( listener );
+    }
+
+    public void removeBypassChangeListener( final BypassChangeListener listener ) {
+        if ( bypassChangeListeners != null ) {
+            bypassChangeListeners.remove( listener );
+        }
+    }
+
+    /**
+     * Starts a batch of changes, which are notified together at the matching
+     * {@link #endUpdate()}. Batches may be nested.
+     */
+    public void beginUpdate() {
+        updateDepth++;
+    }
+
+    public void endUpdate() {
+        if ( updateDepth == 0 ) {
+            return;
+        }
+        if ( --updateDepth == 0 ) {
+            publishChanges();
+        }
+    }
+
+    /**
+     * Returns the index of the cell at the supplied local coordinates, or -1
+     * if the coordinates are outside of the matrix.
+     *
+     * @param x
+     *            The local x-coordinate
+     * @param y
+     *            The local y-coordinate
+     * @return The index of the cell under the coordinates, or -1 if none
+     */
+    public int getCellIndexAt( final double x, final double y ) {
+        final double width = canvas.getWidth();
+        final double height = canvas.getHeight();
+        if ( ( x < 0.0d ) || ( y < 0.0d ) || ( x >= width ) || ( y >= height ) ) {
+            return -1;
+        }
+        final int filter = ( int ) ( ( x * numberOfFilters ) / width );
+        final int channel = ( int ) ( ( y * numberOfChannels ) / height );
+        return getCellIndex( channel, filter );
+    }
+
+    public int getFocusedChannel() {
+        return focusedChannel;
+    }
+
+    public int getFocusedFilter() {
+        return focusedFilter;
+    }
+
+    public void setFocusedCell( final int channel, final int filter ) {
+        final int previousCell = getCellIndex( focusedChannel, focusedFilter );
+        focusedChannel = Math.max( 0, Math.min( numberOfChannels - 1, channel ) );
+        focusedFilter = Math.max( 0, Math.min( numberOfFilters - 1, filter ) );
+        drawCell( previousCell );
+        drawFocus();
+    }
+
+    // Change the state of one cell, recording and drawing it only if changed.
+    private void setCellBypassed( final int cellIndex, final boolean pBypassed ) {
+        if ( bypassed.get( cellIndex ) == pBypassed ) {
+            return;
+        }
+        bypassed.set( cellIndex, pBypassed );
+        changedCells.set( cellIndex );
+        drawCell( cellIndex );
+        if ( cellIndex == getCellIndex( focusedChannel, focusedFilter ) ) {
+            drawFocus();
+        }
+        if ( cellIndex == hoveredCell ) {
+            updateTooltip( cellIndex );
+        }
+    }
+
+    private void publishIfIdle() {
+        if ( updateDepth == 0 ) {
+            publishChanges();
+        }
+    }
+
+    // Notify the listeners once, with every cell that changed.
+    private void publishChanges() {
+        if ( changedCells.isEmpty() ) {
+            return;
+        }
+
+        publishedCells.clear();
+        publishedCells.or( changedCells );
+        changedCells.clear();
+
+        if ( bypassChangeListeners != null ) {
+            for ( final BypassChangeListener listener : new ArrayList<>( bypassChangeListeners ) ) {
+                listener.bypassChanged( this, publishedCells );
+            }
+        }
+    }
+
+    private void handleMousePressed( final MouseEvent mouseEvent ) {
+        requestFocus();
+
+        final int cellIndex = getCellIndexAt( mouseEvent.getX(), mouseEvent.getY() );
+        if ( cellIndex < 0 ) {
+            return;
+        }
+
+        // The whole drag is one batch, painting the state of the first cell.
+        dragging = true;
+        dragBypassed = !bypassed.get( cellIndex );
+        beginUpdate();
+        setFocusedCell( getChannel( cellIndex ), getFilter( cellIndex ) );
+        setCellBypassed( cellIndex, dragBypassed );
+        mouseEvent.consume();
+    }
+
+    private void handleMouseDragged( final MouseEvent mouseEvent ) {
+        if ( !dragging ) {
+            return;
+        }
+        final int cellIndex = getCellIndexAt( mouseEvent.getX(), mouseEvent.getY() );
+        if ( cellIndex >= 0 ) {
+            setCellBypassed( cellIndex, dragBypassed );
+        }
+        mouseEvent.consume();
+    }
+
+    private void handleMouseReleased( final MouseEvent mouseEvent ) {
+        if ( !dragging ) {
+            return;
+        }
+        dragging = false;
+        endUpdate();
+        mouseEvent.consume();
+    }
+
+    private void handleMouseMoved( final MouseEvent mouseEvent ) {
+        final int cellIndex = getCellIndexAt( mouseEvent.getX(), mouseEvent.getY() );
+        if ( cellIndex != hoveredCell ) {
+            hoveredCell = cellIndex;
+            updateTooltip( cellIndex );
+        }
+    }
+
+    private void updateTooltip( final int cellIndex ) {
+        if ( cellIndex < 0 ) {
+            tooltip.setText( null );
+            return;
+        }
+        tooltip.setText( "Channel " + ( getChannel( cellIndex ) + 1 ) //$NON-NLS-1$
+                + ", Filter " + ( getFilter( cellIndex ) + 1 ) + ": " //$NON-NLS-1$ //$NON-NLS-2$
+                + ( bypassed.get( cellIndex ) ? BYPASSED_TEXT : ENABLED_TEXT ) );
+    }
+
+    private void handleKeyPressed( final KeyEvent keyEvent ) {
+        switch ( keyEvent.getCode() ) {
+        case UP:
+            setFocusedCell( focusedChannel - 1, focusedFilter );
+            break;
+        case DOWN:
+            setFocusedCell( focusedChannel + 1, focusedFilter );
+            break;
+        case LEFT:
+            setFocusedCell( focusedChannel, focusedFilter - 1 );
+            break;
+        case RIGHT:
+            setFocusedCell( focusedChannel, focusedFilter + 1 );
+            break;
+        case HOME:
+            setFocusedCell( focusedChannel, 0 );
+            break;
+        case END:
+            setFocusedCell( focusedChannel, numberOfFilters - 1 );
+            break;
+        case SPACE:
+        case ENTER:
+            setBypassed( focusedChannel,
+                         focusedFilter,
+                         !isBypassed( focusedChannel, focusedFilter ) );
+            break;
+        default:
+            return;
+        }
+        keyEvent.consume();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        final double width = getWidth();
+        final double height = getHeight();
+        if ( ( canvas.getWidth() != width ) || ( canvas.getHeight() != height ) ) {
+            canvas.setWidth( width );
+            canvas.setHeight( height );
+
+            // Redraw whenever the layout changes our size.
+            draw();
+        }
+    }
+
+    // Draw every cell, then the focus; single changes only redraw their cell.
+    private void draw() {
+        final GraphicsContext graphicsContext = canvas.getGraphicsContext2D();
+        graphicsContext.clearRect( 0.0d, 0.0d, canvas.getWidth(), canvas.getHeight() );
+        final int numberOfCells = numberOfChannels * numberOfFilters;
+        for ( int cellIndex = 0; cellIndex < numberOfCells; cellIndex++ ) {
+            drawCell( cellIndex );
+        }
+        drawFocus();
+    }
+
+    private void drawCell( final int cellIndex ) {
+        final double cellWidth = canvas.getWidth() / numberOfFilters;
+        final double cellHeight = canvas.getHeight() / numberOfChannels;
+        if ( ( cellWidth <= 0.0d ) || ( cellHeight <= 0.0d ) ) {
+            return;
+        }
+
+        final double x = getFilter( cellIndex ) * cellWidth;
+        final double y = getChannel( cellIndex ) * cellHeight;
+        final GraphicsContext graphicsContext = canvas.getGraphicsContext2D();
+        graphicsContext.setFill( bypassed.get( cellIndex ) ? bypassedColor : enabledColor );
+        graphicsContext.fillRect( x, y, cellWidth, cellHeight );
+        graphicsContext.setStroke( gridColor );
+        graphicsContext.setLineWidth( 1.0d );
+        graphicsContext.strokeRect( x + 0.5d, y + 0.5d, cellWidth - 1.0d, cellHeight - 1.0d );
+
+        // Show the filter number, as on the toggle buttons, if there is room.
+        if ( ( cellWidth >= 12.0d ) && ( cellHeight >= 12.0d ) ) {
+            graphicsContext.setFill( gridColor );
+            graphicsContext.setTextAlign( TextAlignment.CENTER );
+            graphicsContext.setTextBaseline( VPos.CENTER );
+            graphicsContext.fillText( Integer.toString( getFilter( cellIndex ) + 1 ),
+                                      x + ( 0.5d * cellWidth ),
+                                      y + ( 0.5d * cellHeight ) );
+        }
+    }
+
+    private void drawFocus() {
+        if ( !isFocused() ) {
+            drawCell( getCellIndex( focusedChannel, focusedFilter ) );
+            return;
+        }
+        final double cellWidth = canvas.getWidth() / numberOfFilters;
+        final double cellHeight = canvas.getHeight() / numberOfChannels;
+        if ( ( cellWidth <= 0.0d ) || ( cellHeight <= 0.0d ) ) {
+            return;
+        }
+        final GraphicsContext graphicsContext = canvas.getGraphicsContext2D();
+        graphicsContext.setStroke( focusColor );
+        graphicsContext.setLineWidth( 2.0d );
+        graphicsContext.strokeRect( ( focusedFilter * cellWidth ) + 1.0d,
+                                    ( focusedChannel * cellHeight ) + 1.0d,
+                                    cellWidth - 2.0d,
+                                    cellHeight - 2.0d );
+    }
+
+    public void setBypassedColor( final Color pBypassedColor ) {
+        bypassedColor = pBypassedColor;
+        draw();
+    }
+
+    public void setEnabledColor( final Color pEnabledColor ) {
+        enabledColor = pEnabledColor;
+        draw();
+    }
+
+    public void setGridColor( final Color pGridColor ) {
+        gridColor = pGridColor;
+        draw();
+    }
+
+    public void setFocusColor( final Color pFocusColor ) {
+        focusColor = pFocusColor;
+        drawFocus();
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.control;
+
+import com.mhschmieder.fxsigproccontrols.model.ChannelParameterSnapshot;
+import com.mhschmieder.fxsigproccontrols.model.MasterLevelSettings;
+import com.mhschmieder.jsigproc.filter.HighLowPassFilterType;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+
+/**
+ * Mirrors one channel's JavaFX-thread-only settings (Master Level Settings,
+ * High Pass and Low Pass filters, and Parametric bands) into immutable,
+ * primitive-valued snapshots that real-time audio threads can read wait-free.
+ * <p>
+ * There must be a single writer, normally the JavaFX Application Thread; it
+ * stages changes via the setters or the bound controls and then publishes
+ * them with one volatile reference write. Changes from bound controls are
+ * batched so that at most one snapshot is published per pulse. Readers call
+ * {@link #getSnapshot()}, which is a single volatile read that never blocks,
+ * retries or allocates, and then read every field from that one snapshot.
+ * <p>
+ * Each group of settings follows at most one source at a time; binding a new
+ * source replaces the previous one, and {@link #dispose()} removes all of
+ * the listeners, so that the publisher does not keep its sources alive.
+ */
+public final class ChannelParameterPublisher {
+
+    // The currently published snapshot, which is the only shared state.
+    private volatile ChannelParameterSnapshot snapshot;
+
+    // Staged values, which are only ever touched by the writer.
+    private long                              sequenceNumber;
+
+    private double                            gainDb;
+    private boolean                           muted;
+    private boolean                           polarityReversed;
+
+    private HighLowPassFilterType             highPassFilterType;
+    private double                            highPassCutoffFrequencyHz;
+    private boolean                           highPassBypassed;
+
+    private HighLowPassFilterType             lowPassFilterType;
+    private double                            lowPassCutoffFrequencyHz;
+    private boolean                           lowPassBypassed;
+
+    private final double[]                    bandFrequenciesHz;
+    private final double[]                    bandBandwidthsOctaves;
+    private final double[]                    bandGainsDb;
+    private final boolean[]                   bandsBypassed;
+
+    private boolean                           publishPending;
+
+    // Removes the listeners of each bound source, or null if none is bound.
+    private Runnable                          masterLevelSettingsUnbinder;
+    private Runnable                          highPassUnbinder;
+    private Runnable                          lowPassUnbinder;
+    private final Runnable[]                  bandUnbinders;
+
+    public ChannelParameterPublisher( final int numberOfBands ) {
+        highPassFilterType = HighLowPassFilterType.SECOND_ORDER_HIGH_PASS;
+        highPassCutoffFrequencyHz = 20.0d;
+        highPassBypassed = true;
+
+        lowPassFilterType = HighLowPassFilterType.LOW_PASS;
+        lowPassCutoffFrequencyHz = 20000.0d;
+        lowPassBypassed = true;
+
+        bandFrequenciesHz = new double[ numberOfBands ];
+        bandBandwidthsOctaves = new double[ numberOfBands ];
+        bandGainsDb = new double[ numberOfBands ];
+        bandsBypassed = new boolean[ numberOfBands ];
+        bandUnbinders = new Runnable[ numberOfBands ];
+        for ( int bandIndex = 0; bandIndex < numberOfBands; bandIndex++ ) {
+            bandFrequenciesHz[ bandIndex ] = 1000.0d;
+            bandBandwidthsOctaves[ bandIndex ] = 1.0d;
+            bandsBypassed[ bandIndex ] = true;
+        }
+
+        // Make sure readers never see a null snapshot.
+        publish();
+    }
+
+    /**
+     * Returns the most recently published snapshot. This is safe to call from
+     * any thread, including real-time audio threads, as it is a single
+     * volatile read with no locking and no allocation.
+     *
+     * @return The most recently published snapshot
+     */
+    public ChannelParameterSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Publishes the staged values as a new snapshot. Writer thread only.
+     */
+    public void publish() {
+        publishPending = false;
+
+        snapshot = new ChannelParameterSnapshot( sequenceNumber++,
+                                                 gainDb,
+                                                 muted,
+                                                 polarityReversed,
+                                                 highPassFilterType,
+                                                 highPassCutoffFrequencyHz,
+                                                 highPassBypassed,
+                                                 lowPassFilterType,
+                                                 lowPassCutoffFrequencyHz,
+                                                 lowPassBypassed,
+                                                 bandFrequenciesHz,
+                                                 bandBandwidthsOctaves,
+                                                 bandGainsDb,
+                                                 bandsBypassed );
+    }
+
+    public void setMasterLevelSettings( final double pGainDb,
+                                        final boolean pMuted,
+                                        final boolean pPolarityReversed ) {
+        gainDb = pGainDb;
+        muted = pMuted;
+        polarityReversed = pPolarityReversed;
+    }
+
+    public void setHighPassFilter( final HighLowPassFilterType pFilterType,
+                                   final double pCutoffFrequencyHz,
+                                   final boolean pBypassed ) {
+        highPassFilterType = pFilterType;
+        highPassCutoffFrequencyHz = pCutoffFrequencyHz;
+        highPassBypassed = pBypassed;
+    }
+
+    public void setLowPassFilter( final HighLowPassFilterType pFilterType,
+                                  final double pCutoffFrequencyHz,
+                                  final boolean pBypassed ) {
+        lowPassFilterType = pFilterType;
+        lowPassCutoffFrequencyHz = pCutoffFrequencyHz;
+        lowPassBypassed = pBypassed;
+    }
+
+    public void setBand( final int bandIndex,
+                         final double pFrequencyHz,
+                         final double pBandwidthOctaves,
+                         final double pGainDb,
+                         final boolean pBypassed ) {
+        bandFrequenciesHz[ bandIndex ] = pFrequencyHz;
+        bandBandwidthsOctaves[ bandIndex ] = pBandwidthOctaves;
+        bandGainsDb[ bandIndex ] = pGainDb;
+        bandsBypassed[ bandIndex ] = pBypassed;
+    }
+
+    public int getNumberOfBands() {
+        return bandFrequenciesHz.length;
+    }
+
+    /**
+     * Stages the current Master Level Settings and schedules a publish of
+     * them, and then keeps following their changes; the publish happens on a
+     * later pulse, once per burst of changes. JavaFX Application Thread only.
+     *
+     * @param masterLevelSettings
+     *            The Master Level Settings to follow
+     */
+    public void bindMasterLevelSettings( final MasterLevelSettings masterLevelSettings ) {
+        unbindMasterLevelSettings();
+
+        final InvalidationListener listener = observable -> {
+            setMasterLevelSettings( masterLevelSettings.getGain(),
+                                    masterLevelSettings.isMuted(),
+                                    masterLevelSettings.isPolarityReversed() );
+            schedulePublish();
+        };
+        masterLevelSettings.gainProperty().addListener( listener );
+        masterLevelSettings.mutedProperty().addListener( listener );
+        masterLevelSettings.polarityReversedProperty().addListener( listener );
+        masterLevelSettingsUnbinder = () -> {
+            masterLevelSettings.gainProperty().removeListener( listener );
+            masterLevelSettings.mutedProperty().removeListener( listener );
+            masterLevelSettings.polarityReversedProperty().removeListener( listener );
+        };
+        listener.invalidated( null );
+    }
+
+    // Stop following the bound Master Level Settings, if any.
+    public void unbindMasterLevelSettings() {
+        if ( masterLevelSettingsUnbinder != null ) {
+            masterLevelSettingsUnbinder.run();
+            masterLevelSettingsUnbinder = null;
+        }
+    }
+
+    /**
+     * Stages the current High Pass filter settings and schedules a publish of
+     * them, and then keeps following their changes; the publish happens on a
+     * later pulse, once per burst of changes. JavaFX Application Thread only.
+     *
+     * @param highPassFilterControls
+     *            The High Pass filter controls to follow
+     */
+    public void bindHighPassFilterControls( final HighLowPassFilterControls highPassFilterControls ) {
+        unbindHighPassFilterControls();
+
+        final InvalidationListener listener = observable -> {
+            setHighPassFilter( highPassFilterControls._highLowPassFilterSelector.getFilterType(),
+                               highPassFilterControls._highLowPassCutoffFrequencyEditor.getValue(),
+                               highPassFilterControls._highLowPassToggleButton.isSelected() );
+            schedulePublish();
+        };
+        addHighLowPassListener( highPassFilterControls, listener );
+        highPassUnbinder = () -> removeHighLowPassListener( highPassFilterControls, listener );
+        listener.invalidated( null );
+    }
+
+    // Stop following the bound High Pass filter controls, if any.
+    public void unbindHighPassFilterControls() {
+        if ( highPassUnbinder != null ) {
+            highPassUnbinder.run();
+            highPassUnbinder = null;
+        }
+    }
+
+    /**
+     * Stages the current Low Pass filter settings and schedules a publish of
+     * them, and then keeps following their changes; the publish happens on a
+     * later pulse, once per burst of changes. JavaFX Application Thread only.
+     *
+     * @param lowPassFilterControls
+     *            The Low Pass filter controls to follow
+     */
+    public void bindLowPassFilterControls( final HighLowPassFilterControls lowPassFilterControls ) {
+        unbindLowPassFilterControls();
+
+        final InvalidationListener listener = observable -> {
+            setLowPassFilter( lowPassFilterControls._highLowPassFilterSelector.getFilterType(),
+                              lowPassFilterControls._highLowPassCutoffFrequencyEditor.getValue(),
+                              lowPassFilterControls._highLowPassToggleButton.isSelected() );
+            schedulePublish();
+        };
+        addHighLowPassListener( lowPassFilterControls, listener );
+        lowPassUnbinder = () -> removeHighLowPassListener( lowPassFilterControls, listener );
+        listener.invalidated( null );
+    }
+
+    // Stop following the bound Low Pass filter controls, if any.
+    public void unbindLowPassFilterControls() {
+        if ( lowPassUnbinder != null ) {
+            lowPassUnbinder.run();
+            lowPassUnbinder = null;
+        }
+    }
+
+    /**
+     * Stages the current settings of a Parametric band and schedules a
+     * publish of them, and then keeps following its changes; the publish
+     * happens on a later pulse, once per burst of changes. JavaFX Application
+     * Thread only.
+     *
+     * @param bandIndex
+     *            The zero-based index of the band in the snapshots
+     * @param parametricFilterControls
+     *            The Parametric filter controls to follow
+     */
+    public void bindParametricFilterControls( final int bandIndex,
+                                              final ParametricFilterControls parametricFilterControls ) {
+        unbindParametricFilterControls( bandIndex );
+
+        // NOTE: The accessors work whether or not the controls have been
+        //  materialized yet, and the controls fire on both kinds of change.
+        final InvalidationListener listener = observable -> {
+            setBand( bandIndex,
+                     parametricFilterControls.getFrequencyHz(),
+                     parametricFilterControls.getBandwidthOctaves(),
+                     parametricFilterControls.getGainDb(),
+                     parametricFilterControls.isBypassed() );
+            schedulePublish();
+        };
+        parametricFilterControls.addListener( listener );
+        bandUnbinders[ bandIndex ] = () -> parametricFilterControls.removeListener( listener );
+        listener.invalidated( null );
+    }
+
+    /**
+     * Stops following the Parametric filter controls bound to a band, if any;
+     * the band keeps its last staged settings.
+     *
+     * @param bandIndex
+     *            The zero-based index of the band in the snapshots
+     */
+    public void unbindParametricFilterControls( final int bandIndex ) {
+        if ( bandUnbinders[ bandIndex ] != null ) {
+            bandUnbinders[ bandIndex ].run();
+            bandUnbinders[ bandIndex ] = null;
+        }
+    }
+
+    /**
+     * Stops following every bound source, and drops any pending publication;
+     * the last published snapshot stays readable. JavaFX Application Thread
+     * only.
+     */
+    public void dispose() {
+        unbindMasterLevelSettings();
+        unbindHighPassFilterControls();
+        unbindLowPassFilterControls();
+        for ( int bandIndex = 0; bandIndex < bandUnbinders.length; bandIndex++ ) {
+            unbindParametricFilterControls( bandIndex );
+        }
+        publishPending = false;
+    }
+
+    private static void addHighLowPassListener( final HighLowPassFilterControls highLowPassFilterControls,
+                                                final InvalidationListener listener ) {
+        highLowPassFilterControls._highLowPassFilterSelector.valueProperty().addListener( listener );
+        highLowPassFilterControls._highLowPassCutoffFrequencyEditor.valueProperty()
+                .addListener( listener );
+        highLowPassFilterControls._highLowPassToggleButton.selectedProperty()
+                .addListener( listener );
+    }
+
+    private static void removeHighLowPassListener( final HighLowPassFilterControls highLowPassFilterControls,
+                                                   final InvalidationListener listener ) {
+        highLowPassFilterControls._highLowPassFilterSelector.valueProperty().removeListener( listener );
+        highLowPassFilterControls._highLowPassCutoffFrequencyEditor.valueProperty()
+                .removeListener( listener );
+        highLowPassFilterControls._highLowPassToggleButton.selectedProperty()
+                .removeListener( listener );
+    }
+
+    // Coalesces bursts of control changes into one publication per pulse.
+    private void schedulePublish() {
+        if ( publishPending ) {
+            return;
+        }
+        publishPending = true;
+        Platform.runLater( () -> {
+            if ( publishPending ) {
+                publish();
+            }
+        } );
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.control;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool of control groups (such as Master Level Settings Controls or
+ * a whole channel strip), so that layout changes and scene recalls can rebind
+ * existing controls to different models instead of making new ones.
+ * <p>
+ * Released groups are recycled (typically unbound from their model) and kept
+ * idle for reuse; the most recently released group is reused first, as its
+ * skin and CSS state are most likely to still be warm. When the number of idle
+ * groups exceeds the capacity, the least recently released groups are evicted
+ * and disposed, so that the pool cannot grow without bound.
+ * <p>
+ * NOTE: As with the controls themselves, this must only be used from the
+ *  JavaFX Application Thread.
+ *
+ * @param <T>
+ *            The type of control group held by the pool
+ */
+public final class ControlGroupPool< T > {
+
+    private final Supplier< T >  factory;
+    private final Consumer< T >  recycler;
+    private final Consumer< T >  disposer;
+
+    private final int            capacity;
+
+    private final ArrayDeque< T > idleGroups;
+
+    private long                 numberOfGroupsCreated;
+    private long                 numberOfGroupsReused;
+    private long                 numberOfGroupsEvicted;
+
+    /**
+     * Makes a pool of control groups.
+     *
+     * @param pFactory
+     *            Makes a new control group when no idle group is available
+     * @param pRecycler
+     *            Resets a released control group (such as unbinding it from
+     *            its model) before it is made available for reuse
+     * @param pDisposer
+     *            Releases all resources (such as bindings) of an evicted group
+     * @param pCapacity
+     *            The maximum number of idle control groups to keep for reuse
+     */
+    public ControlGroupPool( final Supplier< T > pFactory,
+                             final Consumer< T > pRecycler,
+                             final Consumer< T > pDisposer,
+                             final int pCapacity ) {
+        factory = pFactory;
+        recycler = pRecycler;
+        disposer = pDisposer;
+        capacity = Math.max( 0, pCapacity );
+
+        idleGroups = new ArrayDeque<>( Math.min( capacity, 256 ) );
+
+        numberOfGroupsCreated = 0L;
+        numberOfGroupsReused = 0L;
+        numberOfGroupsEvicted = 0L;
+    }
+
+    /**
+     * Returns an idle control group for reuse, or a new one if none are idle.
+     *
+     * @return A control group that is ready to be bound to a model
+     */
+    public T acquire() {
+        final T controlGroup = idleGroups.pollLast();
+        if ( controlGroup != null ) {
+            numberOfGroupsReused++;
+            return controlGroup;
+        }
+
+        numberOfGroupsCreated++;
+        return factory.get();
+    }
+
+    /**
+     * Recycles a control group that is no longer in use and keeps it for
+     * reuse, evicting the least recently released groups if over capacity.
+     * <p>
+     * NOTE: The caller must remove the group's nodes from the scene graph.
+     *
+     * @param controlGroup
+     *            The control group to return to the pool
+     */
+    public void release( final T controlGroup ) {
+        recycler.accept( controlGroup );
+        idleGroups.addLast( controlGroup );
+
+        while ( idleGroups.size() > capacity ) {
+            numberOfGroupsEvicted++;
+            disposer.accept( idleGroups.pollFirst() );
+        }
+    }
+
+    /**
+     * Makes enough new control groups that the given number are idle, up to
+     * the capacity, so that the cost is paid up front (e.g. at session load).
+     *
+     * @param numberOfIdleGroups
+     *            The number of idle control groups to have available
+     */
+    public void prefill( final int numberOfIdleGroups ) {
+        final int targetSize = Math.min( numberOfIdleGroups, capacity );
+        while ( idleGroups.size() < targetSize ) {
+            numberOfGroupsCreated++;
+            idleGroups.addLast( factory.get() );
+        }
+    }
+
+    // Dispose of all idle control groups.
+    public void clear() {
+        while ( !idleGroups.isEmpty() ) {
+            disposer.accept( idleGroups.pollFirst() );
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getNumberOfIdleGroups() {
+        return idleGroups.size();
+    }
+
+    public long getNumberOfGroupsCreated() {
+        return numberOfGroupsCreated;
+    }
+
+    public long getNumberOfGroupsReused() {
+        return numberOfGroupsReused;
+    }
+
+    public long getNumberOfGroupsEvicted() {
+        return numberOfGroupsEvicted;
+    }
+}
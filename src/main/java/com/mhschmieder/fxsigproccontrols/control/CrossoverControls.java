@@ -0,0 +1,194 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.control;
+
+import com.mhschmieder.fxcontrols.control.ControlUtilities;
+import com.mhschmieder.fxcontrols.control.TextSelector;
+import com.mhschmieder.fxsigproccontrols.util.SigprocEvents;
+import com.mhschmieder.fxsigproccontrols.util.SigprocLabelFactory;
+import com.mhschmieder.jcommons.util.ClientProperties;
+import com.mhschmieder.jsigproc.filter.ElectronicFilterType;
+import com.mhschmieder.jsigproc.filter.HighLowPassFilterType;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.HPos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.GridPane;
+
+/**
+ * The controls for a 2-, 3- or 4-way crossover: the number of ways, and the
+ * alignment and frequency of each crossover point, with a response preview.
+ * <p>
+ * Each crossover point pairs a High Pass and a Low Pass of the same alignment
+ * at one frequency, so only the High Pass Filter Type is offered here, and
+ * the preview builds the other leg from the same Butterworth sections.
+ * Crossover points beyond the current number of ways are disabled.
+ */
+public final class CrossoverControls {
+
+    // Declare the presentation strings for the number of ways, made once.
+    private static final ObservableList< String > NUMBER_OF_WAYS_LIST    =
+            FXCollections.unmodifiableObservableList( FXCollections
+                    .observableArrayList( "2-Way", "3-Way", "4-Way" ) ); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    // Declare default crossover frequencies, suited to the default 2-way split
+    // (a subwoofer crossover) and to the common 3-way and 4-way splits.
+    public static final double[]                  CROSSOVER_FREQUENCIES_DEFAULT_HZ =
+            new double[] { 100.0d, 1200.0d, 6000.0d };
+
+    public Label                                  _numberOfWaysLabel;
+    public TextSelector                           _numberOfWaysSelector;
+
+    public Label[]                                _crossoverLabels;
+    public HighLowPassFilterTypeSelector[]        _crossoverFilterSelectors;
+    public FrequencyEditor[]                      _crossoverFrequencyEditors;
+
+    public CrossoverResponseCurve                 _crossoverResponseCurve;
+
+    public CrossoverControls( final ClientProperties clientProperties,
+                              final boolean applyToolkitCss,
+                              final double minimumFrequencyHz,
+                              final double maximumFrequencyHz ) {
+        _numberOfWaysLabel = ControlUtilities.getControlLabel( "Crossover" ); //$NON-NLS-1$
+        _numberOfWaysSelector = new TextSelector( clientProperties,
+                                                  "Number of Ways", //$NON-NLS-1$
+                                                  applyToolkitCss,
+                                                  false,
+                                                  false,
+                                                  NUMBER_OF_WAYS_LIST.size() );
+        _numberOfWaysSelector.updateValues( NUMBER_OF_WAYS_LIST, NUMBER_OF_WAYS_LIST.get( 0 ), true );
+
+        _crossoverResponseCurve = new CrossoverResponseCurve( minimumFrequencyHz,
+                                                              maximumFrequencyHz,
+                                                              CrossoverResponseCurve.NUMBER_OF_POINTS_DEFAULT );
+
+        final int numberOfCrossovers = CrossoverResponseCurve.NUMBER_OF_WAYS_MAXIMUM - 1;
+        _crossoverLabels = new Label[ numberOfCrossovers ];
+        _crossoverFilterSelectors = new HighLowPassFilterTypeSelector[ numberOfCrossovers ];
+        _crossoverFrequencyEditors = new FrequencyEditor[ numberOfCrossovers ];
+        for ( int crossoverIndex = 0; crossoverIndex < numberOfCrossovers; crossoverIndex++ ) {
+            final String crossoverName = "Crossover " + ( crossoverIndex + 1 ); //$NON-NLS-1$
+            _crossoverLabels[ crossoverIndex ] = ControlUtilities.getControlLabel( crossoverName );
+
+            _crossoverFilterSelectors[ crossoverIndex ] =
+                    new HighLowPassFilterTypeSelector( clientProperties,
+                                                       crossoverName + " Alignment", //$NON-NLS-1$
+                                                       applyToolkitCss,
+                                                       ElectronicFilterType.HIGH_PASS,
+                                                       true );
+            _crossoverFilterSelectors[ crossoverIndex ]
+                    .setFilterType( HighLowPassFilterType.LINKWITZ_RILEY_4_HIGH_PASS );
+
+            _crossoverFrequencyEditors[ crossoverIndex ] = SigprocControlFactory
+                    .getFrequencyEditor( clientProperties,
+                                         crossoverName + " " //$NON-NLS-1$
+                                                 + SigprocLabelFactory.getFrequencyLabel(),
+                                         " Hz", //$NON-NLS-1$
+                                         minimumFrequencyHz,
+                                         maximumFrequencyHz,
+                                         CROSSOVER_FREQUENCIES_DEFAULT_HZ[ crossoverIndex ],
+                                         1000.0d,
+                                         2 );
+
+            // Record each crossover's edits under its own number.
+            SigprocEvents.setIdentifiers( _crossoverFilterSelectors[ crossoverIndex ],
+                                          SigprocEvents.UNKNOWN_IDENTIFIER,
+                                          crossoverIndex + 1 );
+            SigprocEvents.setIdentifiers( _crossoverFrequencyEditors[ crossoverIndex ],
+                                          SigprocEvents.UNKNOWN_IDENTIFIER,
+                                          crossoverIndex + 1 );
+
+            // Start the preview from the same settings as the controls.
+            _crossoverResponseCurve.setCrossoverFrequencyHz(
+                    crossoverIndex,
+                    CROSSOVER_FREQUENCIES_DEFAULT_HZ[ crossoverIndex ] );
+            _crossoverResponseCurve.setCrossoverFilterType(
+                    crossoverIndex,
+                    _crossoverFilterSelectors[ crossoverIndex ].getFilterType() );
+
+            // Force all the labels to right-justify, to match standard constraints.
+            GridPane.setHalignment( _crossoverLabels[ crossoverIndex ], HPos.RIGHT );
+
+            // Try to set smallish widths for the editable filter values.
+            _crossoverFrequencyEditors[ crossoverIndex ].setPrefWidth( 80.0d );
+        }
+        GridPane.setHalignment( _numberOfWaysLabel, HPos.RIGHT );
+
+        bindToCurve();
+        updateNumberOfWays();
+    }
+
+    private void bindToCurve() {
+        _numberOfWaysSelector.valueProperty()
+                .addListener( ( observable, oldValue, newValue ) -> updateNumberOfWays() );
+
+        for ( int i = 0; i < _crossoverFilterSelectors.length; i++ ) {
+            final int crossoverIndex = i;
+            _crossoverFilterSelectors[ crossoverIndex ]
+                    .addSelectionListener( ( observable, oldValue, newValue ) -> _crossoverResponseCurve
+                            .setCrossoverFilterType( crossoverIndex,
+                                                     _crossoverFilterSelectors[ crossoverIndex ]
+                                                             .getFilterType() ) );
+
+            // NOTE: We follow the committed value, so that coalescing on the
+            //  editor also throttles recomputation while dragging or scrubbing;
+            //  no coalescer is made unless coalescing is actually turned on.
+            _crossoverFrequencyEditors[ crossoverIndex ]
+                    .addCommittedValueListener( ( observable, oldValue, newValue ) -> _crossoverResponseCurve
+                            .setCrossoverFrequencyHz( crossoverIndex,
+                                                      newValue.doubleValue() ) );
+        }
+    }
+
+    private void updateNumberOfWays() {
+        final int numberOfWays = getNumberOfWays();
+        _crossoverResponseCurve.setNumberOfWays( numberOfWays );
+        for ( int crossoverIndex = 0; crossoverIndex < _crossoverFilterSelectors.length; crossoverIndex++ ) {
+            final boolean disabled = crossoverIndex >= ( numberOfWays - 1 );
+            _crossoverLabels[ crossoverIndex ].setDisable( disabled );
+            _crossoverFilterSelectors[ crossoverIndex ].setDisable( disabled );
+            _crossoverFrequencyEditors[ crossoverIndex ].setDisable( disabled );
+        }
+    }
+
+    public int getNumberOfWays() {
+        final int selectedIndex = _numberOfWaysSelector.getSelectionModel().getSelectedIndex();
+        return CrossoverResponseCurve.NUMBER_OF_WAYS_MINIMUM + Math.max( 0, selectedIndex );
+    }
+
+    public void setNumberOfWays( final int numberOfWays ) {
+        final int selectedIndex = Math.max( 0,
+                                            Math.min( NUMBER_OF_WAYS_LIST.size() - 1,
+                                                      numberOfWays
+                                                              - CrossoverResponseCurve.NUMBER_OF_WAYS_MINIMUM ) );
+        _numberOfWaysSelector.getSelectionModel().select( selectedIndex );
+    }
+}
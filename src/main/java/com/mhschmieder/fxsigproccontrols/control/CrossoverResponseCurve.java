@@ -0,0 +1,488 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.control;
+
+import com.mhschmieder.fxsigproccontrols.util.FilterResponseUtilities;
+import com.mhschmieder.jsigproc.filter.HighLowPassFilterType;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * A canvas-based preview of a 2-, 3- or 4-way crossover: the magnitude of
+ * each way, plus the magnitude and phase of their sum.
+ * <p>
+ * Each crossover point pairs a High Pass and a Low Pass of the same alignment
+ * (Butterworth or Linkwitz-Riley) at one frequency; the lowest way is only
+ * low passed, the highest only high passed, and the ways in between are band
+ * passed by the crossover points on either side. Each way above a crossover
+ * point whose alignment needs it to sum flat is wired in inverted polarity.
+ * <p>
+ * The ways are summed as complex analog responses in one pass over the shared
+ * frequency grid, with the filter sections of each crossover point reduced to
+ * Q factors in advance, so that dragging a crossover point is just arithmetic.
+ */
+public final class CrossoverResponseCurve extends Pane {
+
+    // Declare the supported range of ways, and defaults for the display.
+    public static final int        NUMBER_OF_WAYS_MINIMUM     = 2;
+    public static final int        NUMBER_OF_WAYS_MAXIMUM     = 4;
+    public static final int        NUMBER_OF_POINTS_DEFAULT   = 256;
+    public static final double     MAGNITUDE_RANGE_DEFAULT_DB = 48.0d;
+
+    private static final Color[]   WAY_COLORS                 = new Color[] {
+                                                                              Color.CRIMSON,
+                                                                              Color.DARKORANGE,
+                                                                              Color.SEAGREEN,
+                                                                              Color.MEDIUMPURPLE };
+
+    // The shared log-frequency grid, and its display coordinates.
+    private final double[]         frequenciesHz;
+    private final double[]         xCoordinates;
+    private final double[]         yCoordinates;
+
+    // The settings of each crossover point, with its sections as Q factors.
+    private final double[]         crossoverFrequenciesHz;
+    private final HighLowPassFilterType[] crossoverFilterTypes;
+    private final double[][]       crossoverSectionQFactors;
+    private final boolean[]        crossoverLinkwitzRiley;
+    private final boolean[]        crossoverPolarityInverted;
+
+    // Per-point scratch space for the complex response of each leg.
+    private final double[]         highPassReal;
+    private final double[]         highPassImaginary;
+    private final double[]         lowPassReal;
+    private final double[]         lowPassImaginary;
+
+    // The computed responses, on the shared grid.
+    private final double[][]       wayMagnitudesDb;
+    private final double[]         summedMagnitudesDb;
+    private final double[]         summedPhasesDegrees;
+
+    private final Canvas           canvas;
+
+    private int                    numberOfWays;
+    private double                 magnitudeRangeDb;
+    private Color                  summedColor;
+    private Color                  phaseColor;
+    private Color                  gridColor;
+
+    public CrossoverResponseCurve() {
+        this( ParametricFilterControls.FREQUENCY_MINIMUM_HZ,
+              ParametricFilterControls.FREQUENCY_MAXIMUM_HZ,
+              NUMBER_OF_POINTS_DEFAULT );
+    }
+
+    public CrossoverResponseCurve( final double minimumFrequencyHz,
+                                   final double maximumFrequencyHz,
+                                   final int numberOfPoints ) {
+        // Always call the superclass constructor first!
+        super();
+
+        frequenciesHz = FilterResponseUtilities
+                .makeLogFrequencyGrid( minimumFrequencyHz, maximumFrequencyHz, numberOfPoints );
+        xCoordinates = new double[ numberOfPoints ];
+        yCoordinates = new double[ numberOfPoints ];
+
+        final int maximumNumberOfCrossovers = NUMBER_OF_WAYS_MAXIMUM - 1;
+        crossoverFrequenciesHz = new double[ maximumNumberOfCrossovers ];
+        crossoverFilterTypes = new HighLowPassFilterType[ maximumNumberOfCrossovers ];
+        crossoverSectionQFactors = new double[ maximumNumberOfCrossovers ][];
+        crossoverLinkwitzRiley = new boolean[ maximumNumberOfCrossovers ];
+        crossoverPolarityInverted = new boolean[ maximumNumberOfCrossovers ];
+
+        highPassReal = new double[ maximumNumberOfCrossovers ];
+        highPassImaginary = new double[ maximumNumberOfCrossovers ];
+        lowPassReal = new double[ maximumNumberOfCrossovers ];
+        lowPassImaginary = new double[ maximumNumberOfCrossovers ];
+
+        wayMagnitudesDb = new double[ NUMBER_OF_WAYS_MAXIMUM ][ numberOfPoints ];
+        summedMagnitudesDb = new double[ numberOfPoints ];
+        summedPhasesDegrees = new double[ numberOfPoints ];
+
+        numberOfWays = NUMBER_OF_WAYS_MINIMUM;
+        magnitudeRangeDb = MAGNITUDE_RANGE_DEFAULT_DB;
+        summedColor = Color.DODGERBLUE;
+        phaseColor = Color.GOLDENROD;
+        gridColor = Color.GRAY;
+
+        // Start with Linkwitz-Riley 4th order crossovers, spread across the band.
+        final double logMinimum = Math.log( minimumFrequencyHz );
+        final double logStep = ( Math.log( maximumFrequencyHz ) - logMinimum )
+                / NUMBER_OF_WAYS_MAXIMUM;
+        for ( int crossoverIndex = 0; crossoverIndex < maximumNumberOfCrossovers; crossoverIndex++ ) {
+            crossoverFrequenciesHz[ crossoverIndex ] = Math
+                    .round( Math.exp( logMinimum + ( ( crossoverIndex + 1 ) * logStep ) ) );
+            setCrossoverAlignment( crossoverIndex, HighLowPassFilterType.LINKWITZ_RILEY_4_HIGH_PASS );
+        }
+
+        canvas = new Canvas();
+        getChildren().add( canvas );
+
+        computeResponses();
+    }
+
+    public int getNumberOfWays() {
+        return numberOfWays;
+    }
+
+    /**
+     * Sets the number of ways, from 2 to 4; the first (number of ways - 1)
+     * crossover points are used, and the rest keep their settings.
+     *
+     * @param pNumberOfWays
+     *            The number of ways to split the signal into
+     */
+    public void setNumberOfWays( final int pNumberOfWays ) {
+        numberOfWays = Math.max( NUMBER_OF_WAYS_MINIMUM,
+                                 Math.min( NUMBER_OF_WAYS_MAXIMUM, pNumberOfWays ) );
+        update();
+    }
+
+    public double getCrossoverFrequencyHz( final int crossoverIndex ) {
+        return crossoverFrequenciesHz[ crossoverIndex ];
+    }
+
+    public void setCrossoverFrequencyHz( final int crossoverIndex, final double frequencyHz ) {
+        crossoverFrequenciesHz[ crossoverIndex ] = frequencyHz;
+        update();
+    }
+
+    public HighLowPassFilterType getCrossoverFilterType( final int crossoverIndex ) {
+        return crossoverFilterTypes[ crossoverIndex ];
+    }
+
+    /**
+     * Sets the alignment of a crossover point, by its High Pass Filter Type;
+     * the Low Pass leg shares its alignment, so shares its filter sections.
+     *
+     * @param crossoverIndex
+     *            The zero-based index of the crossover point
+     * @param highPassFilterType
+     *            The High Pass Filter Type of the crossover point
+     */
+    public void setCrossoverFilterType( final int crossoverIndex,
+                                        final HighLowPassFilterType highPassFilterType ) {
+        if ( highPassFilterType == null ) {
+            return;
+        }
+        setCrossoverAlignment( crossoverIndex, highPassFilterType );
+        update();
+    }
+
+    // Reduce an alignment to section Q factors, so the per-point math is cheap.
+    private void setCrossoverAlignment( final int crossoverIndex,
+                                        final HighLowPassFilterType highPassFilterType ) {
+        crossoverFilterTypes[ crossoverIndex ] = highPassFilterType;
+        crossoverSectionQFactors[ crossoverIndex ] = FilterResponseUtilities
+                .getButterworthSectionQFactors( FilterResponseUtilities
+                        .getButterworthSectionOrder( highPassFilterType ) );
+        crossoverLinkwitzRiley[ crossoverIndex ] = FilterResponseUtilities
+                .isLinkwitzRiley( highPassFilterType );
+        crossoverPolarityInverted[ crossoverIndex ] = FilterResponseUtilities
+                .isCrossoverPolarityInverted( highPassFilterType );
+    }
+
+    private void update() {
+        computeResponses();
+        draw();
+    }
+
+    // Compute every way and their complex sum, in one pass over the grid.
+    private void computeResponses() {
+        final int numberOfCrossovers = numberOfWays - 1;
+        for ( int i = 0; i < frequenciesHz.length; i++ ) {
+            final double frequencyHz = frequenciesHz[ i ];
+            for ( int crossoverIndex = 0; crossoverIndex < numberOfCrossovers; crossoverIndex++ ) {
+                computeCrossoverLegs( crossoverIndex,
+                                      frequencyHz / crossoverFrequenciesHz[ crossoverIndex ] );
+            }
+
+            // NOTE: Each inverting crossover point flips the polarity of every
+            //  way above it, so that adjacent ways stay in phase with each other.
+            double summedReal = 0.0d;
+            double summedImaginary = 0.0d;
+            double polarity = 1.0d;
+            for ( int way = 0; way < numberOfWays; way++ ) {
+                double wayReal = 1.0d;
+                double wayImaginary = 0.0d;
+                if ( way > 0 ) {
+                    if ( crossoverPolarityInverted[ way - 1 ] ) {
+                        polarity = -polarity;
+                    }
+                    wayReal = polarity * highPassReal[ way - 1 ];
+                    wayImaginary = polarity * highPassImaginary[ way - 1 ];
+                }
+                if ( way < numberOfCrossovers ) {
+                    final double real = ( wayReal * lowPassReal[ way ] )
+                            - ( wayImaginary * lowPassImaginary[ way ] );
+                    wayImaginary = ( wayReal * lowPassImaginary[ way ] )
+                            + ( wayImaginary * lowPassReal[ way ] );
+                    wayReal = real;
+                }
+
+                wayMagnitudesDb[ way ][ i ] = toDecibels( wayReal, wayImaginary );
+                summedReal += wayReal;
+                summedImaginary += wayImaginary;
+            }
+
+            summedMagnitudesDb[ i ] = toDecibels( summedReal, summedImaginary );
+            summedPhasesDegrees[ i ] = Math.toDegrees( Math.atan2( summedImaginary, summedReal ) );
+        }
+    }
+
+    // Compute the complex High Pass and Low Pass responses of one crossover
+    // point at a normalized frequency, as cascades of analog sections.
+    private void computeCrossoverLegs( final int crossoverIndex, final double w ) {
+        double highReal = 1.0d;
+        double highImaginary = 0.0d;
+        double lowReal = 1.0d;
+        double lowImaginary = 0.0d;
+
+        final int numberOfButterworthSections = crossoverLinkwitzRiley[ crossoverIndex ] ? 2 : 1;
+        for ( int butterworth = 0; butterworth < numberOfButterworthSections; butterworth++ ) {
+            for ( final double qFactor : crossoverSectionQFactors[ crossoverIndex ] ) {
+                // The denominator is shared by both legs; the Low Pass
+                // numerator is one, and the High Pass numerator is s^n.
+                final double denominatorReal;
+                final double denominatorImaginary;
+                final double highNumeratorReal;
+                final double highNumeratorImaginary;
+                if ( qFactor > 0.0d ) {
+                    denominatorReal = 1.0d - ( w * w );
+                    denominatorImaginary = w / qFactor;
+                    highNumeratorReal = -( w * w );
+                    highNumeratorImaginary = 0.0d;
+                }
+                else {
+                    denominatorReal = 1.0d;
+                    denominatorImaginary = w;
+                    highNumeratorReal = 0.0d;
+                    highNumeratorImaginary = w;
+                }
+
+                // Multiply by the reciprocal of the denominator.
+                final double denominatorNorm = ( denominatorReal * denominatorReal )
+                        + ( denominatorImaginary * denominatorImaginary );
+                final double reciprocalReal = denominatorReal / denominatorNorm;
+                final double reciprocalImaginary = -denominatorImaginary / denominatorNorm;
+
+                double real = ( lowReal * reciprocalReal ) - ( lowImaginary * reciprocalImaginary );
+                lowImaginary = ( lowReal * reciprocalImaginary ) + ( lowImaginary * reciprocalReal );
+                lowReal = real;
+
+                final double sectionReal = ( highNumeratorReal * reciprocalReal )
+                        - ( highNumeratorImaginary * reciprocalImaginary );
+                final double sectionImaginary = ( highNumeratorReal * reciprocalImaginary )
+                        + ( highNumeratorImaginary * reciprocalReal );
+                real = ( highReal * sectionReal ) - ( highImaginary * sectionImaginary );
+                highImaginary = ( highReal * sectionImaginary ) + ( highImaginary * sectionReal );
+                highReal = real;
+            }
+        }
+
+        highPassReal[ crossoverIndex ] = highReal;
+        highPassImaginary[ crossoverIndex ] = highImaginary;
+        lowPassReal[ crossoverIndex ] = lowReal;
+        lowPassImaginary[ crossoverIndex ] = lowImaginary;
+    }
+
+    private static double toDecibels( final double real, final double imaginary ) {
+        return 10.0d * Math.log10( ( real * real ) + ( imaginary * imaginary ) );
+    }
+
+    @Override
+    protected void layoutChildren() {
+        final double width = getWidth();
+        final double height = getHeight();
+        if ( ( canvas.getWidth() != width ) || ( canvas.getHeight() != height ) ) {
+            canvas.setWidth( width );
+            canvas.setHeight( height );
+
+            // The x-coordinates only depend on the width, so cache them here.
+            final double logMinimum = Math.log( frequenciesHz[ 0 ] );
+            final double logRange = Math.log( frequenciesHz[ frequenciesHz.length - 1 ] )
+                    - logMinimum;
+            for ( int i = 0; i < frequenciesHz.length; i++ ) {
+                xCoordinates[ i ] = ( width * ( Math.log( frequenciesHz[ i ] ) - logMinimum ) )
+                        / logRange;
+            }
+
+            // Redraw whenever the layout changes our size.
+            draw();
+        }
+    }
+
+    // Draw the grid, each way, the summed magnitude, and the summed phase.
+    private void draw() {
+        final double width = canvas.getWidth();
+        final double height = canvas.getHeight();
+        final GraphicsContext graphicsContext = canvas.getGraphicsContext2D();
+        graphicsContext.clearRect( 0.0d, 0.0d, width, height );
+        if ( ( width <= 0.0d ) || ( height <= 0.0d ) ) {
+            return;
+        }
+
+        // The magnitude scale puts 0 dB a quarter of the way down, as the
+        // interesting detail is in the roll-offs rather than above unity.
+        final double zeroDbY = 0.25d * height;
+        final double pixelsPerDb = ( height - zeroDbY ) / magnitudeRangeDb;
+
+        graphicsContext.setStroke( gridColor );
+        graphicsContext.setLineWidth( 0.5d );
+        graphicsContext.strokeLine( 0.0d, zeroDbY, width, zeroDbY );
+
+        // Draw the crossover frequencies that are in use.
+        final double logMinimum = Math.log( frequenciesHz[ 0 ] );
+        final double logRange = Math.log( frequenciesHz[ frequenciesHz.length - 1 ] )
+                - logMinimum;
+        graphicsContext.setLineDashes( 2.0d, 4.0d );
+        for ( int crossoverIndex = 0; crossoverIndex < ( numberOfWays - 1 ); crossoverIndex++ ) {
+            final double x = ( width
+                    * ( Math.log( crossoverFrequenciesHz[ crossoverIndex ] ) - logMinimum ) )
+                    / logRange;
+            graphicsContext.strokeLine( x, 0.0d, x, height );
+        }
+        graphicsContext.setLineDashes( null );
+
+        // Draw each way, and then the sum on top of them.
+        graphicsContext.setLineWidth( 1.0d );
+        for ( int way = 0; way < numberOfWays; way++ ) {
+            strokeMagnitudes( graphicsContext,
+                              wayMagnitudesDb[ way ],
+                              WAY_COLORS[ way ],
+                              zeroDbY,
+                              pixelsPerDb,
+                              height );
+        }
+        graphicsContext.setLineWidth( 2.0d );
+        strokeMagnitudes( graphicsContext,
+                          summedMagnitudesDb,
+                          summedColor,
+                          zeroDbY,
+                          pixelsPerDb,
+                          height );
+
+        // Draw the summed phase, with +/-180 degrees spanning the full height.
+        for ( int i = 0; i < summedPhasesDegrees.length; i++ ) {
+            yCoordinates[ i ] = 0.5d * height * ( 1.0d - ( summedPhasesDegrees[ i ] / 180.0d ) );
+        }
+        graphicsContext.setStroke( phaseColor );
+        graphicsContext.setLineWidth( 1.0d );
+        graphicsContext.setLineDashes( 6.0d, 3.0d );
+        graphicsContext.strokePolyline( xCoordinates, yCoordinates, xCoordinates.length );
+        graphicsContext.setLineDashes( null );
+    }
+
+    private void strokeMagnitudes( final GraphicsContext graphicsContext,
+                                   final double[] magnitudesDb,
+                                   final Color color,
+                                   final double zeroDbY,
+                                   final double pixelsPerDb,
+                                   final double height ) {
+        for ( int i = 0; i < magnitudesDb.length; i++ ) {
+            yCoordinates[ i ] = Math.min( height, zeroDbY - ( magnitudesDb[ i ] * pixelsPerDb ) );
+        }
+        graphicsContext.setStroke( color );
+        graphicsContext.strokePolyline( xCoordinates, yCoordinates, xCoordinates.length );
+    }
+
+    /**
+     * Returns the magnitude response of one way on the shared frequency grid.
+     * <p>
+     * NOTE: This is the live cache, so callers must not modify its contents.
+     *
+     * @param way
+     *            The zero-based index of the way, from lowest to highest
+     * @return The magnitude response of the way, in dB
+     */
+    public double[] getWayMagnitudesDb( final int way ) {
+        return wayMagnitudesDb[ way ];
+    }
+
+    /**
+     * Returns the summed magnitude response on the shared frequency grid.
+     * <p>
+     * NOTE: This is the live cache, so callers must not modify its contents.
+     *
+     * @return The summed magnitude response, in dB
+     */
+    public double[] getSummedMagnitudesDb() {
+        return summedMagnitudesDb;
+    }
+
+    /**
+     * Returns the summed phase response on the shared frequency grid.
+     * <p>
+     * NOTE: This is the live cache, so callers must not modify its contents.
+     *
+     * @return The summed phase response, in degrees
+     */
+    public double[] getSummedPhasesDegrees() {
+        return summedPhasesDegrees;
+    }
+
+    /**
+     * Returns the shared log-frequency grid the responses are sampled on.
+     * <p>
+     * NOTE: This is the live grid, so callers must not modify its contents.
+     *
+     * @return The shared log-frequency grid, in Hz
+     */
+    public double[] getFrequenciesHz() {
+        return frequenciesHz;
+    }
+
+    public double getMagnitudeRangeDb() {
+        return magnitudeRangeDb;
+    }
+
+    public void setMagnitudeRangeDb( final double pMagnitudeRangeDb ) {
+        magnitudeRangeDb = pMagnitudeRangeDb;
+        draw();
+    }
+
+    public void setSummedColor( final Color pSummedColor ) {
+        summedColor = pSummedColor;
+        draw();
+    }
+
+    public void setPhaseColor( final Color pPhaseColor ) {
+        phaseColor = pPhaseColor;
+        draw();
+    }
+
+    public void setGridColor( final Color pGridColor ) {
+        gridColor = pGridColor;
+        draw();
+    }
+}
@@ -31,8 +31,17 @@
 package com.mhschmieder.fxsigproccontrols.control;
 
 import com.mhschmieder.fxcontrols.control.DoubleEditor;
+import com.mhschmieder.fxsigproccontrols.util.CommittedValueHelper;
+import com.mhschmieder.fxsigproccontrols.util.FixedPrecisionFormatter;
+import com.mhschmieder.fxsigproccontrols.util.FrequencyParser;
+import com.mhschmieder.fxsigproccontrols.util.IsoFrequencyGrid;
+import com.mhschmieder.fxsigproccontrols.util.ValueChangeCoalescer;
 import com.mhschmieder.jcommons.util.ClientProperties;
 import com.mhschmieder.jmath.MathUtilities;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.event.EventHandler;
+import javafx.scene.input.KeyEvent;
 import org.apache.commons.math3.util.FastMath;
 
 public final class FrequencyEditor extends DoubleEditor {
@@ -45,6 +54,12 @@ public final class FrequencyEditor extends DoubleEditor {
     
     // Declare default value for number of decimal places precision (when active).
     public static final int NUMBER_OF_DECIMAL_PLACES_DEFAULT = 1;
+
+    // The number of decimal places that frequency text is parsed to.
+    private static final int PARSE_DECIMAL_PLACES = 4;
+
+    // Shared display formatter; all display formatting is on the FX thread.
+    private static final FixedPrecisionFormatter DISPLAY_FORMATTER = new FixedPrecisionFormatter();
     
     /**
      * Precision cutoff frequency for using integers vs. decimal places.
@@ -56,6 +71,21 @@ public final class FrequencyEditor extends DoubleEditor {
      */
     protected int numberOfDecimalPlaces;
 
+    /**
+     * Committed value delivery, recording and coalescing.
+     */
+    protected CommittedValueHelper committedValueHelper;
+
+    /**
+     * The ISO centre frequency grid to snap to, or null if snapping is off.
+     */
+    protected IsoFrequencyGrid snapGrid;
+
+    /**
+     * Arrow key handler for stepping through the snap grid, made on first use.
+     */
+    protected EventHandler< KeyEvent > snapGridKeyHandler;
+
     public FrequencyEditor( final ClientProperties pClientProperties,
                             final String initialText,
                             final String tooltipText,
@@ -98,17 +128,59 @@ public final class FrequencyEditor extends DoubleEditor {
         
         precisionCutoffFrequencyHz = pPrecisionCutoffFrequencyHz;
         numberOfDecimalPlaces = pNumberOfDecimalPlaces;
+
+        // NOTE: This is made up front so that every committed value is
+        //  recorded, even for editors that nothing downstream listens to.
+        committedValueHelper = new CommittedValueHelper( valueProperty(), this );
     }
 
     @Override
     public double adjustPrecision( final double doubleValue ) {
+        // When snapping, the nominal centre frequency replaces the typed value
+        // before the usual rounding, which leaves nominal values unchanged.
+        final double snappedValue = ( snapGrid != null )
+            ? clampToRange( snapGrid.snap( doubleValue ) )
+            : doubleValue;
         final double precisionAdjustedValue 
-            = ( doubleValue >= precisionCutoffFrequencyHz )
-            ? FastMath.round( doubleValue )
-            : MathUtilities.roundDecimal( doubleValue, numberOfDecimalPlaces );
+            = ( snappedValue >= precisionCutoffFrequencyHz )
+            ? FastMath.round( snappedValue )
+            : MathUtilities.roundDecimal( snappedValue, numberOfDecimalPlaces );
         return precisionAdjustedValue;
     }
     
+    @Override
+    public String getDecoratedText( final double savedValue, final String savedText ) {
+        // Display integers at and above the precision cutoff frequency, and
+        // the requested number of decimal places below it, using a cached
+        // formatter so that refreshes allocate almost nothing.
+        if ( Double.isNaN( savedValue ) || Double.isInfinite( savedValue ) ) {
+            return savedText;
+        }
+        return DISPLAY_FORMATTER.formatFrequency( savedValue,
+                                                  precisionCutoffFrequencyHz,
+                                                  numberOfDecimalPlaces );
+    }
+
+    @Override
+    public String getUndecoratedText( final String savedText ) {
+        // All text, whether plain Hz or kHz shorthand such as "1.2k", "1k2"
+        // or "20kHz", is parsed by the allocation-free Frequency Parser, and
+        // only its result is handed on as canonical Hz text (at the four
+        // decimal places of parsing precision), which the inherited number
+        // parsing always accepts. Invalid text reverts to the current value
+        // here, rather than reaching the inherited parsing and throwing.
+        // NOTE: If there is no valid current value either, the text is passed
+        //  through so that it gets the inherited error text handling.
+        final double parsedFrequencyHz = FrequencyParser.parseFrequencyHz( savedText );
+        final double frequencyHz = Double.isNaN( parsedFrequencyHz )
+            ? getValue()
+            : parsedFrequencyHz;
+        if ( Double.isNaN( frequencyHz ) || Double.isInfinite( frequencyHz ) ) {
+            return savedText;
+        }
+        return DISPLAY_FORMATTER.format( frequencyHz, PARSE_DECIMAL_PLACES, false );
+    }
+
     public final double getPrecisionCutoffFrequencyHz() {
         return precisionCutoffFrequencyHz;
     }
@@ -124,4 +196,123 @@ public final class FrequencyEditor extends DoubleEditor {
     public final void setNumberOfDecimalPlaces( final int pNumberOfDecimalPlaces ) {
         numberOfDecimalPlaces = pNumberOfDecimalPlaces;
     }
+
+    public final IsoFrequencyGrid getSnapGrid() {
+        return snapGrid;
+    }
+
+    /**
+     * Sets the ISO centre frequency grid that entered values snap to, and that
+     * the up and down arrow keys step through in place of the value increment.
+     *
+     * @param pSnapGrid
+     *            The grid to snap to, or null to turn snapping off
+     */
+    public final void setSnapGrid( final IsoFrequencyGrid pSnapGrid ) {
+        snapGrid = pSnapGrid;
+
+        // NOTE: The key handler is an event filter so that it pre-empts the
+        //  inherited arrow key increments, and it is only made and installed
+        //  once, the first time that snapping is requested.
+        if ( ( snapGrid != null ) && ( snapGridKeyHandler == null ) ) {
+            snapGridKeyHandler = keyEvent -> {
+                if ( snapGrid == null ) {
+                    return;
+                }
+                switch ( keyEvent.getCode() ) {
+                case UP:
+                    setValue( clampToRange( snapGrid.next( getValue() ) ) );
+                    keyEvent.consume();
+                    break;
+                case DOWN:
+                    setValue( clampToRange( snapGrid.previous( getValue() ) ) );
+                    keyEvent.consume();
+                    break;
+                default:
+                    break;
+                }
+            };
+            addEventFilter( KeyEvent.KEY_PRESSED, snapGridKeyHandler );
+        }
+
+        if ( snapGrid != null ) {
+            setValue( adjustPrecision( getValue() ) );
+        }
+    }
+
+    /**
+     * Snaps a batch of frequencies in place to this editor's grid, such as
+     * when importing presets, without touching the editor's own value.
+     *
+     * @param frequenciesHz
+     *            The frequencies to snap, in Hz
+     */
+    public final void snapFrequencies( final double[] frequenciesHz ) {
+        if ( snapGrid != null ) {
+            snapGrid.snap( frequenciesHz );
+        }
+    }
+
+    private double clampToRange( final double frequencyHz ) {
+        return FastMath.max( getMinimumValue(), FastMath.min( getMaximumValue(), frequencyHz ) );
+    }
+
+    /**
+     * Returns the coalescer for committed value notifications, which is made
+     * on first request so that editors that never opt in pay nothing for it.
+     *
+     * @return The coalescer for committed value notifications
+     */
+    public final ValueChangeCoalescer getValueChangeCoalescer() {
+        return committedValueHelper.getValueChangeCoalescer();
+    }
+
+    /**
+     * Returns the committed value, which mirrors the raw value unless
+     * coalescing is enabled. This makes the coalescer, so downstream
+     * consumers should use {@link #addCommittedValueListener} instead.
+     *
+     * @return The committed value property
+     */
+    public final ReadOnlyDoubleProperty committedValueProperty() {
+        return committedValueHelper.committedValueProperty();
+    }
+
+    /**
+     * Adds a listener for committed values, which downstream consumers such
+     * as DSP pushes and plots should use instead of listening to the raw
+     * value, so that held-key and drag editing can be coalesced if enabled.
+     * The listener follows the raw value until coalescing is turned on.
+     *
+     * @param listener
+     *            The listener to notify of committed values
+     */
+    public final void addCommittedValueListener( final ChangeListener< ? super Number > listener ) {
+        committedValueHelper.addListener( listener );
+    }
+
+    public final void removeCommittedValueListener( final ChangeListener< ? super Number > listener ) {
+        committedValueHelper.removeListener( listener );
+    }
+
+    // NOTE: Turn recording off while values are pushed in rather than edited,
+    //  such as when binding to a model, so that they do not count as edits.
+    public final void setRecordingEnabled( final boolean recordingEnabled ) {
+        committedValueHelper.setRecordingEnabled( recordingEnabled );
+    }
+
+    public final boolean isCoalescingEnabled() {
+        return committedValueHelper.isCoalescingEnabled();
+    }
+
+    /**
+     * Turns coalescing of committed values on or off; when on, at most one
+     * committed value is published per pulse or per configured interval.
+     *
+     * @param coalescingEnabled
+     *            true if committed values should be coalesced
+     */
+    public final void setCoalescingEnabled( final boolean coalescingEnabled ) {
+        committedValueHelper.setCoalescingEnabled( coalescingEnabled );
+    }
 }
@@ -31,17 +31,28 @@
 package com.mhschmieder.fxsigproccontrols.control;
 
 import com.mhschmieder.fxcontrols.control.DoubleEditor;
+import com.mhschmieder.fxsigproccontrols.util.CommittedValueHelper;
+import com.mhschmieder.fxsigproccontrols.util.FixedPrecisionFormatter;
+import com.mhschmieder.fxsigproccontrols.util.ValueChangeCoalescer;
 import com.mhschmieder.jcommons.lang.StringUtilities;
 import com.mhschmieder.jcommons.util.ClientProperties;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.value.ChangeListener;
 
 public final class GainEditor extends DoubleEditor {
 
     // Declare value increment/decrement amount for up and down arrow keys.
     public static final double VALUE_INCREMENT_DEFAULT_DB = 0.1d;
 
+    // Shared display formatter, for sign decoration without string concatenation.
+    private static final FixedPrecisionFormatter DISPLAY_FORMATTER = new FixedPrecisionFormatter();
+
     // Cache the preference for defaulting to negative gain.
     protected boolean          _defaultToNegativeGain;
 
+    // Committed gain value delivery, recording and coalescing.
+    protected CommittedValueHelper committedValueHelper;
+
     public GainEditor( final ClientProperties pClientProperties,
                        final String initialText,
                        final String tooltipText,
@@ -66,6 +77,10 @@ public final class GainEditor extends DoubleEditor {
                VALUE_INCREMENT_DEFAULT_DB );
 
         _defaultToNegativeGain = defaultToNegativeGain;
+
+        // NOTE: This is made up front so that every committed gain value is
+        //  recorded, including for editors that are only bound to a model.
+        committedValueHelper = new CommittedValueHelper( valueProperty(), this );
     }
 
     @Override
@@ -76,10 +91,13 @@ public final class GainEditor extends DoubleEditor {
         // vs. throwing exceptions and defaulting to previous values.
         // NOTE: If defaulting to negative numbers, we must also re-attach the
         //  positive sign (if not present) if a non-negative number is detected.
-        // TODO: Find a way to exempt zero values from prepending the "+" sign?
-        // TODO: Test to see if the new condition on value > 0 fixes this.
-        final String decoratedText = _defaultToNegativeGain && ( savedValue > 0.0d )
-            ? StringUtilities.attachPositiveSign( savedText )
+        // NOTE: The formatter writes the sign and digits in a single pass and
+        //  caches the result, rather than concatenating the sign to the text;
+        //  it never signs zero, including values that round to zero.
+        final String decoratedText = _defaultToNegativeGain
+                && !Double.isNaN( savedValue )
+                && !Double.isInfinite( savedValue )
+            ? DISPLAY_FORMATTER.formatGain( savedValue, 1, true )
             : savedText;
 
         return decoratedText;
@@ -99,4 +117,38 @@ public final class GainEditor extends DoubleEditor {
 
         return undecoratedText;
     }
+
+    // Get the committed value coalescer, making it on first request.
+    public final ValueChangeCoalescer getValueChangeCoalescer() {
+        return committedValueHelper.getValueChangeCoalescer();
+    }
+
+    // NOTE: This makes the coalescer; prefer addCommittedValueListener().
+    public final ReadOnlyDoubleProperty committedValueProperty() {
+        return committedValueHelper.committedValueProperty();
+    }
+
+    // NOTE: Gain pushes to DSP should listen via this vs. the raw value; the
+    //  listener follows the raw value until coalescing is turned on.
+    public final void addCommittedValueListener( final ChangeListener< ? super Number > listener ) {
+        committedValueHelper.addListener( listener );
+    }
+
+    public final void removeCommittedValueListener( final ChangeListener< ? super Number > listener ) {
+        committedValueHelper.removeListener( listener );
+    }
+
+    // NOTE: Turn recording off while values are pushed in rather than edited,
+    //  such as when binding to a model, so that they do not count as edits.
+    public final void setRecordingEnabled( final boolean recordingEnabled ) {
+        committedValueHelper.setRecordingEnabled( recordingEnabled );
+    }
+
+    public final boolean isCoalescingEnabled() {
+        return committedValueHelper.isCoalescingEnabled();
+    }
+
+    public final void setCoalescingEnabled( final boolean coalescingEnabled ) {
+        committedValueHelper.setCoalescingEnabled( coalescingEnabled );
+    }
 }
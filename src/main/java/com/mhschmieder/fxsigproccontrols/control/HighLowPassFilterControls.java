@@ -31,6 +31,7 @@
 package com.mhschmieder.fxsigproccontrols.control;
 
 import com.mhschmieder.fxcontrols.control.ControlUtilities;
+import com.mhschmieder.fxsigproccontrols.util.SigprocEvents;
 import com.mhschmieder.fxsigproccontrols.util.SigprocLabelFactory;
 import com.mhschmieder.jcommons.util.ClientProperties;
 import com.mhschmieder.jsigproc.filter.ElectronicFilterType;
@@ -97,4 +98,17 @@ public final class HighLowPassFilterControls {
         // Try to set widths that force insets in the toggle buttons.
         _highLowPassToggleButton.setPrefWidth( 100.0d );
     }
+
+    // Tag the controls with their channel, for flight recorder events.
+    public void setEventChannel( final int channel ) {
+        SigprocEvents.setIdentifiers( _highLowPassFilterSelector,
+                                      channel,
+                                      SigprocEvents.UNKNOWN_IDENTIFIER );
+        SigprocEvents.setIdentifiers( _highLowPassCutoffFrequencyEditor,
+                                      channel,
+                                      SigprocEvents.UNKNOWN_IDENTIFIER );
+        SigprocEvents.setIdentifiers( _highLowPassToggleButton,
+                                      channel,
+                                      SigprocEvents.UNKNOWN_IDENTIFIER );
+    }
 }
@@ -30,10 +30,19 @@
  */
 package com.mhschmieder.fxsigproccontrols.control;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import com.mhschmieder.fxcontrols.control.TextSelector;
+import com.mhschmieder.fxsigproccontrols.util.SelectionChangeHelper;
 import com.mhschmieder.jcommons.util.ClientProperties;
 import com.mhschmieder.jsigproc.filter.ElectronicFilterType;
 import com.mhschmieder.jsigproc.filter.HighLowPassFilterType;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
@@ -54,9 +63,39 @@ public final class HighLowPassFilterTypeSelector extends TextSelector {
                                                                     HighLowPassFilterType.LOW_PASS
                                                                             .toPresentationString();
 
+    // Presentation strings for all filter types, made once per process.
+    private static final Map< HighLowPassFilterType, String > PRESENTATION_STRINGS =
+            new EnumMap<>( HighLowPassFilterType.class );
+
+    // Reverse lookup of filter types from their presentation strings.
+    private static final Map< String, HighLowPassFilterType > FILTER_TYPES =
+            new HashMap<>();
+
+    static {
+        for ( final HighLowPassFilterType highLowPassFilterType : HighLowPassFilterType
+                .values() ) {
+            final String presentationString = highLowPassFilterType.toPresentationString();
+            PRESENTATION_STRINGS.put( highLowPassFilterType, presentationString );
+            FILTER_TYPES.put( presentationString, highLowPassFilterType );
+        }
+    }
+
+    // Shared immutable drop-lists, with and without the high order filters.
+    // NOTE: These are only ever accessed from the JavaFX Application Thread.
+    private static final Map< ElectronicFilterType, ObservableList< String > > FILTER_TYPE_LISTS =
+            new EnumMap<>( ElectronicFilterType.class );
+    private static final Map< ElectronicFilterType, ObservableList< String > > FILTER_TYPE_LISTS_HIGH_ORDER =
+            new EnumMap<>( ElectronicFilterType.class );
+
     // Cache the type of Electronic Filter this selector is being used for.
     private final ElectronicFilterType _filterType;
 
+    // Cache the typed selection, so that clients need not compare strings.
+    private HighLowPassFilterType      _selectedFilterType;
+
+    // Selection change delivery and recording.
+    private final SelectionChangeHelper selectionChangeHelper;
+
     public HighLowPassFilterTypeSelector( final ClientProperties clientProperties,
                                           final String tooltipText,
                                           final boolean applyToolkitCss,
@@ -67,88 +106,144 @@ public final class HighLowPassFilterTypeSelector extends TextSelector {
 
         _filterType = filterType;
 
+        // Keep the typed selection in sync with the presentation string.
+        // NOTE: This must come first, so that selection listeners see it.
+        valueProperty().addListener( ( observable, oldValue, newValue ) -> {
+            _selectedFilterType = getFilterType( newValue );
+        } );
+        selectionChangeHelper = new SelectionChangeHelper( valueProperty(), this );
+
         // Update the non-editable drop-list of filter types.
         updateFilterTypes( showHighOrderFilters );
     }
 
-    // Update the non-editable drop-list of filter types.
-    public void updateFilterTypes( final boolean showHighOrderFilters ) {
-        // Re-populate the drop-list with all filter types.
-        final ObservableList< String > filterTypes = FXCollections.observableArrayList();
+    /**
+     * Returns an unmodifiable list of the High/Low Pass Filter Types that are
+     * offered for the given Electronic Filter Type and order preference.
+     *
+     * @param filterType
+     *            The type of Electronic Filter the selector is being used for
+     * @param showHighOrderFilters
+     *            true if the high order filters should be included
+     * @return An unmodifiable list of the offered filter types
+     */
+    public static List< HighLowPassFilterType > getFilterTypes( final ElectronicFilterType filterType,
+                                                                final boolean showHighOrderFilters ) {
+        final List< HighLowPassFilterType > filterTypes = new ArrayList<>( 10 );
 
-        switch ( _filterType ) {
+        switch ( filterType ) {
         case HIGH_LOW_PASS:
-            filterTypes.add( HighLowPassFilterType.LOW_PASS.toPresentationString() );
-            filterTypes
-                    .add( HighLowPassFilterType.SECOND_ORDER_HIGH_PASS.toPresentationString() );
-            filterTypes
-                    .add( HighLowPassFilterType.ELLIPTICAL_HIGH_PASS.toPresentationString() );
+            filterTypes.add( HighLowPassFilterType.LOW_PASS );
+            filterTypes.add( HighLowPassFilterType.SECOND_ORDER_HIGH_PASS );
+            filterTypes.add( HighLowPassFilterType.ELLIPTICAL_HIGH_PASS );
             break;
         case HIGH_PASS:
-            filterTypes
-                    .add( HighLowPassFilterType.SECOND_ORDER_HIGH_PASS.toPresentationString() );
-            filterTypes
-                    .add( HighLowPassFilterType.ELLIPTICAL_HIGH_PASS.toPresentationString() );
-            filterTypes.add( HighLowPassFilterType.BUTTERWORTH_1_HIGH_PASS
-                    .toPresentationString() );
-            filterTypes.add( HighLowPassFilterType.BUTTERWORTH_2_HIGH_PASS
-                    .toPresentationString() );
-            filterTypes.add( HighLowPassFilterType.BUTTERWORTH_3_HIGH_PASS
-                    .toPresentationString() );
-            filterTypes.add( HighLowPassFilterType.BUTTERWORTH_4_HIGH_PASS
-                    .toPresentationString() );
+            filterTypes.add( HighLowPassFilterType.SECOND_ORDER_HIGH_PASS );
+            filterTypes.add( HighLowPassFilterType.ELLIPTICAL_HIGH_PASS );
+            filterTypes.add( HighLowPassFilterType.BUTTERWORTH_1_HIGH_PASS );
+            filterTypes.add( HighLowPassFilterType.BUTTERWORTH_2_HIGH_PASS );
+            filterTypes.add( HighLowPassFilterType.BUTTERWORTH_3_HIGH_PASS );
+            filterTypes.add( HighLowPassFilterType.BUTTERWORTH_4_HIGH_PASS );
             if ( showHighOrderFilters ) {
                 // NOTE: Of the higher order filters, only the highest order seems useful.
-                // filterTypes.add(
-                // HighLowPassFilterType.BUTTERWORTH_5_HIGH_PASS
-                // .toPresentationString() );
-                // filterTypes.add(
-                // HighLowPassFilterType.BUTTERWORTH_6_HIGH_PASS
-                // .toPresentationString() );
-                // filterTypes.add(
-                // HighLowPassFilterType.BUTTERWORTH_7_HIGH_PASS
-                // .toPresentationString() );
-                filterTypes.add( HighLowPassFilterType.BUTTERWORTH_8_HIGH_PASS
-                        .toPresentationString() );
+                // filterTypes.add( HighLowPassFilterType.BUTTERWORTH_5_HIGH_PASS );
+                // filterTypes.add( HighLowPassFilterType.BUTTERWORTH_6_HIGH_PASS );
+                // filterTypes.add( HighLowPassFilterType.BUTTERWORTH_7_HIGH_PASS );
+                filterTypes.add( HighLowPassFilterType.BUTTERWORTH_8_HIGH_PASS );
             }
-            filterTypes.add( HighLowPassFilterType.LINKWITZ_RILEY_2_HIGH_PASS
-                             .toPresentationString() );
-                     filterTypes.add( HighLowPassFilterType.LINKWITZ_RILEY_4_HIGH_PASS
-                             .toPresentationString() );
+            filterTypes.add( HighLowPassFilterType.LINKWITZ_RILEY_2_HIGH_PASS );
+            filterTypes.add( HighLowPassFilterType.LINKWITZ_RILEY_4_HIGH_PASS );
             break;
         case LOW_PASS:
-            filterTypes.add( HighLowPassFilterType.LOW_PASS.toPresentationString() );
-            filterTypes
-                    .add( HighLowPassFilterType.BUTTERWORTH_1_LOW_PASS.toPresentationString() );
-            filterTypes
-                    .add( HighLowPassFilterType.BUTTERWORTH_2_LOW_PASS.toPresentationString() );
-            filterTypes
-                    .add( HighLowPassFilterType.BUTTERWORTH_3_LOW_PASS.toPresentationString() );
-            filterTypes
-                    .add( HighLowPassFilterType.BUTTERWORTH_4_LOW_PASS.toPresentationString() );
+            filterTypes.add( HighLowPassFilterType.LOW_PASS );
+            filterTypes.add( HighLowPassFilterType.BUTTERWORTH_1_LOW_PASS );
+            filterTypes.add( HighLowPassFilterType.BUTTERWORTH_2_LOW_PASS );
+            filterTypes.add( HighLowPassFilterType.BUTTERWORTH_3_LOW_PASS );
+            filterTypes.add( HighLowPassFilterType.BUTTERWORTH_4_LOW_PASS );
             if ( showHighOrderFilters ) {
                 // NOTE: Of the higher order filters, only the highest order seems useful.
-                // filterTypes.add(
-                // HighLowPassFilterType.BUTTERWORTH_5_LOW_PASS
-                // .toPresentationString() );
-                // filterTypes.add(
-                // HighLowPassFilterType.BUTTERWORTH_6_LOW_PASS
-                // .toPresentationString() );
-                // filterTypes.add(
-                // HighLowPassFilterType.BUTTERWORTH_7_LOW_PASS
-                // .toPresentationString() );
-                filterTypes.add( HighLowPassFilterType.BUTTERWORTH_8_LOW_PASS
-                        .toPresentationString() );
+                // filterTypes.add( HighLowPassFilterType.BUTTERWORTH_5_LOW_PASS );
+                // filterTypes.add( HighLowPassFilterType.BUTTERWORTH_6_LOW_PASS );
+                // filterTypes.add( HighLowPassFilterType.BUTTERWORTH_7_LOW_PASS );
+                filterTypes.add( HighLowPassFilterType.BUTTERWORTH_8_LOW_PASS );
             }
-            filterTypes.add( HighLowPassFilterType.LINKWITZ_RILEY_2_LOW_PASS
-                    .toPresentationString() );
-            filterTypes.add( HighLowPassFilterType.LINKWITZ_RILEY_4_LOW_PASS
-                    .toPresentationString() );
+            filterTypes.add( HighLowPassFilterType.LINKWITZ_RILEY_2_LOW_PASS );
+            filterTypes.add( HighLowPassFilterType.LINKWITZ_RILEY_4_LOW_PASS );
             break;
         default:
             break;
         }
 
+        return Collections.unmodifiableList( filterTypes );
+    }
+
+    // Get the shared drop-list of presentation strings, making it if needed.
+    private static ObservableList< String > getFilterTypeList( final ElectronicFilterType filterType,
+                                                               final boolean showHighOrderFilters ) {
+        final Map< ElectronicFilterType, ObservableList< String > > filterTypeLists =
+                showHighOrderFilters ? FILTER_TYPE_LISTS_HIGH_ORDER : FILTER_TYPE_LISTS;
+        ObservableList< String > filterTypeList = filterTypeLists.get( filterType );
+        if ( filterTypeList == null ) {
+            final ObservableList< String > presentationStrings = FXCollections
+                    .observableArrayList();
+            for ( final HighLowPassFilterType highLowPassFilterType : getFilterTypes(
+                    filterType,
+                    showHighOrderFilters ) ) {
+                presentationStrings.add( PRESENTATION_STRINGS.get( highLowPassFilterType ) );
+            }
+            filterTypeList = FXCollections.unmodifiableObservableList( presentationStrings );
+            filterTypeLists.put( filterType, filterTypeList );
+        }
+        return filterTypeList;
+    }
+
+    /**
+     * Returns the High/Low Pass Filter Type for a presentation string, or null.
+     *
+     * @param presentationString
+     *            The presentation string of the High/Low Pass Filter Type
+     * @return The matching High/Low Pass Filter Type, or null if none match
+     */
+    public static HighLowPassFilterType getFilterType( final String presentationString ) {
+        return ( presentationString == null ) ? null : FILTER_TYPES.get( presentationString );
+    }
+
+    /**
+     * Returns the presentation string for a High/Low Pass Filter Type.
+     *
+     * @param highLowPassFilterType
+     *            The High/Low Pass Filter Type to get the presentation string for
+     * @return The cached presentation string of the High/Low Pass Filter Type
+     */
+    public static String getPresentationString( final HighLowPassFilterType highLowPassFilterType ) {
+        return PRESENTATION_STRINGS.get( highLowPassFilterType );
+    }
+
+    // Get the currently selected High/Low Pass Filter Type, without string compares.
+    public HighLowPassFilterType getFilterType() {
+        return _selectedFilterType;
+    }
+
+    public void setFilterType( final HighLowPassFilterType highLowPassFilterType ) {
+        setValue( PRESENTATION_STRINGS.get( highLowPassFilterType ) );
+    }
+
+    // NOTE: Filter type and slope changes that recompute responses or push
+    //  to DSP should listen via this vs. the raw value, so they are timed.
+    public void addSelectionListener( final ChangeListener< ? super String > listener ) {
+        selectionChangeHelper.addListener( listener );
+    }
+
+    public void removeSelectionListener( final ChangeListener< ? super String > listener ) {
+        selectionChangeHelper.removeListener( listener );
+    }
+
+    // Update the non-editable drop-list of filter types.
+    public void updateFilterTypes( final boolean showHighOrderFilters ) {
+        // Re-populate the drop-list with all filter types, from the shared list.
+        final ObservableList< String > filterTypes = getFilterTypeList( _filterType,
+                                                                        showHighOrderFilters );
+
         // Determine the initial default High/Low Pass Filter Type.
         String defaultFilterType = null;
         switch ( _filterType ) {
@@ -167,5 +262,8 @@ public final class HighLowPassFilterTypeSelector extends TextSelector {
 
         // Replace the entire list, and re-assert the current selection.
         updateValues( filterTypes, defaultFilterType, true );
+
+        // Make sure the typed selection is current even if no change fired.
+        _selectedFilterType = getFilterType( getValue() );
     }
 }
@@ -30,7 +30,14 @@
  */
 package com.mhschmieder.fxsigproccontrols.control;
 
+import java.util.BitSet;
+
+import com.mhschmieder.fxsigproccontrols.model.MasterLevelSettings;
+import com.mhschmieder.fxsigproccontrols.model.MasterLevelSettingsBank;
+import com.mhschmieder.fxsigproccontrols.util.SigprocEvents;
+import com.mhschmieder.fxsigproccontrols.util.SigprocMetrics;
 import com.mhschmieder.jcommons.util.ClientProperties;
+import javafx.beans.value.ChangeListener;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.layout.GridPane;
 
@@ -39,10 +46,31 @@ public final class MasterLevelSettingsControls {
     public static final double GAIN_MINIMUM_DB = Double.NEGATIVE_INFINITY;
     public static final double GAIN_MAXIMUM_DB = 0.0d;
 
+    // The control type that toggle edits are recorded as, for metrics.
+    private static final String METRICS_CONTROL_TYPE = "MasterLevelSettingsControls"; //$NON-NLS-1$
+
     public ToggleButton        _polarityToggleButton;
     public GainEditor          _gainEditor;
     public ToggleButton        _muteToggleButton;
 
+    // Cache the model these controls are currently bound to, if any.
+    private MasterLevelSettings _masterLevelSettings;
+
+    // Cache the bank and channel whose live view we acquired, if any.
+    private MasterLevelSettingsBank _masterLevelSettingsBank;
+    private int                 _channel;
+
+    // Cache whether the button heights are bound, so we can unbind them.
+    private boolean             _channelStripContext;
+
+    // Pushes model changes into the controls, such as from gang edits, undo
+    // or preset recall; these are not user edits, so are never recorded.
+    private final ChangeListener< Object > _modelListener;
+
+    // Cache whether we are syncing the controls and the model, in either
+    // direction, so that neither echoes back nor records the other's changes.
+    private boolean             _syncing;
+
     @SuppressWarnings("nls")
     public MasterLevelSettingsControls( final ClientProperties clientProperties,
                                         final boolean defaultToNegativeGain,
@@ -63,6 +91,9 @@ public final class MasterLevelSettingsControls {
 
         _muteToggleButton = SigprocLabeledControlFactory.getMuteToggleButton( true, false );
 
+        SigprocEvents.recordMasterLevelSettingsToggles( _polarityToggleButton, "polarityReversed" ); //$NON-NLS-1$
+        SigprocEvents.recordMasterLevelSettingsToggles( _muteToggleButton, "muted" ); //$NON-NLS-1$
+
         // Try to get the buttons to be as tall as possible.
         GridPane.setFillHeight( _polarityToggleButton, true );
         GridPane.setFillHeight( _muteToggleButton, true );
@@ -76,10 +107,220 @@ public final class MasterLevelSettingsControls {
 
         // Make sure all the buttons stretch to match the height of the first
         // button in layout order (forward references do not apply the match).
+        _channelStripContext = channelStripContext;
         if ( channelStripContext ) {
             _gainEditor.prefHeightProperty().bind( _polarityToggleButton.heightProperty() );
             _muteToggleButton.prefHeightProperty().bind( _polarityToggleButton.heightProperty() );
         }
+
+        // NOTE: The controls and the model are synced by our own listeners,
+        //  rather than by bidirectional bindings, so that only changes that
+        //  start in the controls are recorded, here rather than in the model,
+        //  as most models are undo history and presets that are never bound.
+        //  The Gain Editor records its own metrics and Editor Commit events,
+        //  as it owns the delivery of its committed values, so gain changes
+        //  are not recorded again here as Master Level Settings changes.
+        _syncing = false;
+        _modelListener = ( observable, oldValue, newValue ) -> {
+            if ( !_syncing ) {
+                pullFromModel();
+            }
+        };
+        _polarityToggleButton.selectedProperty()
+                .addListener( ( observable, oldValue, newValue ) -> toggled() );
+        _gainEditor.valueProperty().addListener( ( observable, oldValue, newValue ) -> {
+            if ( !_syncing ) {
+                pushToModel();
+            }
+        } );
+        _muteToggleButton.selectedProperty()
+                .addListener( ( observable, oldValue, newValue ) -> toggled() );
     }
-}
 
+    private void toggled() {
+        if ( _syncing ) {
+            return;
+        }
+        SigprocMetrics.recordEdit( METRICS_CONTROL_TYPE );
+        pushToModel();
+    }
+
+    // Push the model's values into the controls, without recording them.
+    private void pullFromModel() {
+        _syncing = true;
+        _gainEditor.setRecordingEnabled( false );
+        try {
+            _polarityToggleButton.setSelected( _masterLevelSettings.isPolarityReversed() );
+            _gainEditor.setValue( _masterLevelSettings.getGain() );
+            _muteToggleButton.setSelected( _masterLevelSettings.isMuted() );
+        }
+        finally {
+            _gainEditor.setRecordingEnabled( true );
+            _syncing = false;
+        }
+    }
+
+    // Push the controls' values into the model, if these controls are bound.
+    private void pushToModel() {
+        if ( _masterLevelSettings == null ) {
+            return;
+        }
+        _syncing = true;
+        try {
+            _masterLevelSettings.setPolarityReversed( _polarityToggleButton.isSelected() );
+            _masterLevelSettings.setGain( _gainEditor.getValue() );
+            _masterLevelSettings.setMuted( _muteToggleButton.isSelected() );
+        }
+        finally {
+            _syncing = false;
+        }
+    }
+
+    /**
+     * Binds these controls bidirectionally to the supplied model, first
+     * unbinding them from any model that they were previously bound to.
+     * <p>
+     * NOTE: The controls take on the model's values at the time of binding,
+     *  and only changes made in the controls count as edits; changes made
+     *  to the model, such as by undo or preset recall, are not recorded.
+     *
+     * @param masterLevelSettings
+     *            The Master Level Settings model to bind the controls to
+     */
+    public void bindToModel( final MasterLevelSettings masterLevelSettings ) {
+        unbindFromModel();
+
+        _masterLevelSettings = masterLevelSettings;
+
+        _masterLevelSettings.polarityReversedProperty().addListener( _modelListener );
+        _masterLevelSettings.gainProperty().addListener( _modelListener );
+        _masterLevelSettings.mutedProperty().addListener( _modelListener );
+        pullFromModel();
+    }
+
+    /**
+     * Binds these controls to a single channel of a Master Level Settings
+     * bank, via that channel's on-demand live view, which these controls
+     * release again when they are unbound or disposed.
+     *
+     * @param masterLevelSettingsBank
+     *            The bank that holds the channel's settings
+     * @param channel
+     *            The channel to bind the controls to
+     */
+    public void bindToModel( final MasterLevelSettingsBank masterLevelSettingsBank,
+                             final int channel ) {
+        // NOTE: The new view is acquired before the previous one is released,
+        //  so that rebinding to the same channel keeps its view alive.
+        final MasterLevelSettings channelView = masterLevelSettingsBank.getChannelView( channel );
+        bindToModel( channelView );
+
+        _masterLevelSettingsBank = masterLevelSettingsBank;
+        _channel = channel;
+        setEventChannel( channel );
+    }
+
+    // Tag the controls with their channel, for flight recorder events.
+    public void setEventChannel( final int channel ) {
+        SigprocEvents.setIdentifiers( _polarityToggleButton,
+                                      channel,
+                                      SigprocEvents.UNKNOWN_IDENTIFIER );
+        SigprocEvents.setIdentifiers( _gainEditor, channel, SigprocEvents.UNKNOWN_IDENTIFIER );
+        SigprocEvents.setIdentifiers( _muteToggleButton,
+                                      channel,
+                                      SigprocEvents.UNKNOWN_IDENTIFIER );
+    }
+
+    // Unbind these controls from their current model, if any, releasing any
+    // bank channel view that was acquired for it.
+    public void unbindFromModel() {
+        if ( _masterLevelSettings == null ) {
+            return;
+        }
+
+        _masterLevelSettings.polarityReversedProperty().removeListener( _modelListener );
+        _masterLevelSettings.gainProperty().removeListener( _modelListener );
+        _masterLevelSettings.mutedProperty().removeListener( _modelListener );
+
+        _masterLevelSettings = null;
+
+        if ( _masterLevelSettingsBank != null ) {
+            _masterLevelSettingsBank.releaseChannelView( _channel );
+            _masterLevelSettingsBank = null;
+        }
+    }
+
+    /**
+     * Releases all bindings held by these controls, including the height
+     * bindings made in the channel strip context, so that they can be
+     * garbage collected once removed from the scene graph (such as when
+     * evicted from a {@link ControlGroupPool}).
+     */
+    public void dispose() {
+        unbindFromModel();
+
+        if ( _channelStripContext ) {
+            _gainEditor.prefHeightProperty().unbind();
+            _muteToggleButton.prefHeightProperty().unbind();
+            _channelStripContext = false;
+        }
+    }
+
+    public MasterLevelSettings getModel() {
+        return _masterLevelSettings;
+    }
+
+    /**
+     * Applies a relative gain change to every selected channel of a bank, as
+     * one transaction, clamped to the same range as the Gain Editor.
+     * <p>
+     * Only the channels that are bound to controls (via their live views) are
+     * pushed to the GUI, each once, and bank listeners are notified once.
+     *
+     * @param masterLevelSettingsBank
+     *            The bank that holds the channels' settings
+     * @param selectedChannels
+     *            The channels to gang edit
+     * @param gainOffsetDb
+     *            The gain offset to apply, in dB
+     */
+    public static void gangOffsetGain( final MasterLevelSettingsBank masterLevelSettingsBank,
+                                       final BitSet selectedChannels,
+                                       final double gainOffsetDb ) {
+        masterLevelSettingsBank.offsetGain( selectedChannels,
+                                            gainOffsetDb,
+                                            GAIN_MINIMUM_DB,
+                                            GAIN_MAXIMUM_DB );
+    }
+
+    public static void gangSetMuted( final MasterLevelSettingsBank masterLevelSettingsBank,
+                                     final BitSet selectedChannels,
+                                     final boolean muted ) {
+        masterLevelSettingsBank.setMuted( selectedChannels, muted );
+    }
+
+    public static void gangFlipPolarity( final MasterLevelSettingsBank masterLevelSettingsBank,
+                                         final BitSet selectedChannels ) {
+        masterLevelSettingsBank.flipPolarity( selectedChannels );
+    }
+
+    /**
+     * Applies an arbitrary combination of gang edits to a bank as a single
+     * transaction, such as a gain move together with an unmute.
+     *
+     * @param masterLevelSettingsBank
+     *            The bank that holds the channels' settings
+     * @param gangEdit
+     *            The edits to apply, via the bank's own setters
+     */
+    public static void gangEdit( final MasterLevelSettingsBank masterLevelSettingsBank,
+                                 final Runnable gangEdit ) {
+        masterLevelSettingsBank.beginUpdate();
+        try {
+            gangEdit.run();
+        }
+        finally {
+            masterLevelSettingsBank.endUpdate();
+        }
+    }
+}
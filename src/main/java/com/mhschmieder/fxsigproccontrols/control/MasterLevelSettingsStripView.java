@@ -0,0 +1,340 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.control;
+
+import java.util.List;
+
+import com.mhschmieder.fxsigproccontrols.model.MasterLevelSettings;
+import com.mhschmieder.fxsigproccontrols.model.MasterLevelSettingsBank;
+import com.mhschmieder.jcommons.util.ClientProperties;
+import javafx.beans.InvalidationListener;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * A horizontally scrolling, virtualised row of Master Level Settings channel
+ * strips, in the style of {@code VirtualFlow}: only enough strips to fill the
+ * viewport are ever made, and they are rebound to other channels as the view
+ * scrolls, so node count and memory stay flat however many channels there are.
+ * <p>
+ * Strips are kept in a ring indexed by channel modulo the number of strips,
+ * so scrolling by one channel only rebinds the one strip that wraps around,
+ * and the scene graph children only change when the viewport is resized.
+ * Strips that are no longer needed go back to a pool for later reuse.
+ * <p>
+ * The channels come from either a list of Master Level Settings (which is
+ * followed for changes if it is observable) or a Master Level Settings bank,
+ * in which case the on-demand channel views are released as strips move on.
+ */
+public final class MasterLevelSettingsStripView extends Region {
+
+    // Declare default strip width, and default capacity of the idle pool.
+    public static final double STRIP_WIDTH_DEFAULT   = 110.0d;
+    public static final int    POOL_CAPACITY_DEFAULT = 16;
+
+    /**
+     * One visible strip, which is rebound to whichever channel it displays.
+     */
+    private static final class StripCell {
+        final VBox                        strip;
+        final Label                       channelLabel;
+        final MasterLevelSettingsControls controls;
+        int                               channel;
+
+        StripCell( final MasterLevelSettingsControls pControls ) {
+            controls = pControls;
+            channelLabel = new Label();
+            strip = new VBox( 4.0d,
+                              channelLabel,
+                              controls._polarityToggleButton,
+                              controls._gainEditor,
+                              controls._muteToggleButton );
+            strip.setAlignment( Pos.TOP_CENTER );
+            channel = -1;
+        }
+    }
+
+    // The backing channels: exactly one of these is set.
+    private final List< MasterLevelSettings >                 channelSettings;
+    private final MasterLevelSettingsBank                     channelBank;
+
+    private final ControlGroupPool< MasterLevelSettingsControls > controlsPool;
+
+    // Rebinds every strip when an observable backing list changes.
+    private final InvalidationListener                        channelSettingsListener;
+
+    private final ScrollBar                                   scrollBar;
+    private final Rectangle                                   clip;
+
+    private StripCell[]                                       cells;
+    private double                                            stripWidth;
+
+    public MasterLevelSettingsStripView( final ClientProperties clientProperties,
+                                         final List< MasterLevelSettings > pChannelSettings ) {
+        this( clientProperties, pChannelSettings, null );
+    }
+
+    public MasterLevelSettingsStripView( final ClientProperties clientProperties,
+                                         final MasterLevelSettingsBank pChannelBank ) {
+        this( clientProperties, null, pChannelBank );
+    }
+
+    private MasterLevelSettingsStripView( final ClientProperties clientProperties,
+                                          final List< MasterLevelSettings > pChannelSettings,
+                                          final MasterLevelSettingsBank pChannelBank ) {
+        // Always call the superclass constructor first!
+        super();
+
+        channelSettings = pChannelSettings;
+        channelBank = pChannelBank;
+
+        // NOTE: Strips are laid out in a VBox rather than a GridPane row, so
+        //  the channel strip context (matched button heights) does not apply.
+        controlsPool = SigprocControlFactory
+                .getMasterLevelSettingsControlsPool( clientProperties,
+                                                     true,
+                                                     false,
+                                                     POOL_CAPACITY_DEFAULT );
+
+        cells = new StripCell[ 0 ];
+        stripWidth = STRIP_WIDTH_DEFAULT;
+
+        scrollBar = new ScrollBar();
+        scrollBar.setOrientation( Orientation.HORIZONTAL );
+        scrollBar.setMin( 0.0d );
+        scrollBar.valueProperty().addListener( observable -> updateCells() );
+        getChildren().add( scrollBar );
+
+        clip = new Rectangle();
+        setClip( clip );
+
+        addEventHandler( ScrollEvent.SCROLL, scrollEvent -> {
+            final double delta = ( scrollEvent.getDeltaX() != 0.0d )
+                ? scrollEvent.getDeltaX()
+                : scrollEvent.getDeltaY();
+            scrollBar.setValue( Math.max( scrollBar.getMin(),
+                                          Math.min( scrollBar.getMax(),
+                                                    scrollBar.getValue() - delta ) ) );
+            scrollEvent.consume();
+        } );
+
+        // Rebind every strip when an observable backing list changes.
+        channelSettingsListener = observable -> refresh();
+        if ( channelSettings instanceof ObservableList ) {
+            ( ( ObservableList< MasterLevelSettings > ) channelSettings )
+                    .addListener( channelSettingsListener );
+        }
+    }
+
+    public int getNumberOfChannels() {
+        return ( channelBank != null )
+            ? channelBank.getNumberOfChannels()
+            : channelSettings.size();
+    }
+
+    public double getStripWidth() {
+        return stripWidth;
+    }
+
+    public void setStripWidth( final double pStripWidth ) {
+        stripWidth = pStripWidth;
+        requestLayout();
+    }
+
+    /**
+     * Scrolls so that the supplied channel is the first visible channel, or
+     * as close to that as the number of channels allows.
+     *
+     * @param channel
+     *            The channel to scroll to
+     */
+    public void scrollTo( final int channel ) {
+        scrollBar.setValue( Math.max( scrollBar.getMin(),
+                                      Math.min( scrollBar.getMax(), channel * stripWidth ) ) );
+    }
+
+    /**
+     * Rebinds every visible strip, such as after the backing channels have
+     * been replaced wholesale.
+     */
+    public void refresh() {
+        for ( final StripCell cell : cells ) {
+            unbindCell( cell );
+        }
+        requestLayout();
+    }
+
+    /**
+     * Stops following the backing channels, unbinds every strip and disposes
+     * of all the strips' controls, including those idle in the pool, so that
+     * the view can be discarded while the channels live on.
+     */
+    public void dispose() {
+        if ( channelSettings instanceof ObservableList ) {
+            ( ( ObservableList< MasterLevelSettings > ) channelSettings )
+                    .removeListener( channelSettingsListener );
+        }
+
+        for ( final StripCell cell : cells ) {
+            unbindCell( cell );
+            getChildren().remove( cell.strip );
+            cell.strip.getChildren().clear();
+            controlsPool.release( cell.controls );
+        }
+        cells = new StripCell[ 0 ];
+        controlsPool.clear();
+    }
+
+    /**
+     * Returns the number of strips that currently exist, which depends only
+     * on the width of the viewport and not on the number of channels.
+     *
+     * @return The number of strips that currently exist
+     */
+    public int getNumberOfStrips() {
+        return cells.length;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        final double width = getWidth();
+        final double height = getHeight();
+        final double scrollBarHeight = scrollBar.prefHeight( width );
+
+        clip.setWidth( width );
+        clip.setHeight( height );
+        scrollBar.resizeRelocate( 0.0d, height - scrollBarHeight, width, scrollBarHeight );
+
+        final int numberOfChannels = getNumberOfChannels();
+        final double contentWidth = numberOfChannels * stripWidth;
+        scrollBar.setMax( Math.max( 0.0d, contentWidth - width ) );
+        scrollBar.setVisibleAmount( width );
+        scrollBar.setUnitIncrement( stripWidth );
+        scrollBar.setBlockIncrement( width );
+        if ( scrollBar.getValue() > scrollBar.getMax() ) {
+            scrollBar.setValue( scrollBar.getMax() );
+        }
+
+        // One more strip than fits, as two are partially visible when scrolled.
+        final int numberOfStrips = Math.min( numberOfChannels,
+                                             ( int ) Math.ceil( width / stripWidth ) + 1 );
+        setNumberOfStrips( numberOfStrips );
+        updateCells();
+    }
+
+    // Grow or shrink the ring of strips, pooling any that are removed.
+    private void setNumberOfStrips( final int numberOfStrips ) {
+        if ( numberOfStrips == cells.length ) {
+            return;
+        }
+
+        final StripCell[] newCells = new StripCell[ numberOfStrips ];
+        for ( int i = 0; i < cells.length; i++ ) {
+            final StripCell cell = cells[ i ];
+            unbindCell( cell );
+            if ( i < numberOfStrips ) {
+                newCells[ i ] = cell;
+            }
+            else {
+                getChildren().remove( cell.strip );
+                cell.strip.getChildren().clear();
+                controlsPool.release( cell.controls );
+            }
+        }
+        for ( int i = cells.length; i < numberOfStrips; i++ ) {
+            newCells[ i ] = new StripCell( controlsPool.acquire() );
+            getChildren().add( newCells[ i ].strip );
+        }
+        cells = newCells;
+
+        // Keep the scroll bar on top of the strips.
+        scrollBar.toFront();
+    }
+
+    // Position every strip, rebinding only those whose channel has changed.
+    private void updateCells() {
+        final int numberOfStrips = cells.length;
+        if ( numberOfStrips == 0 ) {
+            return;
+        }
+
+        final int numberOfChannels = getNumberOfChannels();
+        final double offset = scrollBar.getValue();
+        final double stripHeight = getHeight() - scrollBar.getHeight();
+        final int firstChannel = ( int ) Math.floor( offset / stripWidth );
+        for ( int i = 0; i < numberOfStrips; i++ ) {
+            final int channel = firstChannel + i;
+            final StripCell cell = cells[ channel % numberOfStrips ];
+            if ( channel >= numberOfChannels ) {
+                unbindCell( cell );
+                cell.strip.setVisible( false );
+                continue;
+            }
+
+            if ( cell.channel != channel ) {
+                bindCell( cell, channel );
+            }
+            cell.strip.setVisible( true );
+            cell.strip.resizeRelocate( ( channel * stripWidth ) - offset,
+                                       0.0d,
+                                       stripWidth,
+                                       stripHeight );
+        }
+    }
+
+    // NOTE: The controls release the bank channel view they were bound to,
+    //  so views shared with other controls elsewhere stay attached.
+    private void bindCell( final StripCell cell, final int channel ) {
+        if ( channelBank != null ) {
+            cell.controls.bindToModel( channelBank, channel );
+        }
+        else {
+            cell.controls.bindToModel( channelSettings.get( channel ) );
+        }
+        cell.channel = channel;
+        cell.channelLabel.setText( Integer.toString( channel + 1 ) );
+    }
+
+    private void unbindCell( final StripCell cell ) {
+        if ( cell.channel < 0 ) {
+            return;
+        }
+        cell.controls.unbindFromModel();
+        cell.channel = -1;
+    }
+}
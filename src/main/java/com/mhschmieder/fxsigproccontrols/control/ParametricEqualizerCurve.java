@@ -0,0 +1,454 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.control;
+
+import com.mhschmieder.fxsigproccontrols.util.BiquadDesignUtilities;
+import com.mhschmieder.fxsigproccontrols.util.FilterCoefficientCache;
+import com.mhschmieder.fxsigproccontrols.util.FilterComputationService;
+import com.mhschmieder.fxsigproccontrols.util.FilterResponseUtilities;
+import com.mhschmieder.jsigproc.filter.HighLowPassFilterType;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * A canvas-based display of the combined magnitude response of a set of
+ * Parametric Filter bands and optional High Pass and Low Pass filters.
+ * <p>
+ * Each filter's contribution is cached on a shared log-frequency grid, and
+ * only the filter whose editor (or bypass toggle) changed is recomputed; the
+ * cached contributions are then re-summed, which is just additions. This keeps
+ * arrow-key scrubbing interactive even with many curves on screen at once.
+ * <p>
+ * The curve listens to the bands themselves (which forward the committed values
+ * of their editors), so enabling coalescing on those editors also throttles the
+ * redraws, and bands in lazy construction mode are supported before and after
+ * their controls are made.
+ * <p>
+ * Each contribution is the response of the biquad design that realizes the
+ * filter at the DSP sample rate, and the designs come from a coefficient cache
+ * that is shared by all curves, so recalling a scene, toggling A/B or undoing
+ * only designs the filters whose parameters actually changed.
+ * <p>
+ * High Pass and Low Pass responses can optionally be computed off the JavaFX
+ * Application Thread, via a shared computation service, in which case the
+ * curve keeps showing the previous response until the new one arrives.
+ */
+public final class ParametricEqualizerCurve extends Pane {
+
+    // Declare default constants for the frequency grid and display range.
+    public static final int            NUMBER_OF_POINTS_DEFAULT  = 256;
+    public static final double         MAGNITUDE_RANGE_DEFAULT_DB = 24.0d;
+    public static final double         SAMPLE_RATE_DEFAULT_HZ    = 48000.0d;
+
+    // The designs of every curve's filters, shared so that repeated settings
+    // across channels and scene recalls are only ever designed once.
+    private static final FilterCoefficientCache COEFFICIENT_CACHE = new FilterCoefficientCache();
+
+    private static final double[]      DECADE_FREQUENCIES_HZ     = new double[] {
+                                                                                  100.0d,
+                                                                                  1000.0d,
+                                                                                  10000.0d };
+
+    // The shared log-frequency grid, and its display x-coordinates.
+    private final double[]             frequenciesHz;
+    private final double[]             xCoordinates;
+    private final double[]             yCoordinates;
+
+    // The DSP sample rate, and the cosines of the grid's digital frequencies.
+    private final double               sampleRateHz;
+    private final double[]             cosines;
+
+    // The cached contribution of each filter, and their sum, in dB.
+    private final double[][]           parametricMagnitudesDb;
+    private final double[]             highPassMagnitudesDb;
+    private final double[]             lowPassMagnitudesDb;
+    private final double[]             summedMagnitudesDb;
+
+    private final ParametricFilterControls[] parametricFilterControls;
+    private final HighLowPassFilterControls  highPassFilterControls;
+    private final HighLowPassFilterControls  lowPassFilterControls;
+
+    private final Canvas               canvas;
+
+    private double                     magnitudeRangeDb;
+    private Color                      curveColor;
+    private Color                      gridColor;
+
+    // Service for computing High/Low Pass responses off-thread, if any.
+    private FilterComputationService   computationService;
+
+    public ParametricEqualizerCurve( final ParametricFilterControls[] pParametricFilterControls,
+                                     final HighLowPassFilterControls pHighPassFilterControls,
+                                     final HighLowPassFilterControls pLowPassFilterControls ) {
+        this( pParametricFilterControls,
+              pHighPassFilterControls,
+              pLowPassFilterControls,
+              ParametricFilterControls.FREQUENCY_MINIMUM_HZ,
+              ParametricFilterControls.FREQUENCY_MAXIMUM_HZ,
+              NUMBER_OF_POINTS_DEFAULT );
+    }
+
+    public ParametricEqualizerCurve( final ParametricFilterControls[] pParametricFilterControls,
+                                     final HighLowPassFilterControls pHighPassFilterControls,
+                                     final HighLowPassFilterControls pLowPassFilterControls,
+                                     final double minimumFrequencyHz,
+                                     final double maximumFrequencyHz,
+                                     final int numberOfPoints ) {
+        this( pParametricFilterControls,
+              pHighPassFilterControls,
+              pLowPassFilterControls,
+              minimumFrequencyHz,
+              maximumFrequencyHz,
+              numberOfPoints,
+              SAMPLE_RATE_DEFAULT_HZ );
+    }
+
+    public ParametricEqualizerCurve( final ParametricFilterControls[] pParametricFilterControls,
+                                     final HighLowPassFilterControls pHighPassFilterControls,
+                                     final HighLowPassFilterControls pLowPassFilterControls,
+                                     final double minimumFrequencyHz,
+                                     final double maximumFrequencyHz,
+                                     final int numberOfPoints,
+                                     final double pSampleRateHz ) {
+        // Always call the superclass constructor first!
+        super();
+
+        parametricFilterControls = pParametricFilterControls;
+        highPassFilterControls = pHighPassFilterControls;
+        lowPassFilterControls = pLowPassFilterControls;
+
+        frequenciesHz = FilterResponseUtilities
+                .makeLogFrequencyGrid( minimumFrequencyHz, maximumFrequencyHz, numberOfPoints );
+        xCoordinates = new double[ numberOfPoints ];
+        yCoordinates = new double[ numberOfPoints ];
+
+        sampleRateHz = pSampleRateHz;
+        cosines = BiquadDesignUtilities.makeCosineGrid( frequenciesHz, sampleRateHz );
+
+        parametricMagnitudesDb = new double[ parametricFilterControls.length ][ numberOfPoints ];
+        highPassMagnitudesDb = new double[ numberOfPoints ];
+        lowPassMagnitudesDb = new double[ numberOfPoints ];
+        summedMagnitudesDb = new double[ numberOfPoints ];
+
+        magnitudeRangeDb = MAGNITUDE_RANGE_DEFAULT_DB;
+        curveColor = Color.DODGERBLUE;
+        gridColor = Color.GRAY;
+
+        computationService = FilterComputationService.getSharedInstance();
+
+        canvas = new Canvas();
+        getChildren().add( canvas );
+
+        // Compute every contribution once, then only on demand.
+        for ( int bandIndex = 0; bandIndex < parametricFilterControls.length; bandIndex++ ) {
+            updateParametricBand( bandIndex );
+        }
+        updateHighLowPass( highPassFilterControls, highPassMagnitudesDb );
+        updateHighLowPass( lowPassFilterControls, lowPassMagnitudesDb );
+        sumMagnitudes();
+
+        bindToControls();
+    }
+
+    private void bindToControls() {
+        for ( int i = 0; i < parametricFilterControls.length; i++ ) {
+            final int bandIndex = i;
+            parametricFilterControls[ bandIndex ]
+                    .addListener( observable -> bandChanged( bandIndex ) );
+        }
+
+        bindToHighLowPass( highPassFilterControls, highPassMagnitudesDb );
+        bindToHighLowPass( lowPassFilterControls, lowPassMagnitudesDb );
+    }
+
+    private void bindToHighLowPass( final HighLowPassFilterControls highLowPassFilterControls,
+                                    final double[] magnitudesDb ) {
+        if ( highLowPassFilterControls == null ) {
+            return;
+        }
+
+        highLowPassFilterControls._highLowPassFilterSelector
+                .addSelectionListener( ( observable, oldValue, newValue ) -> highLowPassChanged(
+                        highLowPassFilterControls,
+                        magnitudesDb ) );
+        highLowPassFilterControls._highLowPassCutoffFrequencyEditor
+                .addCommittedValueListener( ( observable, oldValue, newValue ) -> highLowPassChanged(
+                        highLowPassFilterControls,
+                        magnitudesDb ) );
+        highLowPassFilterControls._highLowPassToggleButton.selectedProperty()
+                .addListener( ( observable, oldValue, newValue ) -> highLowPassChanged(
+                        highLowPassFilterControls,
+                        magnitudesDb ) );
+    }
+
+    private void bandChanged( final int bandIndex ) {
+        updateParametricBand( bandIndex );
+        sumMagnitudes();
+        draw();
+    }
+
+    private void highLowPassChanged( final HighLowPassFilterControls highLowPassFilterControls,
+                                     final double[] magnitudesDb ) {
+        if ( computationService == null ) {
+            updateHighLowPass( highLowPassFilterControls, magnitudesDb );
+            sumMagnitudes();
+            draw();
+            return;
+        }
+
+        // Capture the current settings on this thread, as the worker thread
+        // must not touch the controls, and compute into a fresh array.
+        final HighLowPassFilterType highLowPassFilterType = getActiveFilterType(
+                highLowPassFilterControls );
+        final double cutoffFrequencyHz = highLowPassFilterControls._highLowPassCutoffFrequencyEditor
+                .getValue();
+        computationService.submit( highLowPassFilterControls, () -> {
+            final double[] computedMagnitudesDb = new double[ frequenciesHz.length ];
+            computeHighLowPass( highLowPassFilterType,
+                                cutoffFrequencyHz,
+                                computedMagnitudesDb );
+            return computedMagnitudesDb;
+        }, computedMagnitudesDb -> {
+            System.arraycopy( computedMagnitudesDb, 0, magnitudesDb, 0, magnitudesDb.length );
+            sumMagnitudes();
+            draw();
+        } );
+    }
+
+    // Recompute the cached contribution of a single Parametric Filter band.
+    private void updateParametricBand( final int bandIndex ) {
+        final ParametricFilterControls band = parametricFilterControls[ bandIndex ];
+        final double[] magnitudesDb = parametricMagnitudesDb[ bandIndex ];
+
+        final double gainDb = band.isBypassed() ? 0.0d : band.getGainDb();
+        final double centerFrequencyHz = band.getFrequencyHz();
+        final double qFactor = FilterResponseUtilities
+                .getQFactorFromOctaveBandwidth( band.getBandwidthOctaves() );
+
+        // A flat or degenerate filter contributes nothing, so skip the design.
+        if ( ( gainDb == 0.0d ) || !( centerFrequencyHz > 0.0d ) || !( qFactor > 0.0d ) ) {
+            for ( int i = 0; i < magnitudesDb.length; i++ ) {
+                magnitudesDb[ i ] = 0.0d;
+            }
+            return;
+        }
+
+        final double[] coefficients = COEFFICIENT_CACHE
+                .getParametricCoefficients( centerFrequencyHz, qFactor, gainDb, sampleRateHz );
+        BiquadDesignUtilities.computeMagnitudeDb( coefficients, cosines, magnitudesDb );
+    }
+
+    // Recompute the cached contribution of a High Pass or Low Pass filter.
+    private void updateHighLowPass( final HighLowPassFilterControls highLowPassFilterControls,
+                                    final double[] magnitudesDb ) {
+        final HighLowPassFilterType highLowPassFilterType = getActiveFilterType(
+                highLowPassFilterControls );
+        final double cutoffFrequencyHz = ( highLowPassFilterType == null )
+            ? 0.0d
+            : highLowPassFilterControls._highLowPassCutoffFrequencyEditor.getValue();
+        computeHighLowPass( highLowPassFilterType, cutoffFrequencyHz, magnitudesDb );
+    }
+
+    // Returns the selected filter type, or null if absent or bypassed.
+    private static HighLowPassFilterType getActiveFilterType(
+            final HighLowPassFilterControls highLowPassFilterControls ) {
+        // NOTE: "selected" means "bypassed" and "deselected" means "enabled".
+        if ( ( highLowPassFilterControls == null )
+                || highLowPassFilterControls._highLowPassToggleButton.isSelected() ) {
+            return null;
+        }
+        return highLowPassFilterControls._highLowPassFilterSelector.getFilterType();
+    }
+
+    // NOTE: This only reads the immutable frequency grid and the synchronized
+    //  coefficient cache, so it is safe to call from the computation service's
+    //  worker threads.
+    private void computeHighLowPass( final HighLowPassFilterType highLowPassFilterType,
+                                     final double cutoffFrequencyHz,
+                                     final double[] magnitudesDb ) {
+        if ( highLowPassFilterType == null ) {
+            for ( int i = 0; i < magnitudesDb.length; i++ ) {
+                magnitudesDb[ i ] = 0.0d;
+            }
+            return;
+        }
+
+        final double[] coefficients = COEFFICIENT_CACHE
+                .getHighLowPassCoefficients( highLowPassFilterType, cutoffFrequencyHz, sampleRateHz );
+        BiquadDesignUtilities.computeMagnitudeDb( coefficients, cosines, magnitudesDb );
+    }
+
+    // Re-sum the cached contributions; this is additions only, no math calls.
+    private void sumMagnitudes() {
+        for ( int i = 0; i < summedMagnitudesDb.length; i++ ) {
+            summedMagnitudesDb[ i ] = highPassMagnitudesDb[ i ] + lowPassMagnitudesDb[ i ];
+        }
+        for ( final double[] magnitudesDb : parametricMagnitudesDb ) {
+            for ( int i = 0; i < summedMagnitudesDb.length; i++ ) {
+                summedMagnitudesDb[ i ] += magnitudesDb[ i ];
+            }
+        }
+    }
+
+    @Override
+    protected void layoutChildren() {
+        final double width = getWidth();
+        final double height = getHeight();
+        if ( ( canvas.getWidth() != width ) || ( canvas.getHeight() != height ) ) {
+            canvas.setWidth( width );
+            canvas.setHeight( height );
+
+            // The x-coordinates only depend on the width, so cache them here.
+            final double logMinimum = Math.log( frequenciesHz[ 0 ] );
+            final double logRange = Math.log( frequenciesHz[ frequenciesHz.length - 1 ] )
+                    - logMinimum;
+            for ( int i = 0; i < frequenciesHz.length; i++ ) {
+                xCoordinates[ i ] = ( width * ( Math.log( frequenciesHz[ i ] ) - logMinimum ) )
+                        / logRange;
+            }
+
+            // Redraw whenever the layout changes our size.
+            draw();
+        }
+    }
+
+    // Draw the grid and the summed response curve.
+    private void draw() {
+        final double width = canvas.getWidth();
+        final double height = canvas.getHeight();
+        final GraphicsContext graphicsContext = canvas.getGraphicsContext2D();
+        graphicsContext.clearRect( 0.0d, 0.0d, width, height );
+        if ( ( width <= 0.0d ) || ( height <= 0.0d ) ) {
+            return;
+        }
+
+        final double centerY = 0.5d * height;
+        final double pixelsPerDb = centerY / magnitudeRangeDb;
+
+        // Draw the 0 dB line and the decade lines.
+        graphicsContext.setStroke( gridColor );
+        graphicsContext.setLineWidth( 0.5d );
+        graphicsContext.strokeLine( 0.0d, centerY, width, centerY );
+        final double logMinimum = Math.log( frequenciesHz[ 0 ] );
+        final double logRange = Math.log( frequenciesHz[ frequenciesHz.length - 1 ] )
+                - logMinimum;
+        for ( final double decadeFrequencyHz : DECADE_FREQUENCIES_HZ ) {
+            final double x = ( width * ( Math.log( decadeFrequencyHz ) - logMinimum ) ) / logRange;
+            if ( ( x > 0.0d ) && ( x < width ) ) {
+                graphicsContext.strokeLine( x, 0.0d, x, height );
+            }
+        }
+
+        // Draw the summed response, clamped to the visible range.
+        for ( int i = 0; i < summedMagnitudesDb.length; i++ ) {
+            final double magnitudeDb = Math.max( -magnitudeRangeDb,
+                                                 Math.min( magnitudeRangeDb,
+                                                           summedMagnitudesDb[ i ] ) );
+            yCoordinates[ i ] = centerY - ( magnitudeDb * pixelsPerDb );
+        }
+        graphicsContext.setStroke( curveColor );
+        graphicsContext.setLineWidth( 1.5d );
+        graphicsContext.strokePolyline( xCoordinates, yCoordinates, xCoordinates.length );
+    }
+
+    /**
+     * Returns the summed magnitude response on the shared frequency grid.
+     * <p>
+     * NOTE: This is the live cache, so callers must not modify its contents.
+     *
+     * @return The summed magnitude response, in dB
+     */
+    public double[] getSummedMagnitudesDb() {
+        return summedMagnitudesDb;
+    }
+
+    /**
+     * Returns the shared log-frequency grid the responses are sampled on.
+     * <p>
+     * NOTE: This is the live grid, so callers must not modify its contents.
+     *
+     * @return The shared log-frequency grid, in Hz
+     */
+    public double[] getFrequenciesHz() {
+        return frequenciesHz;
+    }
+
+    public double getMagnitudeRangeDb() {
+        return magnitudeRangeDb;
+    }
+
+    public void setMagnitudeRangeDb( final double pMagnitudeRangeDb ) {
+        magnitudeRangeDb = pMagnitudeRangeDb;
+        draw();
+    }
+
+    public void setCurveColor( final Color pCurveColor ) {
+        curveColor = pCurveColor;
+        draw();
+    }
+
+    public double getSampleRateHz() {
+        return sampleRateHz;
+    }
+
+    /**
+     * Returns the coefficient cache shared by all curves, such as for reading
+     * its hit, miss and eviction statistics.
+     *
+     * @return The shared coefficient cache
+     */
+    public static FilterCoefficientCache getCoefficientCache() {
+        return COEFFICIENT_CACHE;
+    }
+
+    public FilterComputationService getComputationService() {
+        return computationService;
+    }
+
+    /**
+     * Sets the service for computing High Pass and Low Pass responses off the
+     * JavaFX Application Thread, or null to compute them synchronously. The
+     * shared service is used unless another one is set.
+     *
+     * @param pComputationService
+     *            The computation service to use, or null for none
+     */
+    public void setComputationService( final FilterComputationService pComputationService ) {
+        computationService = pComputationService;
+    }
+
+    public void setGridColor( final Color pGridColor ) {
+        gridColor = pGridColor;
+        draw();
+    }
+}
@@ -30,11 +30,32 @@
  */
 package com.mhschmieder.fxsigproccontrols.control;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 import com.mhschmieder.fxcontrols.control.DoubleEditor;
+import com.mhschmieder.fxsigproccontrols.util.SigprocEvents;
 import com.mhschmieder.jcommons.util.ClientProperties;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
 import javafx.scene.control.ToggleButton;
 
-public final class ParametricFilterControls {
+/**
+ * The controls for a single Parametric Filter band.
+ * <p>
+ * In lazy construction mode, the toggle button and editors are not made until
+ * the group is first revealed via {@link #setGroupVisible(boolean)} (or via an
+ * explicit call to {@link #materialize()}); until then the values live in
+ * plain fields, and the public control fields are null. Clients that lay out
+ * the controls should register a materialization handler to add the controls
+ * to their layout at that time.
+ * <p>
+ * Either way, clients that only need the values should use the accessors and
+ * listen to this object, as those work regardless of materialization.
+ */
+public final class ParametricFilterControls implements Observable {
 
     // Declare default constants, where appropriate, for all fields.
     // NOTE: The bandwidth values may not follow common conventions.
@@ -62,32 +83,246 @@ public final class ParametricFilterControls {
     public DoubleEditor           _bandwidthEditor;
     public GainEditor             _gainEditor;
 
+    private final ClientProperties _clientProperties;
+    private final int              _filterNumber;
+
+    // The channel to tag the controls with, for flight recorder events.
+    private int                    _eventChannel;
+
+    // Lightweight value holder, used until the controls are materialized.
+    private double                 _frequencyHz;
+    private double                 _bandwidthOctaves;
+    private double                 _gainDb;
+    private boolean                _bypassed;
+    private boolean                _groupVisible;
+
+    private boolean                _materialized;
+
+    private List< InvalidationListener >          _listeners;
+    private Consumer< ParametricFilterControls > _materializationHandler;
+
     public ParametricFilterControls( final ClientProperties clientProperties,
                                      final int filterNumber ) {
+        this( clientProperties, filterNumber, false );
+    }
+
+    public ParametricFilterControls( final ClientProperties clientProperties,
+                                     final int filterNumber,
+                                     final boolean lazyConstruction ) {
+        _clientProperties = clientProperties;
+        _filterNumber = filterNumber;
+        _eventChannel = SigprocEvents.UNKNOWN_IDENTIFIER;
+
+        _frequencyHz = DEFAULT_FREQUENCIES[ filterNumber - 1 ];
+        _bandwidthOctaves = 1.0d;
+        _gainDb = 0.0d;
+        _bypassed = false;
+        _groupVisible = !lazyConstruction;
+
+        _materialized = false;
+
+        if ( !lazyConstruction ) {
+            materialize();
+        }
+    }
+
+    /**
+     * Makes the toggle button and editors, if not already made, initializing
+     * them from the held values and notifying the materialization handler.
+     */
+    public void materialize() {
+        if ( _materialized ) {
+            return;
+        }
+        _materialized = true;
+
         _filterToggleButton = SigprocLabeledControlFactory
-                .getSingleFilterToggleButton( filterNumber, true, false );
+                .getSingleFilterToggleButton( _filterNumber, true, _bypassed );
 
         _frequencyEditor = SigprocControlFactory
-                .getFrequencyEditor( clientProperties,
+                .getFrequencyEditor( _clientProperties,
                                      "Parametric Filter Center Frequency",
                                      " Hz",
                                      FREQUENCY_MINIMUM_HZ,
                                      FREQUENCY_MAXIMUM_HZ,
-                                     DEFAULT_FREQUENCIES[ filterNumber - 1 ],
+                                     _frequencyHz,
                                      1000.0d,
                                      2 );
         _frequencyEditor.setValueIncrement( 0.1d );
 
-        _bandwidthEditor = SigprocControlFactory.getBandwidthEditor( clientProperties,
+        _bandwidthEditor = SigprocControlFactory.getBandwidthEditor( _clientProperties,
                                                                        BANDWIDTH_MINIMUM_OCTAVES,
                                                                        BANDWIDTH_MAXIMUM_OCTAVES,
-                                                                       1 );
+                                                                       _bandwidthOctaves );
 
-        _gainEditor = SigprocControlFactory.getGainEditor( clientProperties,
+        _gainEditor = SigprocControlFactory.getGainEditor( _clientProperties,
                                                              " dB",
                                                              GAIN_MINIMUM_DB,
                                                              GAIN_MAXIMUM_DB,
                                                              0.0d,
                                                              true );
+
+        // NOTE: The held gain is pushed in rather than edited, so it must not
+        //  be recorded as an edit.
+        _gainEditor.setRecordingEnabled( false );
+        _gainEditor.setValue( _gainDb );
+        _gainEditor.setRecordingEnabled( true );
+
+        // Forward all control changes to our own listeners.
+        final InvalidationListener forwardingListener = observable -> fireInvalidated();
+        _filterToggleButton.selectedProperty().addListener( forwardingListener );
+        _bandwidthEditor.valueProperty().addListener( forwardingListener );
+
+        // NOTE: The committed value listeners follow the raw values, and only
+        //  move to a coalescer if coalescing is turned on for that editor.
+        final ChangeListener< Number > committedValueListener =
+                ( observable, oldValue, newValue ) -> fireInvalidated();
+        _frequencyEditor.addCommittedValueListener( committedValueListener );
+        _gainEditor.addCommittedValueListener( committedValueListener );
+
+        applyEventIdentifiers();
+        applyGroupVisible();
+
+        if ( _materializationHandler != null ) {
+            _materializationHandler.accept( this );
+        }
+    }
+
+    public boolean isMaterialized() {
+        return _materialized;
+    }
+
+    /**
+     * Sets the handler that is called once the controls have been made, so
+     * that the owner can add them to its layout.
+     *
+     * @param materializationHandler
+     *            The handler to call once the controls have been made
+     */
+    public void setMaterializationHandler( final Consumer< ParametricFilterControls > materializationHandler ) {
+        _materializationHandler = materializationHandler;
+    }
+
+    public void setGroupVisible( final boolean visible ) {
+        _groupVisible = visible;
+
+        // The first reveal is what triggers lazy construction.
+        if ( visible && !_materialized ) {
+            materialize();
+            return;
+        }
+
+        applyGroupVisible();
+    }
+
+    public boolean isGroupVisible() {
+        return _groupVisible;
+    }
+
+    private void applyGroupVisible() {
+        if ( !_materialized ) {
+            return;
+        }
+        _filterToggleButton.setVisible( _groupVisible );
+        _frequencyEditor.setVisible( _groupVisible );
+        _bandwidthEditor.setVisible( _groupVisible );
+        _gainEditor.setVisible( _groupVisible );
+    }
+
+    // Tag the controls with their channel, for flight recorder events.
+    public void setEventChannel( final int eventChannel ) {
+        _eventChannel = eventChannel;
+
+        if ( _materialized ) {
+            applyEventIdentifiers();
+        }
+    }
+
+    private void applyEventIdentifiers() {
+        SigprocEvents.setIdentifiers( _filterToggleButton, _eventChannel, _filterNumber );
+        SigprocEvents.setIdentifiers( _frequencyEditor, _eventChannel, _filterNumber );
+        SigprocEvents.setIdentifiers( _bandwidthEditor, _eventChannel, _filterNumber );
+        SigprocEvents.setIdentifiers( _gainEditor, _eventChannel, _filterNumber );
+    }
+
+    public int getFilterNumber() {
+        return _filterNumber;
+    }
+
+    public double getFrequencyHz() {
+        return _materialized ? _frequencyEditor.getValue() : _frequencyHz;
+    }
+
+    public void setFrequencyHz( final double frequencyHz ) {
+        if ( _materialized ) {
+            _frequencyEditor.setValue( frequencyHz );
+            return;
+        }
+        _frequencyHz = frequencyHz;
+        fireInvalidated();
+    }
+
+    public double getBandwidthOctaves() {
+        return _materialized ? _bandwidthEditor.getValue() : _bandwidthOctaves;
+    }
+
+    public void setBandwidthOctaves( final double bandwidthOctaves ) {
+        if ( _materialized ) {
+            _bandwidthEditor.setValue( bandwidthOctaves );
+            return;
+        }
+        _bandwidthOctaves = bandwidthOctaves;
+        fireInvalidated();
+    }
+
+    public double getGainDb() {
+        return _materialized ? _gainEditor.getValue() : _gainDb;
+    }
+
+    public void setGainDb( final double gainDb ) {
+        if ( _materialized ) {
+            _gainEditor.setValue( gainDb );
+            return;
+        }
+        _gainDb = gainDb;
+        fireInvalidated();
+    }
+
+    // NOTE: "bypassed" corresponds to the toggle button being selected.
+    public boolean isBypassed() {
+        return _materialized ? _filterToggleButton.isSelected() : _bypassed;
+    }
+
+    public void setBypassed( final boolean bypassed ) {
+        if ( _materialized ) {
+            _filterToggleButton.setSelected( bypassed );
+            return;
+        }
+        _bypassed = bypassed;
+        fireInvalidated();
+    }
+
+    @Override
+    public void addListener( final InvalidationListener listener ) {
+        if ( _listeners == null ) {
+            _listeners = new ArrayList<>( 2 );
+        }
+        _listeners.add( listener );
+    }
+
+    @Override
+    public void removeListener( final InvalidationListener listener ) {
+        if ( _listeners != null ) {
+            _listeners.remove( listener );
+        }
+    }
+
+    private void fireInvalidated() {
+        if ( _listeners == null ) {
+            return;
+        }
+        for ( int i = 0; i < _listeners.size(); i++ ) {
+            _listeners.get( i ).invalidated( this );
+        }
     }
 }
@@ -153,4 +153,21 @@ public final class SigprocControlFactory {
 
         return gainEditor;
     }
+
+    // Helper method to get a bounded pool of Master Level Settings Controls.
+    public static ControlGroupPool< MasterLevelSettingsControls > getMasterLevelSettingsControlsPool(
+            final ClientProperties clientProperties,
+            final boolean defaultToNegativeGain,
+            final boolean channelStripContext,
+            final int capacity ) {
+        final ControlGroupPool< MasterLevelSettingsControls > pool =
+                new ControlGroupPool<>( () -> new MasterLevelSettingsControls( clientProperties,
+                                                                               defaultToNegativeGain,
+                                                                               channelStripContext ),
+                                        MasterLevelSettingsControls::unbindFromModel,
+                                        MasterLevelSettingsControls::dispose,
+                                        capacity );
+
+        return pool;
+    }
 }
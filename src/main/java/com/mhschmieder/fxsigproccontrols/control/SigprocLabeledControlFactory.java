@@ -31,6 +31,8 @@
 package com.mhschmieder.fxsigproccontrols.control;
 
 import com.mhschmieder.fxcontrols.control.XToggleButton;
+import com.mhschmieder.fxsigproccontrols.util.SigprocEvents;
+import com.mhschmieder.fxsigproccontrols.util.SigprocLabelRegistry;
 import javafx.scene.control.OverrunStyle;
 import javafx.scene.control.ToggleButton;
 
@@ -44,6 +46,15 @@ public class SigprocLabeledControlFactory {
      */
     private SigprocLabeledControlFactory() {}
 
+    // NOTE: The toggle buttons are made on every channel with the same few
+    //  tooltip texts, so they are built without tooltip text (and so without
+    //  a private tooltip of their own) and get the one shared tooltip for
+    //  their text installed here instead.
+    private static void shareTooltip( final ToggleButton toggleButton,
+                                      final String tooltipText ) {
+        toggleButton.setTooltip( SigprocLabelRegistry.getTooltip( tooltipText ) );
+    }
+
 
     public static XToggleButton getPolarityToggleButton( final boolean applyAspectRatio,
                                                          final boolean selected ) {
@@ -55,12 +66,13 @@ public class SigprocLabeledControlFactory {
         // auto-selects the foreground for text fill; we use a custom fill.
         final XToggleButton toggleButton = new XToggleButton( selectedText,
                                                               deselectedText,
-                                                              tooltipText,
+                                                              null,
                                                               "polarity-toggle", //$NON-NLS-1$
                                                               applyAspectRatio,
                                                               3.0d,
                                                               false,
                                                               selected );
+        shareTooltip( toggleButton, tooltipText );
 
         return toggleButton;
     }
@@ -75,12 +87,13 @@ public class SigprocLabeledControlFactory {
         // auto-selects the foreground for text fill; we use a custom fill.
         final XToggleButton toggleButton = new XToggleButton( selectedText,
                                                               deselectedText,
-                                                              tooltipText,
+                                                              null,
                                                               "mute-toggle", //$NON-NLS-1$
                                                               applyAspectRatio,
                                                               3.0d,
                                                               false,
                                                               selected );
+        shareTooltip( toggleButton, tooltipText );
 
         return toggleButton;
     }
@@ -99,12 +112,14 @@ public class SigprocLabeledControlFactory {
         // NOTE: "selected" means "bypassed" and "deselected" means "enabled".
         final XToggleButton toggleButton = new XToggleButton( selectedText,
                                                               deselectedText,
-                                                              tooltipText,
+                                                              null,
                                                               "bypass-toggle",
                                                               applyAspectRatio,
                                                               aspectRatio,
                                                               wordWrap,
                                                               selected );
+        shareTooltip( toggleButton, tooltipText );
+        SigprocEvents.recordBypassToggles( toggleButton );
     
         return toggleButton;
     }
@@ -113,8 +128,8 @@ public class SigprocLabeledControlFactory {
     public static ToggleButton getSingleFilterToggleButton( final int filterNumber,
                                                             final boolean applyAspectRatio,
                                                             final boolean selected ) {
-        final String selectedText = filterNumber + " Bypassed"; //$NON-NLS-1$
-        final String deselectedText = filterNumber + " Enabled"; //$NON-NLS-1$
+        final String selectedText = SigprocLabelRegistry.getFilterNumberLabel( filterNumber, true );
+        final String deselectedText = SigprocLabelRegistry.getFilterNumberLabel( filterNumber, false );
         final String tooltipText = "Bypass/Enable Filter"; //$NON-NLS-1$
     
         // NOTE: JavaFX CSS automatically darkens unselected buttons, and
@@ -165,7 +180,7 @@ public class SigprocLabeledControlFactory {
                                                             final boolean selected ) {
         final String selectedText = "Bypassed"; //$NON-NLS-1$
         final String deselectedText = "Enabled"; //$NON-NLS-1$
-        final String tooltipText = "Bypass/Enable " + filterName + " Filter"; //$NON-NLS-1$ //$NON-NLS-2$
+        final String tooltipText = SigprocLabelRegistry.getFilterTooltipText( filterName );
     
         // NOTE: JavaFX CSS automatically darkens unselected buttons, and
         // auto-selects the foreground for text fill, but we mimic legacy apps.
@@ -196,9 +211,9 @@ public class SigprocLabeledControlFactory {
                                                        final double aspectRatio,
                                                        final boolean wordWrap,
                                                        final boolean selected ) {
-        final String selectedText = filterName + " Bypassed"; //$NON-NLS-1$
-        final String deselectedText = filterName + " Enabled"; //$NON-NLS-1$
-        final String tooltipText = "Bypass/Enable " + filterName + " Filter"; //$NON-NLS-1$ //$NON-NLS-2$
+        final String selectedText = SigprocLabelRegistry.getFilterNameLabel( filterName, true );
+        final String deselectedText = SigprocLabelRegistry.getFilterNameLabel( filterName, false );
+        final String tooltipText = SigprocLabelRegistry.getFilterTooltipText( filterName );
     
         // NOTE: JavaFX CSS automatically darkens unselected buttons, and
         // auto-selects the foreground for text fill, but we mimic legacy apps.
@@ -33,6 +33,7 @@ package com.mhschmieder.fxsigproccontrols.control.cell;
 import com.mhschmieder.fxcontrols.control.cell.DoubleEditorTableCell;
 import com.mhschmieder.fxsigproccontrols.control.FrequencyEditor;
 import com.mhschmieder.fxsigproccontrols.control.SigprocControlFactory;
+import com.mhschmieder.fxsigproccontrols.util.FixedPrecisionFormatter;
 import com.mhschmieder.jcommons.util.ClientProperties;
 import com.mhschmieder.jmath.MathUtilities;
 import javafx.scene.control.TextField;
@@ -47,6 +48,12 @@ public class FrequencyEditorTableCell< RT, VT > extends DoubleEditorTableCell< R
     
     // Declare default value for number of decimal places precision (when active).
     public static final int NUMBER_OF_DECIMAL_PLACES_DEFAULT = 1;
+
+    // Shared display formatter, including the measurement unit, so that
+    // refreshing large tables of mostly standard frequencies allocates almost
+    // nothing; all cell updates happen on the JavaFX Application Thread.
+    private static final FixedPrecisionFormatter DISPLAY_FORMATTER =
+            new FixedPrecisionFormatter( " Hz" ); //$NON-NLS-1$
     
     /**
      * Precision cutoff frequency for using integers vs. decimal places.
@@ -93,7 +100,8 @@ public class FrequencyEditorTableCell< RT, VT > extends DoubleEditorTableCell< R
         frequencyEditor.setPrecisionCutoffFrequencyHz( pPrecisionCutoffFrequencyHz );
         frequencyEditor.setNumberOfDecimalPlaces( pNumberOfDecimalPlaces );
         
-        // NOTE: For now, we don't support conversion to and from kHz.
+        // NOTE: Values are always displayed in Hz, but kHz shorthand can be
+        //  typed or pasted, as the Frequency Editor converts it when parsing.
         setMeasurementUnit( " Hz" );
     }
 
@@ -134,4 +142,18 @@ public class FrequencyEditorTableCell< RT, VT > extends DoubleEditorTableCell< R
             : MathUtilities.roundDecimal( doubleValue, numberOfDecimalPlaces );
         return precisionAdjustedValue;
     }
+
+    @Override
+    protected void updateItem( final Double item, final boolean empty ) {
+        super.updateItem( item, empty );
+
+        // Replace the generic display text with the precision-adjusted text,
+        // unless editing, or there is nothing valid to display.
+        if ( empty || isEditing() || ( item == null ) || item.isNaN() || item.isInfinite() ) {
+            return;
+        }
+        setText( DISPLAY_FORMATTER.formatFrequency( item.doubleValue(),
+                                                    precisionCutoffFrequencyHz,
+                                                    numberOfDecimalPlaces ) );
+    }
 }
@@ -0,0 +1,303 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.control.cell;
+
+import org.apache.commons.math3.util.FastMath;
+
+import com.mhschmieder.fxsigproccontrols.control.FrequencyEditor;
+import com.mhschmieder.fxsigproccontrols.control.SigprocControlFactory;
+import com.mhschmieder.fxsigproccontrols.util.FixedPrecisionFormatter;
+import com.mhschmieder.fxsigproccontrols.util.FrequencyParser;
+import com.mhschmieder.jcommons.util.ClientProperties;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.util.Callback;
+
+/**
+ * A frequency table cell for very large tables, which renders as plain text
+ * and borrows a single Frequency Editor, shared by every cell in the column,
+ * only while it is being edited.
+ * <p>
+ * Compared to {@link FrequencyEditorTableCell}, which makes a full Frequency
+ * Editor for every cell instance, this cuts the node count and the per-cell
+ * CSS work by an order of magnitude for tables of many thousands of rows, at
+ * the cost of fewer per-cell customization options.
+ * <p>
+ * Use {@link #forTableColumn(ClientProperties, boolean, double, int)} to get a
+ * cell factory, as the shared editor is made once per cell factory.
+ *
+ * @param <RT>
+ *            The type of the table rows
+ */
+public class SharedFrequencyEditorTableCell< RT > extends TableCell< RT, Double > {
+
+    // Shared display formatter; all cell updates are on the FX thread.
+    // NOTE: This uses the same US number symbols as the Frequency Parser, so
+    //  that the text loaded into the shared editor can always be committed.
+    private static final FixedPrecisionFormatter DISPLAY_FORMATTER =
+            new FixedPrecisionFormatter( " Hz" ); //$NON-NLS-1$
+
+    // Maximum number of decimal places to show in the editor while editing.
+    private static final int                     EDITING_DECIMAL_PLACES = 4;
+
+    /**
+     * The single editor shared by all cells made by the same cell factory.
+     */
+    protected final SharedEditor                 sharedEditor;
+
+    /**
+     * Whether a blank entry is committed as a null value vs. being rejected.
+     */
+    protected final boolean                      allowedToBeBlank;
+
+    /**
+     * Precision cutoff frequency for using integers vs. decimal places.
+     */
+    protected final double                       precisionCutoffFrequencyHz;
+
+    /**
+     * The number of decimal places to use for display purposes, when active.
+     */
+    protected final int                          numberOfDecimalPlaces;
+
+    public SharedFrequencyEditorTableCell( final SharedEditor pSharedEditor,
+                                           final boolean pAllowedToBeBlank,
+                                           final double pPrecisionCutoffFrequencyHz,
+                                           final int pNumberOfDecimalPlaces ) {
+        // Always call the superclass constructor first!
+        super();
+
+        sharedEditor = pSharedEditor;
+        allowedToBeBlank = pAllowedToBeBlank;
+        precisionCutoffFrequencyHz = pPrecisionCutoffFrequencyHz;
+        numberOfDecimalPlaces = pNumberOfDecimalPlaces;
+    }
+
+    /**
+     * Returns a cell factory whose cells all share a single Frequency Editor.
+     *
+     * @param clientProperties
+     *            The Client Properties to use for the shared editor
+     * @param allowedToBeBlank
+     *            true if blank entries should be committed as null values
+     * @param precisionCutoffFrequencyHz
+     *            The frequency at and above which integers are displayed
+     * @param numberOfDecimalPlaces
+     *            The number of decimal places to display below the cutoff
+     * @param <RT>
+     *            The type of the table rows
+     * @return A cell factory for a frequency column of a large table
+     */
+    public static < RT > Callback< TableColumn< RT, Double >, TableCell< RT, Double > > forTableColumn(
+            final ClientProperties clientProperties,
+            final boolean allowedToBeBlank,
+            final double precisionCutoffFrequencyHz,
+            final int numberOfDecimalPlaces ) {
+        final SharedEditor sharedEditor = new SharedEditor( clientProperties,
+                                                            precisionCutoffFrequencyHz,
+                                                            numberOfDecimalPlaces );
+        return tableColumn -> new SharedFrequencyEditorTableCell<>( sharedEditor,
+                                                                    allowedToBeBlank,
+                                                                    precisionCutoffFrequencyHz,
+                                                                    numberOfDecimalPlaces );
+    }
+
+    @Override
+    public void startEdit() {
+        final TableView< RT > tableView = getTableView();
+        final TableColumn< RT, Double > tableColumn = getTableColumn();
+        if ( !isEditable() || ( tableView == null ) || !tableView.isEditable()
+                || ( tableColumn == null ) || !tableColumn.isEditable() ) {
+            return;
+        }
+
+        super.startEdit();
+        if ( !isEditing() ) {
+            return;
+        }
+
+        // Move the shared editor into this cell, loaded with our value.
+        final Double item = getItem();
+        sharedEditor.attach( this,
+                             ( item == null )
+                                 ? ""  //$NON-NLS-1$
+                                 : DISPLAY_FORMATTER.format( item.doubleValue(),
+                                                             EDITING_DECIMAL_PLACES,
+                                                             false ) );
+        setText( null );
+        setGraphic( sharedEditor.frequencyEditor );
+        sharedEditor.frequencyEditor.selectAll();
+        sharedEditor.frequencyEditor.requestFocus();
+    }
+
+    @Override
+    public void cancelEdit() {
+        super.cancelEdit();
+        sharedEditor.detach( this );
+        render( getItem(), isEmpty() );
+    }
+
+    @Override
+    public void commitEdit( final Double newValue ) {
+        super.commitEdit( newValue );
+        sharedEditor.detach( this );
+    }
+
+    @Override
+    protected void updateItem( final Double item, final boolean empty ) {
+        super.updateItem( item, empty );
+
+        // While this cell is editing, it keeps showing the shared editor.
+        if ( isEditing() && ( sharedEditor.ownerCell == this ) ) {
+            return;
+        }
+        render( item, empty );
+    }
+
+    // Render the cell as plain text; no editor is attached.
+    private void render( final Double item, final boolean empty ) {
+        setGraphic( null );
+        if ( empty || ( item == null ) ) {
+            setText( null );
+        }
+        else if ( item.isNaN() || item.isInfinite() ) {
+            setText( "N/A" ); //$NON-NLS-1$
+        }
+        else {
+            setText( DISPLAY_FORMATTER.formatFrequency( item.doubleValue(),
+                                                        precisionCutoffFrequencyHz,
+                                                        numberOfDecimalPlaces ) );
+        }
+    }
+
+    // Commit the shared editor's text, if valid; otherwise cancel the edit.
+    void commitFromEditor() {
+        final String editorText = sharedEditor.frequencyEditor.getText();
+        if ( ( editorText == null ) || editorText.trim().isEmpty() ) {
+            if ( allowedToBeBlank ) {
+                commitEdit( null );
+            }
+            else {
+                cancelEdit();
+            }
+            return;
+        }
+
+        final double frequencyHz = FrequencyParser.parseFrequencyHz( editorText );
+        if ( Double.isNaN( frequencyHz ) ) {
+            cancelEdit();
+            return;
+        }
+
+        // Out-of-range entries are clamped to the editor's range, as they
+        // would be by the per-cell Frequency Editor.
+        final FrequencyEditor frequencyEditor = sharedEditor.frequencyEditor;
+        final double clampedFrequencyHz = FastMath.max( frequencyEditor.getMinimumValue(),
+                                                        FastMath.min( frequencyEditor
+                                                                .getMaximumValue(),
+                                                                      frequencyHz ) );
+        final double adjustedFrequencyHz = frequencyEditor.adjustPrecision( clampedFrequencyHz );
+        commitEdit( Double.valueOf( adjustedFrequencyHz ) );
+    }
+
+    /**
+     * The single Frequency Editor shared by all cells of a cell factory, and
+     * the cell it is currently attached to, if any. The editor's event
+     * handlers are installed once and dispatch to whichever cell owns it.
+     */
+    public static final class SharedEditor {
+
+        final FrequencyEditor                      frequencyEditor;
+
+        SharedFrequencyEditorTableCell< ? >        ownerCell;
+
+        public SharedEditor( final ClientProperties clientProperties,
+                             final double precisionCutoffFrequencyHz,
+                             final int numberOfDecimalPlaces ) {
+            frequencyEditor = SigprocControlFactory.getFrequencyEditor( clientProperties,
+                                                                        "", //$NON-NLS-1$
+                                                                        " Hz", //$NON-NLS-1$
+                                                                        0.0d,
+                                                                        200000.0d,
+                                                                        0.0d,
+                                                                        precisionCutoffFrequencyHz,
+                                                                        numberOfDecimalPlaces );
+
+            // In the table cell context, it is best to say "N/A" if NaN is
+            // encountered, as with the per-cell Frequency Editor variant.
+            frequencyEditor.setErrorText( "N/A" ); //$NON-NLS-1$
+
+            ownerCell = null;
+
+            frequencyEditor.setOnAction( event -> {
+                if ( ownerCell != null ) {
+                    ownerCell.commitFromEditor();
+                }
+                event.consume();
+            } );
+            frequencyEditor.addEventFilter( KeyEvent.KEY_PRESSED, keyEvent -> {
+                if ( ( keyEvent.getCode() == KeyCode.ESCAPE ) && ( ownerCell != null ) ) {
+                    ownerCell.cancelEdit();
+                    keyEvent.consume();
+                }
+            } );
+            frequencyEditor.focusedProperty()
+                    .addListener( ( observable, wasFocused, isFocused ) -> {
+                        if ( !isFocused && ( ownerCell != null ) && ownerCell.isEditing() ) {
+                            ownerCell.commitFromEditor();
+                        }
+                    } );
+        }
+
+        void attach( final SharedFrequencyEditorTableCell< ? > cell, final String text ) {
+            // Another cell may still hold the editor, if it was recycled
+            // mid-edit; take the editor back from it first.
+            if ( ( ownerCell != null ) && ( ownerCell != cell ) ) {
+                ownerCell.setGraphic( null );
+            }
+            ownerCell = cell;
+            frequencyEditor.setText( text );
+        }
+
+        void detach( final SharedFrequencyEditorTableCell< ? > cell ) {
+            if ( ownerCell == cell ) {
+                ownerCell = null;
+            }
+        }
+
+        public FrequencyEditor getFrequencyEditor() {
+            return frequencyEditor;
+        }
+    }
+}
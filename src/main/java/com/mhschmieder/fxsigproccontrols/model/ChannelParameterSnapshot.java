@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.model;
+
+import com.mhschmieder.jsigproc.filter.HighLowPassFilterType;
+
+/**
+ * An immutable, primitive-valued snapshot of one channel's processing
+ * parameters, for consumption by real-time audio threads.
+ * <p>
+ * Snapshots are made on the writer side and published by a single volatile
+ * reference write, so readers see either the whole of one snapshot or the
+ * whole of another, never a mix; reading never locks, spins or allocates.
+ * The band arrays are private and only exposed by index, so that no reader
+ * can corrupt a snapshot that other readers share.
+ */
+public final class ChannelParameterSnapshot {
+
+    private final long                  sequenceNumber;
+
+    private final double                gainDb;
+    private final boolean               muted;
+    private final boolean               polarityReversed;
+
+    private final HighLowPassFilterType highPassFilterType;
+    private final double                highPassCutoffFrequencyHz;
+    private final boolean               highPassBypassed;
+
+    private final HighLowPassFilterType lowPassFilterType;
+    private final double                lowPassCutoffFrequencyHz;
+    private final boolean               lowPassBypassed;
+
+    private final double[]              bandFrequenciesHz;
+    private final double[]              bandBandwidthsOctaves;
+    private final double[]              bandGainsDb;
+    private final boolean[]             bandsBypassed;
+
+    // NOTE: The band arrays are copied, so that later changes by the caller
+    //  cannot leak into a snapshot that readers may already be using.
+    public ChannelParameterSnapshot( final long pSequenceNumber,
+                              final double pGainDb,
+                              final boolean pMuted,
+                              final boolean pPolarityReversed,
+                              final HighLowPassFilterType pHighPassFilterType,
+                              final double pHighPassCutoffFrequencyHz,
+                              final boolean pHighPassBypassed,
+                              final HighLowPassFilterType pLowPassFilterType,
+                              final double pLowPassCutoffFrequencyHz,
+                              final boolean pLowPassBypassed,
+                              final double[] pBandFrequenciesHz,
+                              final double[] pBandBandwidthsOctaves,
+                              final double[] pBandGainsDb,
+                              final boolean[] pBandsBypassed ) {
+        sequenceNumber = pSequenceNumber;
+        gainDb = pGainDb;
+        muted = pMuted;
+        polarityReversed = pPolarityReversed;
+        highPassFilterType = pHighPassFilterType;
+        highPassCutoffFrequencyHz = pHighPassCutoffFrequencyHz;
+        highPassBypassed = pHighPassBypassed;
+        lowPassFilterType = pLowPassFilterType;
+        lowPassCutoffFrequencyHz = pLowPassCutoffFrequencyHz;
+        lowPassBypassed = pLowPassBypassed;
+        bandFrequenciesHz = pBandFrequenciesHz.clone();
+        bandBandwidthsOctaves = pBandBandwidthsOctaves.clone();
+        bandGainsDb = pBandGainsDb.clone();
+        bandsBypassed = pBandsBypassed.clone();
+    }
+
+    /**
+     * Returns the publication sequence number, which increases by one with
+     * each published snapshot, so that readers can cheaply detect changes.
+     *
+     * @return The publication sequence number
+     */
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public double getGainDb() {
+        return gainDb;
+    }
+
+    public boolean isMuted() {
+        return muted;
+    }
+
+    public boolean isPolarityReversed() {
+        return polarityReversed;
+    }
+
+    public HighLowPassFilterType getHighPassFilterType() {
+        return highPassFilterType;
+    }
+
+    public double getHighPassCutoffFrequencyHz() {
+        return highPassCutoffFrequencyHz;
+    }
+
+    public boolean isHighPassBypassed() {
+        return highPassBypassed;
+    }
+
+    public HighLowPassFilterType getLowPassFilterType() {
+        return lowPassFilterType;
+    }
+
+    public double getLowPassCutoffFrequencyHz() {
+        return lowPassCutoffFrequencyHz;
+    }
+
+    public boolean isLowPassBypassed() {
+        return lowPassBypassed;
+    }
+
+    public int getNumberOfBands() {
+        return bandFrequenciesHz.length;
+    }
+
+    public double getBandFrequencyHz( final int bandIndex ) {
+        return bandFrequenciesHz[ bandIndex ];
+    }
+
+    public double getBandBandwidthOctaves( final int bandIndex ) {
+        return bandBandwidthsOctaves[ bandIndex ];
+    }
+
+    public double getBandGainDb( final int bandIndex ) {
+        return bandGainsDb[ bandIndex ];
+    }
+
+    public boolean isBandBypassed( final int bandIndex ) {
+        return bandsBypassed[ bandIndex ];
+    }
+}
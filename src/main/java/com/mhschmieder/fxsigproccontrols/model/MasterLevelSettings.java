@@ -35,15 +35,28 @@ import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 
+/**
+ * The Master Level Settings for a single channel: polarity, gain and mute.
+ * <p>
+ * Most instances live in undo history and presets and are never bound to a
+ * GUI, so the values are held in plain fields and the JavaFX properties are
+ * only made the first time their property accessors are called.
+ */
 public class MasterLevelSettings {
 
     private static final boolean  POLARITY_REVERSED_DEFAULT = false;
     private static final double   GAIN_DB_DEFAULT           = 0.0d;
     private static final boolean  MUTED_DEFAULT             = false;
 
-    final BooleanProperty         polarityReversed;
-    private final DoubleProperty  gain;
-    private final BooleanProperty muted;
+    // Plain values, which are only authoritative until a property is made.
+    private boolean               polarityReversedValue;
+    private double                gainValue;
+    private boolean               mutedValue;
+
+    // Lazily instantiated properties, for when binding is actually needed.
+    private BooleanProperty       polarityReversed;
+    private DoubleProperty        gain;
+    private BooleanProperty       muted;
 
     public MasterLevelSettings() {
         this( POLARITY_REVERSED_DEFAULT, GAIN_DB_DEFAULT, MUTED_DEFAULT );
@@ -52,103 +65,94 @@ public class MasterLevelSettings {
     public MasterLevelSettings( final boolean pPolarityReversed,
                                 final double pGain,
                                 final boolean pMuted ) {
-        polarityReversed = new SimpleBooleanProperty( pPolarityReversed );
-        gain = new SimpleDoubleProperty( pGain );
-        muted = new SimpleBooleanProperty( pMuted );
+        polarityReversedValue = pPolarityReversed;
+        gainValue = pGain;
+        mutedValue = pMuted;
     }
 
-    /*
-     * (non-Javadoc)
-     * @see java.lang.Object#equals(java.lang.Object)
-     */
-    @Override
-    public boolean equals( final Object obj ) {
-        if ( this == obj ) {
-            return true;
-        }
-        if ( obj == null ) {
-            return false;
-        }
-        if ( !( obj instanceof MasterLevelSettings ) ) {
-            return false;
-        }
-        final MasterLevelSettings other = ( MasterLevelSettings ) obj;
+    public DoubleProperty gainProperty() {
         if ( gain == null ) {
-            if ( other.gain != null ) {
-                return false;
-            }
+            gain = new SimpleDoubleProperty( this, "gain", gainValue ); //$NON-NLS-1$
         }
-        else if ( !gain.equals( other.gain ) ) {
-            return false;
-        }
-        if ( muted == null ) {
-            if ( other.muted != null ) {
-                return false;
-            }
-        }
-        else if ( !muted.equals( other.muted ) ) {
-            return false;
-        }
-        if ( polarityReversed == null ) {
-            if ( other.polarityReversed != null ) {
-                return false;
-            }
-        }
-        else if ( !polarityReversed.equals( other.polarityReversed ) ) {
-            return false;
-        }
-        return true;
-    }
-
-    public DoubleProperty gainProperty() {
         return gain;
     }
 
     public double getGain() {
-        return gain.get();
+        return ( gain == null ) ? gainValue : gain.get();
     }
 
-    /*
-     * (non-Javadoc)
-     * @see java.lang.Object#hashCode()
+    /**
+     * Returns whether these settings have the same values as the supplied
+     * settings, which may be a different instance.
+     * <p>
+     * NOTE: Equality remains identity, as these settings are mutable and are
+     *  bound to controls, so are not safe to use as keys or in list lookups
+     *  by value.
+     *
+     * @param other
+     *            The settings to compare values with
+     * @return true if the gain, mute and polarity values are all the same
      */
-    @Override
-    public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = ( prime * result ) + ( ( gain == null ) ? 0 : gain.hashCode() );
-        result = ( prime * result ) + ( ( muted == null ) ? 0 : muted.hashCode() );
-        result = ( prime * result )
-                + ( ( polarityReversed == null ) ? 0 : polarityReversed.hashCode() );
-        return result;
+    public boolean hasSameValues( final MasterLevelSettings other ) {
+        if ( this == other ) {
+            return true;
+        }
+        if ( other == null ) {
+            return false;
+        }
+        return ( Double.doubleToLongBits( getGain() ) == Double
+                .doubleToLongBits( other.getGain() ) ) && ( isMuted() == other.isMuted() )
+                && ( isPolarityReversed() == other.isPolarityReversed() );
     }
 
     public final boolean isMuted() {
-        return muted.get();
+        return ( muted == null ) ? mutedValue : muted.get();
     }
 
     public final boolean isPolarityReversed() {
-        return polarityReversed.get();
+        return ( polarityReversed == null ) ? polarityReversedValue : polarityReversed.get();
     }
 
     public final BooleanProperty mutedProperty() {
+        if ( muted == null ) {
+            muted = new SimpleBooleanProperty( this, "muted", mutedValue ); //$NON-NLS-1$
+        }
         return muted;
     }
 
     public final BooleanProperty polarityReversedProperty() {
+        if ( polarityReversed == null ) {
+            polarityReversed = new SimpleBooleanProperty( this,
+                                                          "polarityReversed", //$NON-NLS-1$
+                                                          polarityReversedValue );
+        }
         return polarityReversed;
     }
 
     public void setGain( final double pGain ) {
-        gain.set( pGain );
-
+        if ( gain == null ) {
+            gainValue = pGain;
+        }
+        else {
+            gain.set( pGain );
+        }
     }
 
     public final void setMuted( final boolean pMuted ) {
-        muted.set( pMuted );
+        if ( muted == null ) {
+            mutedValue = pMuted;
+        }
+        else {
+            muted.set( pMuted );
+        }
     }
 
     public final void setPolarityReversed( final boolean pPolarityReversed ) {
-        polarityReversed.set( pPolarityReversed );
+        if ( polarityReversed == null ) {
+            polarityReversedValue = pPolarityReversed;
+        }
+        else {
+            polarityReversed.set( pPolarityReversed );
+        }
     }
 }
@@ -0,0 +1,556 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mhschmieder.fxsigproccontrols.util.SigprocEvents;
+import com.mhschmieder.fxsigproccontrols.util.SigprocMetrics;
+import javafx.beans.value.ChangeListener;
+
+/**
+ * A struct-of-arrays store of Master Level Settings for many channels.
+ * <p>
+ * Gain is stored in a primitive array, and polarity and mute are stored in bit
+ * sets, so that thousands of channels (and snapshots of them) cost a few bytes
+ * per channel instead of three JavaFX property objects per channel.
+ * <p>
+ * Per-channel {@link MasterLevelSettings} views are only made on demand, such
+ * as when a channel is bound to {@code MasterLevelSettingsControls}. A view is
+ * kept in sync with the bank in both directions until it is released.
+ * <p>
+ * Bank listeners get one notification per change, listing every channel that
+ * changed. Changes made between {@link #beginUpdate()} and {@link #endUpdate()}
+ * form one transaction, with one notification and one sync per channel view,
+ * which is how gang edits across hundreds of channels stay cheap.
+ * <p>
+ * NOTE: As with the rest of the model, this must only be modified from the
+ *  JavaFX Application Thread while any channel views are in use.
+ */
+public final class MasterLevelSettingsBank {
+
+    private static final double                  GAIN_DB_DEFAULT = 0.0d;
+
+    private final int                            numberOfChannels;
+
+    private final double[]                       gains;
+    private final BitSet                         polarityReversed;
+    private final BitSet                         muted;
+
+    // The on-demand per-channel views, keyed by channel index.
+    private final Map< Integer, ChannelView >    channelViews;
+
+    /**
+     * A listener for changes to the settings of one or more channels.
+     */
+    @FunctionalInterface
+    public interface BankChangeListener {
+        /**
+         * Called once per change or transaction.
+         *
+         * @param bank
+         *            The bank whose channels changed
+         * @param changedChannels
+         *            The channels that changed; this is only valid for the
+         *            duration of the call, so copy it to keep it
+         */
+        void channelsChanged( MasterLevelSettingsBank bank, BitSet changedChannels );
+    }
+
+    // Bank listeners, made on first registration.
+    private List< BankChangeListener >            bankChangeListeners;
+
+    // The channels changed by the current transaction, and its nesting depth.
+    private final BitSet                          changedChannels;
+    private final BitSet                          publishedChannels;
+
+    // Scratch copy of a selection with its out-of-range channels cleared.
+    private final BitSet                          maskedChannels;
+    private int                                   updateDepth;
+    private boolean                               publishing;
+
+    public MasterLevelSettingsBank( final int pNumberOfChannels ) {
+        numberOfChannels = pNumberOfChannels;
+
+        gains = new double[ numberOfChannels ];
+        Arrays.fill( gains, GAIN_DB_DEFAULT );
+        polarityReversed = new BitSet( numberOfChannels );
+        muted = new BitSet( numberOfChannels );
+
+        channelViews = new HashMap<>();
+        changedChannels = new BitSet( numberOfChannels );
+        publishedChannels = new BitSet( numberOfChannels );
+        maskedChannels = new BitSet( numberOfChannels );
+    }
+
+    /**
+     * Makes a snapshot copy of another bank; channel views are not copied.
+     *
+     * @param other
+     *            The bank to copy the settings from
+     */
+    public MasterLevelSettingsBank( final MasterLevelSettingsBank other ) {
+        numberOfChannels = other.numberOfChannels;
+
+        gains = Arrays.copyOf( other.gains, numberOfChannels );
+        polarityReversed = ( BitSet ) other.polarityReversed.clone();
+        muted = ( BitSet ) other.muted.clone();
+
+        channelViews = new HashMap<>();
+        changedChannels = new BitSet( numberOfChannels );
+        publishedChannels = new BitSet( numberOfChannels );
+        maskedChannels = new BitSet( numberOfChannels );
+    }
+
+    public int getNumberOfChannels() {
+        return numberOfChannels;
+    }
+
+    public double getGain( final int channel ) {
+        return gains[ channel ];
+    }
+
+    public void setGain( final int channel, final double gain ) {
+        gains[ channel ] = gain;
+        syncChannelView( channel );
+    }
+
+    public boolean isPolarityReversed( final int channel ) {
+        return polarityReversed.get( channel );
+    }
+
+    public void setPolarityReversed( final int channel, final boolean pPolarityReversed ) {
+        polarityReversed.set( channel, pPolarityReversed );
+        syncChannelView( channel );
+    }
+
+    public boolean isMuted( final int channel ) {
+        return muted.get( channel );
+    }
+
+    public void setMuted( final int channel, final boolean pMuted ) {
+        muted.set( channel, pMuted );
+        syncChannelView( channel );
+    }
+
+    /**
+     * Copies the gains of a range of channels into the supplied array.
+     *
+     * @param fromChannel
+     *            The first channel of the range (inclusive)
+     * @param toChannel
+     *            The last channel of the range (exclusive)
+     * @param destination
+     *            The array to copy the gains into, starting at index zero
+     */
+    public void getGains( final int fromChannel, final int toChannel, final double[] destination ) {
+        System.arraycopy( gains, fromChannel, destination, 0, toChannel - fromChannel );
+    }
+
+    /**
+     * Copies the supplied gains into a range of channels.
+     *
+     * @param fromChannel
+     *            The first channel of the range (inclusive)
+     * @param toChannel
+     *            The last channel of the range (exclusive)
+     * @param source
+     *            The array to copy the gains from, starting at index zero
+     */
+    public void setGains( final int fromChannel, final int toChannel, final double[] source ) {
+        System.arraycopy( source, 0, gains, fromChannel, toChannel - fromChannel );
+        syncChannelViews( fromChannel, toChannel );
+    }
+
+    public void fillGain( final int fromChannel, final int toChannel, final double gain ) {
+        Arrays.fill( gains, fromChannel, toChannel, gain );
+        syncChannelViews( fromChannel, toChannel );
+    }
+
+    public void offsetGain( final int fromChannel, final int toChannel, final double gainOffset ) {
+        for ( int channel = fromChannel; channel < toChannel; channel++ ) {
+            gains[ channel ] += gainOffset;
+        }
+        syncChannelViews( fromChannel, toChannel );
+    }
+
+    public void setPolarityReversed( final int fromChannel,
+                                     final int toChannel,
+                                     final boolean pPolarityReversed ) {
+        polarityReversed.set( fromChannel, toChannel, pPolarityReversed );
+        syncChannelViews( fromChannel, toChannel );
+    }
+
+    public void flipPolarity( final int fromChannel, final int toChannel ) {
+        polarityReversed.flip( fromChannel, toChannel );
+        syncChannelViews( fromChannel, toChannel );
+    }
+
+    public void setMuted( final int fromChannel, final int toChannel, final boolean pMuted ) {
+        muted.set( fromChannel, toChannel, pMuted );
+        syncChannelViews( fromChannel, toChannel );
+    }
+
+    /**
+     * Offsets the gains of the selected channels, clamping to the given range,
+     * as one transaction.
+     *
+     * @param selectedChannels
+     *            The channels to change
+     * @param gainOffset
+     *            The gain offset to apply, in dB
+     * @param minimumGain
+     *            The lowest gain allowed, in dB
+     * @param maximumGain
+     *            The highest gain allowed, in dB
+     */
+    public void offsetGain( final BitSet selectedChannels,
+                            final double gainOffset,
+                            final double minimumGain,
+                            final double maximumGain ) {
+        for ( int channel = selectedChannels.nextSetBit( 0 ); ( channel >= 0 )
+                && ( channel < numberOfChannels ); channel = selectedChannels
+                        .nextSetBit( channel + 1 ) ) {
+            gains[ channel ] = Math.max( minimumGain,
+                                         Math.min( maximumGain, gains[ channel ] + gainOffset ) );
+        }
+        syncChannelViews( selectedChannels );
+    }
+
+    public void setMuted( final BitSet selectedChannels, final boolean pMuted ) {
+        final BitSet channels = maskToChannels( selectedChannels );
+        if ( pMuted ) {
+            muted.or( channels );
+        }
+        else {
+            muted.andNot( channels );
+        }
+        syncChannelViews( channels );
+    }
+
+    public void setPolarityReversed( final BitSet selectedChannels,
+                                     final boolean pPolarityReversed ) {
+        final BitSet channels = maskToChannels( selectedChannels );
+        if ( pPolarityReversed ) {
+            polarityReversed.or( channels );
+        }
+        else {
+            polarityReversed.andNot( channels );
+        }
+        syncChannelViews( channels );
+    }
+
+    public void flipPolarity( final BitSet selectedChannels ) {
+        final BitSet channels = maskToChannels( selectedChannels );
+        polarityReversed.xor( channels );
+        syncChannelViews( channels );
+    }
+
+    // Get the selection restricted to this bank's channels; this is the
+    // selection itself when it is already in range, and otherwise a scratch
+    // copy that is only valid until the next bulk edit.
+    // NOTE: Without this, bits beyond the last channel would be set in the
+    //  bank, and show up in counts such as the number of muted channels.
+    private BitSet maskToChannels( final BitSet selectedChannels ) {
+        if ( selectedChannels.length() <= numberOfChannels ) {
+            return selectedChannels;
+        }
+        maskedChannels.clear();
+        maskedChannels.or( selectedChannels );
+        maskedChannels.clear( numberOfChannels, selectedChannels.length() );
+        return maskedChannels;
+    }
+
+    /**
+     * Returns the number of muted channels, without visiting every channel.
+     *
+     * @return The number of muted channels
+     */
+    public int getNumberOfMutedChannels() {
+        return muted.cardinality();
+    }
+
+    /**
+     * Copies the settings of a stand-alone {@link MasterLevelSettings} instance
+     * into the given channel.
+     *
+     * @param channel
+     *            The channel to copy the settings into
+     * @param masterLevelSettings
+     *            The settings to copy
+     */
+    public void setMasterLevelSettings( final int channel,
+                                        final MasterLevelSettings masterLevelSettings ) {
+        gains[ channel ] = masterLevelSettings.getGain();
+        polarityReversed.set( channel, masterLevelSettings.isPolarityReversed() );
+        muted.set( channel, masterLevelSettings.isMuted() );
+        syncChannelView( channel );
+    }
+
+    /**
+     * Returns a new, detached {@link MasterLevelSettings} instance holding a
+     * copy of the settings of the given channel.
+     *
+     * @param channel
+     *            The channel to copy the settings from
+     * @return A detached copy of the channel's settings
+     */
+    public MasterLevelSettings getMasterLevelSettings( final int channel ) {
+        return new MasterLevelSettings( polarityReversed.get( channel ),
+                                        gains[ channel ],
+                                        muted.get( channel ) );
+    }
+
+    /**
+     * Returns the live {@link MasterLevelSettings} view of the given channel,
+     * making it on first request. Changes to the view's properties are written
+     * through to the bank, and changes to the bank are pushed to the view.
+     * <p>
+     * Views are shared and reference counted: each call must be balanced by
+     * one call to {@link #releaseChannelView(int)} once the caller is done.
+     *
+     * @param channel
+     *            The channel to get the live view of
+     * @return The live view of the channel's settings
+     */
+    public MasterLevelSettings getChannelView( final int channel ) {
+        ChannelView channelView = channelViews.get( channel );
+        if ( channelView == null ) {
+            channelView = new ChannelView( channel );
+            channelViews.put( channel, channelView );
+        }
+        channelView.referenceCount++;
+        return channelView.masterLevelSettings;
+    }
+
+    /**
+     * Releases one reference to the live view of the given channel, if there
+     * is one, and detaches the view once its last reference is released;
+     * after that, the view no longer writes through to the bank.
+     *
+     * @param channel
+     *            The channel whose live view should be released
+     */
+    public void releaseChannelView( final int channel ) {
+        final ChannelView channelView = channelViews.get( channel );
+        if ( ( channelView != null ) && ( --channelView.referenceCount <= 0 ) ) {
+            channelViews.remove( channel );
+            channelView.detach();
+        }
+    }
+
+    public void addBankChangeListener( final BankChangeListener listener ) {
+        if ( bankChangeListeners == null ) {
+            bankChangeListeners = new ArrayList<>( 2 );
+        }
+        bankChangeListeners.add( listener );
+    }
+
+    public void removeBankChangeListener( final BankChangeListener listener ) {
+        if ( bankChangeListeners != null ) {
+            bankChangeListeners.remove( listener );
+        }
+    }
+
+    /**
+     * Starts a transaction; changes are collected, and channel views are not
+     * synced nor listeners notified until the matching {@link #endUpdate()}.
+     * Transactions may be nested, in which case the outermost one counts.
+     */
+    public void beginUpdate() {
+        updateDepth++;
+    }
+
+    /**
+     * Ends a transaction; if it is the outermost one, each changed channel's
+     * view is synced once and listeners get one aggregated notification.
+     */
+    public void endUpdate() {
+        if ( updateDepth == 0 ) {
+            return;
+        }
+        if ( --updateDepth == 0 ) {
+            publishChanges();
+        }
+    }
+
+    public boolean isUpdating() {
+        return updateDepth > 0;
+    }
+
+    public int getNumberOfChannelViews() {
+        return channelViews.size();
+    }
+
+    private void syncChannelView( final int channel ) {
+        changedChannels.set( channel );
+        if ( updateDepth == 0 ) {
+            publishChanges();
+        }
+    }
+
+    private void syncChannelViews( final int fromChannel, final int toChannel ) {
+        changedChannels.set( fromChannel, toChannel );
+        if ( updateDepth == 0 ) {
+            publishChanges();
+        }
+    }
+
+    private void syncChannelViews( final BitSet selectedChannels ) {
+        changedChannels.or( selectedChannels );
+        if ( selectedChannels.length() > numberOfChannels ) {
+            changedChannels.clear( numberOfChannels, selectedChannels.length() );
+        }
+        if ( updateDepth == 0 ) {
+            publishChanges();
+        }
+    }
+
+    // Sync the views of the changed channels, then notify the listeners once.
+    private void publishChanges() {
+        // NOTE: Changes made by listeners while we are publishing are picked
+        //  up by the loop, rather than by re-entering it.
+        if ( publishing ) {
+            return;
+        }
+        publishing = true;
+        try {
+            while ( !changedChannels.isEmpty() ) {
+                publishedChannels.clear();
+                publishedChannels.or( changedChannels );
+                changedChannels.clear();
+
+                // Usually there are far fewer views than changed channels.
+                for ( final ChannelView channelView : channelViews.values() ) {
+                    if ( publishedChannels.get( channelView.channel ) ) {
+                        channelView.pullFromBank();
+                    }
+                }
+
+                final long handlingStartNanos = SigprocMetrics.beginHandling();
+                final Object event = SigprocEvents.beginMasterLevelSettingsBankChange();
+                int numberOfDeliveries = 0;
+                if ( bankChangeListeners != null ) {
+                    for ( final BankChangeListener listener : new ArrayList<>( bankChangeListeners ) ) {
+                        listener.channelsChanged( this, publishedChannels );
+                        numberOfDeliveries++;
+                    }
+                }
+                SigprocEvents.commitMasterLevelSettingsBankChange( event, publishedChannels );
+
+                // NOTE: Each changed channel counts as an edit, so that gang
+                //  edits show up as bursts of the size of the selection.
+                SigprocMetrics.endHandling( "MasterLevelSettingsBank", //$NON-NLS-1$
+                                            handlingStartNanos,
+                                            numberOfDeliveries,
+                                            publishedChannels.cardinality() );
+            }
+        }
+        finally {
+            publishing = false;
+        }
+    }
+
+    /**
+     * A live, two-way view of a single channel of the bank.
+     */
+    private final class ChannelView {
+
+        final int                           channel;
+        final MasterLevelSettings           masterLevelSettings;
+
+        final ChangeListener< Boolean >     polarityReversedListener;
+        final ChangeListener< Number >      gainListener;
+        final ChangeListener< Boolean >     mutedListener;
+
+        // Guard against echoing bank-initiated changes back into the bank.
+        boolean                             pulling;
+
+        // The number of unreleased requests for this view.
+        int                                 referenceCount;
+
+        ChannelView( final int pChannel ) {
+            channel = pChannel;
+            masterLevelSettings = new MasterLevelSettings( polarityReversed.get( channel ),
+                                                           gains[ channel ],
+                                                           muted.get( channel ) );
+            pulling = false;
+            referenceCount = 0;
+
+            polarityReversedListener = ( observable, oldValue, newValue ) -> {
+                if ( !pulling ) {
+                    polarityReversed.set( channel, newValue.booleanValue() );
+                    syncChannelView( channel );
+                }
+            };
+            gainListener = ( observable, oldValue, newValue ) -> {
+                if ( !pulling ) {
+                    gains[ channel ] = newValue.doubleValue();
+                    syncChannelView( channel );
+                }
+            };
+            mutedListener = ( observable, oldValue, newValue ) -> {
+                if ( !pulling ) {
+                    muted.set( channel, newValue.booleanValue() );
+                    syncChannelView( channel );
+                }
+            };
+
+            masterLevelSettings.polarityReversedProperty().addListener( polarityReversedListener );
+            masterLevelSettings.gainProperty().addListener( gainListener );
+            masterLevelSettings.mutedProperty().addListener( mutedListener );
+        }
+
+        void pullFromBank() {
+            pulling = true;
+            try {
+                masterLevelSettings.setPolarityReversed( polarityReversed.get( channel ) );
+                masterLevelSettings.setGain( gains[ channel ] );
+                masterLevelSettings.setMuted( muted.get( channel ) );
+            }
+            finally {
+                pulling = false;
+            }
+        }
+
+        void detach() {
+            masterLevelSettings.polarityReversedProperty()
+                    .removeListener( polarityReversedListener );
+            masterLevelSettings.gainProperty().removeListener( gainListener );
+            masterLevelSettings.mutedProperty().removeListener( mutedListener );
+        }
+    }
+}
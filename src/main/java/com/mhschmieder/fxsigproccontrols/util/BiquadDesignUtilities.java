@@ -0,0 +1,237 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.util;
+
+import com.mhschmieder.jsigproc.filter.HighLowPassFilterType;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * This is a utility class for designing the digital biquad coefficients that
+ * realize the filters represented by the Signal Processing controls.
+ * <p>
+ * Coefficients are packed five per section, as { b0, b1, b2, a1, a2 }, with
+ * a0 normalized to one; cascades simply concatenate their sections. First
+ * order sections are packed the same way, with b2 and a2 set to zero.
+ * <p>
+ * NOTE: High Pass and Low Pass designs follow the same Butterworth section
+ *  rules as the displayed responses, so the elliptical filter is designed as
+ *  a fourth order Butterworth here too.
+ */
+public final class BiquadDesignUtilities {
+
+    // The number of coefficients that are stored per biquad section.
+    public static final int COEFFICIENTS_PER_SECTION = 5;
+
+    /**
+     * The default constructor is disabled, as this is a static utility class.
+     */
+    private BiquadDesignUtilities() {}
+
+    /**
+     * Designs a parametric (peaking) filter as a single biquad section.
+     *
+     * @param centerFrequencyHz
+     *            The center frequency of the filter, in Hz
+     * @param qFactor
+     *            The Q factor of the filter
+     * @param gainDb
+     *            The boost or cut at the center frequency, in dB
+     * @param sampleRateHz
+     *            The sample rate of the DSP, in Hz
+     * @return A new array of { b0, b1, b2, a1, a2 }
+     */
+    public static double[] designParametric( final double centerFrequencyHz,
+                                             final double qFactor,
+                                             final double gainDb,
+                                             final double sampleRateHz ) {
+        final double amplitude = FastMath.pow( 10.0d, gainDb / 40.0d );
+        final double omega = ( 2.0d * FastMath.PI * centerFrequencyHz ) / sampleRateHz;
+        final double cosine = FastMath.cos( omega );
+        final double alpha = FastMath.sin( omega ) / ( 2.0d * qFactor );
+
+        final double a0 = 1.0d + ( alpha / amplitude );
+        return new double[] {
+                              ( 1.0d + ( alpha * amplitude ) ) / a0,
+                              ( -2.0d * cosine ) / a0,
+                              ( 1.0d - ( alpha * amplitude ) ) / a0,
+                              ( -2.0d * cosine ) / a0,
+                              ( 1.0d - ( alpha / amplitude ) ) / a0 };
+    }
+
+    /**
+     * Returns the number of biquad sections in a High Pass or Low Pass design.
+     *
+     * @param highLowPassFilterType
+     *            The type of High Pass or Low Pass filter
+     * @return The number of biquad sections in the design
+     */
+    public static int getNumberOfSections( final HighLowPassFilterType highLowPassFilterType ) {
+        final int sectionOrder = FilterResponseUtilities
+                .getButterworthSectionOrder( highLowPassFilterType );
+        final int numberOfButterworthSections = FilterResponseUtilities
+                .isLinkwitzRiley( highLowPassFilterType ) ? 2 : 1;
+        return numberOfButterworthSections * ( ( sectionOrder + 1 ) / 2 );
+    }
+
+    /**
+     * Designs a High Pass or Low Pass filter as a cascade of biquad sections,
+     * via the bilinear transform of the Butterworth prototype.
+     *
+     * @param highLowPassFilterType
+     *            The type of High Pass or Low Pass filter
+     * @param cutoffFrequencyHz
+     *            The cutoff frequency of the filter, in Hz
+     * @param sampleRateHz
+     *            The sample rate of the DSP, in Hz
+     * @return A new array of { b0, b1, b2, a1, a2 } for each section in turn
+     */
+    public static double[] designHighLowPass( final HighLowPassFilterType highLowPassFilterType,
+                                              final double cutoffFrequencyHz,
+                                              final double sampleRateHz ) {
+        final boolean highPass = FilterResponseUtilities.isHighPass( highLowPassFilterType );
+        final int sectionOrder = FilterResponseUtilities
+                .getButterworthSectionOrder( highLowPassFilterType );
+        final int numberOfButterworthSections = FilterResponseUtilities
+                .isLinkwitzRiley( highLowPassFilterType ) ? 2 : 1;
+        final double[] coefficients = new double[ getNumberOfSections( highLowPassFilterType )
+                * COEFFICIENTS_PER_SECTION ];
+        final double omega = ( 2.0d * FastMath.PI * cutoffFrequencyHz ) / sampleRateHz;
+
+        // NOTE: Odd orders have one real pole, which has a zero Q factor and
+        //  is realized as a first order section.
+        final double[] qFactors = FilterResponseUtilities
+                .getButterworthSectionQFactors( sectionOrder );
+        int offset = 0;
+        for ( int butterworth = 0; butterworth < numberOfButterworthSections; butterworth++ ) {
+            for ( final double qFactor : qFactors ) {
+                if ( qFactor > 0.0d ) {
+                    designSecondOrderSection( highPass, omega, qFactor, coefficients, offset );
+                }
+                else {
+                    designFirstOrderSection( highPass, omega, coefficients, offset );
+                }
+                offset += COEFFICIENTS_PER_SECTION;
+            }
+        }
+
+        return coefficients;
+    }
+
+    /**
+     * Makes the cosines of the digital frequencies of a frequency grid, which
+     * is all that is needed per point to evaluate biquad magnitude responses,
+     * so that evaluating a design on the grid needs no trigonometry.
+     *
+     * @param frequenciesHz
+     *            The frequency grid, in Hz
+     * @param sampleRateHz
+     *            The sample rate of the DSP, in Hz
+     * @return A new array of the cosines of the digital frequencies
+     */
+    public static double[] makeCosineGrid( final double[] frequenciesHz,
+                                           final double sampleRateHz ) {
+        final double[] cosines = new double[ frequenciesHz.length ];
+        for ( int i = 0; i < frequenciesHz.length; i++ ) {
+            cosines[ i ] = FastMath.cos( ( 2.0d * FastMath.PI * frequenciesHz[ i ] ) / sampleRateHz );
+        }
+        return cosines;
+    }
+
+    /**
+     * Computes the magnitude response of a cascade of biquad sections.
+     *
+     * @param coefficients
+     *            The coefficients, as { b0, b1, b2, a1, a2 } for each section
+     * @param cosines
+     *            The cosines of the digital frequencies to sample the response
+     *            on, as made by {@link #makeCosineGrid}
+     * @param magnitudesDb
+     *            The array to write the magnitude response into, in dB
+     */
+    public static void computeMagnitudeDb( final double[] coefficients,
+                                           final double[] cosines,
+                                           final double[] magnitudesDb ) {
+        for ( int i = 0; i < cosines.length; i++ ) {
+            final double cosine = cosines[ i ];
+            final double doubleCosine = ( 2.0d * cosine * cosine ) - 1.0d;
+            double powerRatio = 1.0d;
+            for ( int offset = 0; offset < coefficients.length; offset += COEFFICIENTS_PER_SECTION ) {
+                final double b0 = coefficients[ offset ];
+                final double b1 = coefficients[ offset + 1 ];
+                final double b2 = coefficients[ offset + 2 ];
+                final double a1 = coefficients[ offset + 3 ];
+                final double a2 = coefficients[ offset + 4 ];
+                final double numerator = ( ( b0 * b0 ) + ( b1 * b1 ) + ( b2 * b2 ) )
+                        + ( 2.0d * ( ( b0 * b1 ) + ( b1 * b2 ) ) * cosine )
+                        + ( 2.0d * b0 * b2 * doubleCosine );
+                final double denominator = ( 1.0d + ( a1 * a1 ) + ( a2 * a2 ) )
+                        + ( 2.0d * ( a1 + ( a1 * a2 ) ) * cosine ) + ( 2.0d * a2 * doubleCosine );
+                // NOTE: Rounding can take a numerator at a zero slightly
+                //  negative, which must not turn the response into NaN.
+                powerRatio *= FastMath.max( numerator, 0.0d ) / denominator;
+            }
+            magnitudesDb[ i ] = 10.0d * FastMath.log10( powerRatio );
+        }
+    }
+
+    private static void designSecondOrderSection( final boolean highPass,
+                                                  final double omega,
+                                                  final double qFactor,
+                                                  final double[] coefficients,
+                                                  final int offset ) {
+        final double cosine = FastMath.cos( omega );
+        final double alpha = FastMath.sin( omega ) / ( 2.0d * qFactor );
+        final double a0 = 1.0d + alpha;
+        final double b1 = highPass ? -( 1.0d + cosine ) : ( 1.0d - cosine );
+        final double b0 = 0.5d * FastMath.abs( b1 );
+
+        coefficients[ offset ] = b0 / a0;
+        coefficients[ offset + 1 ] = b1 / a0;
+        coefficients[ offset + 2 ] = b0 / a0;
+        coefficients[ offset + 3 ] = ( -2.0d * cosine ) / a0;
+        coefficients[ offset + 4 ] = ( 1.0d - alpha ) / a0;
+    }
+
+    private static void designFirstOrderSection( final boolean highPass,
+                                                 final double omega,
+                                                 final double[] coefficients,
+                                                 final int offset ) {
+        final double warped = FastMath.tan( 0.5d * omega );
+        final double a0 = 1.0d + warped;
+        final double b0 = highPass ? 1.0d / a0 : warped / a0;
+
+        coefficients[ offset ] = b0;
+        coefficients[ offset + 1 ] = highPass ? -b0 : b0;
+        coefficients[ offset + 2 ] = 0.0d;
+        coefficients[ offset + 3 ] = ( warped - 1.0d ) / a0;
+        coefficients[ offset + 4 ] = 0.0d;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.util;
+
+import java.util.Arrays;
+
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * Delivers an editor's committed values to its downstream listeners, from the
+ * editor's raw value unless coalescing is enabled, in which case they come
+ * from the published value of a coalescer instead.
+ * <p>
+ * Every committed value is recorded as a flight recorder event and in the
+ * metrics, timed over its delivery to the downstream listeners, even when
+ * there are none (such as for an editor that is only bound to a model).
+ * <p>
+ * The coalescer (with its pulse timer) is only made when coalescing is first
+ * enabled, or when a client asks for it directly, so that editors that never
+ * opt in pay for no more than the one listener on their raw value.
+ * <p>
+ * NOTE: As with the editors themselves, this must only be used from the
+ *  JavaFX Application Thread.
+ */
+public final class CommittedValueHelper {
+
+    // Shared by every helper until its first downstream listener is added.
+    @SuppressWarnings("rawtypes")
+    private static final ChangeListener[] NO_LISTENERS = new ChangeListener[ 0 ];
+
+    /**
+     * The raw value of the editor.
+     */
+    private final ObservableDoubleValue                 rawValue;
+
+    /**
+     * The control that owns the raw value, for flight recorder events.
+     */
+    private final Object                                eventSource;
+
+    /**
+     * The control type that committed values are recorded as, for metrics.
+     */
+    private final String                                metricsControlType;
+
+    /**
+     * The coalescer for the raw value; made on first request.
+     * <p>
+     * NOTE: Coalescing must be switched through this helper rather than on
+     *  the coalescer directly, so that delivery moves along with it.
+     */
+    private ValueChangeCoalescer                        valueChangeCoalescer;
+
+    /**
+     * The downstream listeners, which are replaced rather than modified so
+     * that listeners can be added or removed during delivery.
+     */
+    private ChangeListener< ? super Number >[]          listeners;
+
+    /**
+     * The one listener that delivers committed values downstream.
+     */
+    private final ChangeListener< Number >              deliveryListener;
+
+    /**
+     * The value that the delivery listener is currently attached to.
+     */
+    private ObservableDoubleValue                       attachedValue;
+
+    /**
+     * Whether committed values are recorded; off while values are pushed in
+     * from a model rather than edited, such as when binding.
+     */
+    private boolean                                     recordingEnabled;
+
+    @SuppressWarnings("unchecked")
+    public CommittedValueHelper( final ObservableDoubleValue pRawValue,
+                                 final Object pEventSource ) {
+        rawValue = pRawValue;
+        eventSource = pEventSource;
+        metricsControlType = ( eventSource != null )
+            ? eventSource.getClass().getSimpleName()
+            : CommittedValueHelper.class.getSimpleName();
+
+        valueChangeCoalescer = null;
+        listeners = NO_LISTENERS;
+
+        recordingEnabled = true;
+
+        deliveryListener = this::deliver;
+        attachedValue = rawValue;
+        attachedValue.addListener( deliveryListener );
+    }
+
+    private void deliver( final ObservableValue< ? extends Number > observable,
+                          final Number oldValue,
+                          final Number newValue ) {
+        // NOTE: The flight recorder event is timed over the delivery of the
+        //  value to downstream listeners, which is where DSP pushes happen.
+        final ChangeListener< ? super Number >[] deliveredListeners = listeners;
+        if ( !recordingEnabled ) {
+            for ( final ChangeListener< ? super Number > listener : deliveredListeners ) {
+                listener.changed( observable, oldValue, newValue );
+            }
+            return;
+        }
+
+        final long handlingStartNanos = SigprocMetrics.beginHandling();
+        final Object event = SigprocEvents.beginEditorCommit();
+        for ( final ChangeListener< ? super Number > listener : deliveredListeners ) {
+            listener.changed( observable, oldValue, newValue );
+        }
+        SigprocEvents.commitEditorCommit( event, eventSource, newValue.doubleValue() );
+        SigprocMetrics.endHandling( metricsControlType,
+                                    handlingStartNanos,
+                                    deliveredListeners.length,
+                                    1 );
+    }
+
+    public ValueChangeCoalescer getValueChangeCoalescer() {
+        if ( valueChangeCoalescer == null ) {
+            valueChangeCoalescer = new ValueChangeCoalescer( rawValue );
+        }
+        return valueChangeCoalescer;
+    }
+
+    // NOTE: This makes the coalescer; prefer addListener() where possible.
+    public ReadOnlyDoubleProperty committedValueProperty() {
+        return getValueChangeCoalescer().publishedValueProperty();
+    }
+
+    public void addListener( final ChangeListener< ? super Number > listener ) {
+        final ChangeListener< ? super Number >[] newListeners =
+                Arrays.copyOf( listeners, listeners.length + 1 );
+        newListeners[ listeners.length ] = listener;
+        listeners = newListeners;
+    }
+
+    public void removeListener( final ChangeListener< ? super Number > listener ) {
+        for ( int i = 0; i < listeners.length; i++ ) {
+            if ( listeners[ i ] == listener ) {
+                final ChangeListener< ? super Number >[] newListeners =
+                        Arrays.copyOf( listeners, listeners.length - 1 );
+                System.arraycopy( listeners, i + 1, newListeners, i, listeners.length - i - 1 );
+                listeners = newListeners;
+                return;
+            }
+        }
+    }
+
+    public int getNumberOfListeners() {
+        return listeners.length;
+    }
+
+    public boolean isRecordingEnabled() {
+        return recordingEnabled;
+    }
+
+    public void setRecordingEnabled( final boolean pRecordingEnabled ) {
+        recordingEnabled = pRecordingEnabled;
+    }
+
+    public boolean isCoalescingEnabled() {
+        return ( valueChangeCoalescer != null ) && valueChangeCoalescer.isCoalescingEnabled();
+    }
+
+    public void setCoalescingEnabled( final boolean coalescingEnabled ) {
+        if ( !coalescingEnabled && ( valueChangeCoalescer == null ) ) {
+            return;
+        }
+
+        // NOTE: Switching off flushes any pending value, which must still be
+        //  delivered from where the delivery listener is, before moving it.
+        getValueChangeCoalescer().setCoalescingEnabled( coalescingEnabled );
+        final ObservableDoubleValue committedValue = coalescingEnabled
+            ? valueChangeCoalescer.publishedValueProperty()
+            : rawValue;
+        if ( committedValue != attachedValue ) {
+            attachedValue.removeListener( deliveryListener );
+            committedValue.addListener( deliveryListener );
+            attachedValue = committedValue;
+        }
+    }
+}
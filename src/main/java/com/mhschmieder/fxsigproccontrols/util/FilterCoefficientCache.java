@@ -0,0 +1,430 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.util;
+
+import java.util.Arrays;
+
+import com.mhschmieder.jsigproc.filter.HighLowPassFilterType;
+
+/**
+ * A size-bounded, least-recently-used cache of designed filter coefficients,
+ * so that scene recalls, A/B comparisons and undo only redesign the filters
+ * whose parameters actually changed.
+ * <p>
+ * Entries are keyed by the primitive design parameters (filter kind, order,
+ * frequency, Q, gain and sample rate) without boxing: keys live in parallel
+ * primitive arrays, with chained hashing and an index-linked recency list, so
+ * lookups allocate nothing. Doubles are compared by bit pattern.
+ * <p>
+ * The cached coefficient arrays are shared, so callers must not modify them.
+ * All methods are synchronized, as designs may be requested from both the
+ * JavaFX Application Thread and the filter computation workers.
+ */
+public final class FilterCoefficientCache {
+
+    // Declare default capacity; enough for every filter of a large console.
+    public static final int CAPACITY_DEFAULT = 4096;
+
+    // Declare the filter kind used for Parametric (peaking) filters; High Pass
+    // and Low Pass filters use the ordinal of their type plus one.
+    public static final int PARAMETRIC_FILTER_KIND = 0;
+
+    /**
+     * A designer of filter coefficients, for parameters that missed the cache.
+     */
+    @FunctionalInterface
+    public interface CoefficientDesigner {
+        double[] design( int filterKind,
+                         int order,
+                         double frequencyHz,
+                         double qFactor,
+                         double gainDb,
+                         double sampleRateHz );
+    }
+
+    private static final int NONE = -1;
+
+    // NOTE: The designers are non-capturing, so lookups allocate nothing.
+    private static final HighLowPassFilterType[] HIGH_LOW_PASS_FILTER_TYPES =
+            HighLowPassFilterType.values();
+
+    private static final CoefficientDesigner PARAMETRIC_DESIGNER =
+            ( filterKind, order, frequencyHz, qFactor, gainDb, sampleRateHz ) ->
+                BiquadDesignUtilities.designParametric( frequencyHz, qFactor, gainDb, sampleRateHz );
+
+    private static final CoefficientDesigner HIGH_LOW_PASS_DESIGNER =
+            ( filterKind, order, frequencyHz, qFactor, gainDb, sampleRateHz ) ->
+                BiquadDesignUtilities.designHighLowPass( HIGH_LOW_PASS_FILTER_TYPES[ filterKind - 1 ],
+                                                         frequencyHz,
+                                                         sampleRateHz );
+
+    private final int        capacity;
+
+    // Entry keys and values, in parallel arrays indexed by entry slot.
+    private final int[]      filterKinds;
+    private final int[]      orders;
+    private final double[]   frequenciesHz;
+    private final double[]   qFactors;
+    private final double[]   gainsDb;
+    private final double[]   sampleRatesHz;
+    private final double[][] coefficients;
+
+    // Hash chains: bucket heads, and the next entry slot in each chain.
+    private final int[]      bucketHeads;
+    private final int[]      chainNext;
+    private final int        bucketMask;
+
+    // The recency list, from most recently used (head) to least (tail).
+    private final int[]      recencyPrevious;
+    private final int[]      recencyNext;
+    private int              recencyHead;
+    private int              recencyTail;
+
+    private int              size;
+
+    private long             hitCount;
+    private long             missCount;
+    private long             evictionCount;
+
+    public FilterCoefficientCache() {
+        this( CAPACITY_DEFAULT );
+    }
+
+    public FilterCoefficientCache( final int pCapacity ) {
+        capacity = pCapacity;
+
+        filterKinds = new int[ capacity ];
+        orders = new int[ capacity ];
+        frequenciesHz = new double[ capacity ];
+        qFactors = new double[ capacity ];
+        gainsDb = new double[ capacity ];
+        sampleRatesHz = new double[ capacity ];
+        coefficients = new double[ capacity ][];
+
+        // Keep the load factor at or below one half.
+        final int numberOfBuckets = Integer.highestOneBit( Math.max( 1, capacity ) ) << 1;
+        bucketHeads = new int[ numberOfBuckets ];
+        bucketMask = numberOfBuckets - 1;
+        chainNext = new int[ capacity ];
+
+        recencyPrevious = new int[ capacity ];
+        recencyNext = new int[ capacity ];
+
+        clear();
+    }
+
+    /**
+     * Returns the filter kind to use as the cache key for a High Pass or Low
+     * Pass filter type.
+     *
+     * @param highLowPassFilterType
+     *            The type of High Pass or Low Pass filter
+     * @return The filter kind for the cache key
+     */
+    public static int getFilterKind( final HighLowPassFilterType highLowPassFilterType ) {
+        return highLowPassFilterType.ordinal() + 1;
+    }
+
+    /**
+     * Returns the cached coefficients for the supplied parameters, designing
+     * and caching them first if they are not already cached.
+     *
+     * @param filterKind
+     *            The filter kind
+     * @param order
+     *            The filter order
+     * @param frequencyHz
+     *            The center or cutoff frequency, in Hz
+     * @param qFactor
+     *            The Q factor, or zero if not applicable
+     * @param gainDb
+     *            The gain, in dB, or zero if not applicable
+     * @param sampleRateHz
+     *            The sample rate of the DSP, in Hz
+     * @param designer
+     *            The designer to use if the coefficients are not cached
+     * @return The shared coefficients, which must not be modified
+     */
+    public synchronized double[] getOrDesign( final int filterKind,
+                                              final int order,
+                                              final double frequencyHz,
+                                              final double qFactor,
+                                              final double gainDb,
+                                              final double sampleRateHz,
+                                              final CoefficientDesigner designer ) {
+        final int slot = find( filterKind, order, frequencyHz, qFactor, gainDb, sampleRateHz );
+        if ( slot != NONE ) {
+            hitCount++;
+            moveToHead( slot );
+            return coefficients[ slot ];
+        }
+
+        missCount++;
+        final double[] designedCoefficients = designer
+                .design( filterKind, order, frequencyHz, qFactor, gainDb, sampleRateHz );
+        insert( filterKind,
+                order,
+                frequencyHz,
+                qFactor,
+                gainDb,
+                sampleRateHz,
+                designedCoefficients );
+        return designedCoefficients;
+    }
+
+    /**
+     * Returns the cached coefficients of a Parametric filter, designing them
+     * first if necessary.
+     *
+     * @param centerFrequencyHz
+     *            The center frequency of the filter, in Hz
+     * @param qFactor
+     *            The Q factor of the filter
+     * @param gainDb
+     *            The boost or cut at the center frequency, in dB
+     * @param sampleRateHz
+     *            The sample rate of the DSP, in Hz
+     * @return The shared coefficients, which must not be modified
+     */
+    public double[] getParametricCoefficients( final double centerFrequencyHz,
+                                               final double qFactor,
+                                               final double gainDb,
+                                               final double sampleRateHz ) {
+        return getOrDesign( PARAMETRIC_FILTER_KIND,
+                            2,
+                            centerFrequencyHz,
+                            qFactor,
+                            gainDb,
+                            sampleRateHz,
+                            PARAMETRIC_DESIGNER );
+    }
+
+    /**
+     * Returns the cached coefficients of a High Pass or Low Pass filter,
+     * designing them first if necessary.
+     *
+     * @param highLowPassFilterType
+     *            The type of High Pass or Low Pass filter
+     * @param cutoffFrequencyHz
+     *            The cutoff frequency of the filter, in Hz
+     * @param sampleRateHz
+     *            The sample rate of the DSP, in Hz
+     * @return The shared coefficients, which must not be modified
+     */
+    public double[] getHighLowPassCoefficients( final HighLowPassFilterType highLowPassFilterType,
+                                                final double cutoffFrequencyHz,
+                                                final double sampleRateHz ) {
+        return getOrDesign( getFilterKind( highLowPassFilterType ),
+                            FilterResponseUtilities
+                                    .getButterworthSectionOrder( highLowPassFilterType ),
+                            cutoffFrequencyHz,
+                            0.0d,
+                            0.0d,
+                            sampleRateHz,
+                            HIGH_LOW_PASS_DESIGNER );
+    }
+
+    /**
+     * Removes every entry, but keeps the statistics.
+     */
+    public synchronized void clear() {
+        Arrays.fill( bucketHeads, NONE );
+        Arrays.fill( coefficients, null );
+        recencyHead = NONE;
+        recencyTail = NONE;
+        size = 0;
+    }
+
+    public synchronized void clearStatistics() {
+        hitCount = 0L;
+        missCount = 0L;
+        evictionCount = 0L;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int getSize() {
+        return size;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    private int bucketOf( final int filterKind,
+                          final int order,
+                          final double frequencyHz,
+                          final double qFactor,
+                          final double gainDb,
+                          final double sampleRateHz ) {
+        long hash = ( 31L * filterKind ) + order;
+        hash = ( 31L * hash ) + Double.doubleToLongBits( frequencyHz );
+        hash = ( 31L * hash ) + Double.doubleToLongBits( qFactor );
+        hash = ( 31L * hash ) + Double.doubleToLongBits( gainDb );
+        hash = ( 31L * hash ) + Double.doubleToLongBits( sampleRateHz );
+
+        // Spread the high bits down, as nearby doubles differ in low bits.
+        hash ^= ( hash >>> 32 );
+        final int mixed = ( int ) hash * 0x9E3779B9;
+        return ( mixed ^ ( mixed >>> 16 ) ) & bucketMask;
+    }
+
+    private int find( final int filterKind,
+                      final int order,
+                      final double frequencyHz,
+                      final double qFactor,
+                      final double gainDb,
+                      final double sampleRateHz ) {
+        int slot = bucketHeads[ bucketOf( filterKind,
+                                          order,
+                                          frequencyHz,
+                                          qFactor,
+                                          gainDb,
+                                          sampleRateHz ) ];
+        while ( slot != NONE ) {
+            if ( ( filterKinds[ slot ] == filterKind ) && ( orders[ slot ] == order )
+                    && sameBits( frequenciesHz[ slot ], frequencyHz )
+                    && sameBits( qFactors[ slot ], qFactor )
+                    && sameBits( gainsDb[ slot ], gainDb )
+                    && sameBits( sampleRatesHz[ slot ], sampleRateHz ) ) {
+                return slot;
+            }
+            slot = chainNext[ slot ];
+        }
+        return NONE;
+    }
+
+    private static boolean sameBits( final double value1, final double value2 ) {
+        return Double.doubleToLongBits( value1 ) == Double.doubleToLongBits( value2 );
+    }
+
+    private void insert( final int filterKind,
+                         final int order,
+                         final double frequencyHz,
+                         final double qFactor,
+                         final double gainDb,
+                         final double sampleRateHz,
+                         final double[] designedCoefficients ) {
+        if ( capacity == 0 ) {
+            return;
+        }
+
+        // Reuse the least recently used slot when full, otherwise the next one.
+        final int slot;
+        if ( size == capacity ) {
+            slot = recencyTail;
+            removeFromChain( slot );
+            unlinkFromRecency( slot );
+            evictionCount++;
+        }
+        else {
+            slot = size++;
+        }
+
+        filterKinds[ slot ] = filterKind;
+        orders[ slot ] = order;
+        frequenciesHz[ slot ] = frequencyHz;
+        qFactors[ slot ] = qFactor;
+        gainsDb[ slot ] = gainDb;
+        sampleRatesHz[ slot ] = sampleRateHz;
+        coefficients[ slot ] = designedCoefficients;
+
+        final int bucket = bucketOf( filterKind, order, frequencyHz, qFactor, gainDb, sampleRateHz );
+        chainNext[ slot ] = bucketHeads[ bucket ];
+        bucketHeads[ bucket ] = slot;
+
+        linkAtHead( slot );
+    }
+
+    private void removeFromChain( final int slot ) {
+        final int bucket = bucketOf( filterKinds[ slot ],
+                                     orders[ slot ],
+                                     frequenciesHz[ slot ],
+                                     qFactors[ slot ],
+                                     gainsDb[ slot ],
+                                     sampleRatesHz[ slot ] );
+        if ( bucketHeads[ bucket ] == slot ) {
+            bucketHeads[ bucket ] = chainNext[ slot ];
+            return;
+        }
+        int previous = bucketHeads[ bucket ];
+        while ( chainNext[ previous ] != slot ) {
+            previous = chainNext[ previous ];
+        }
+        chainNext[ previous ] = chainNext[ slot ];
+    }
+
+    private void moveToHead( final int slot ) {
+        if ( slot != recencyHead ) {
+            unlinkFromRecency( slot );
+            linkAtHead( slot );
+        }
+    }
+
+    private void unlinkFromRecency( final int slot ) {
+        final int previous = recencyPrevious[ slot ];
+        final int next = recencyNext[ slot ];
+        if ( previous == NONE ) {
+            recencyHead = next;
+        }
+        else {
+            recencyNext[ previous ] = next;
+        }
+        if ( next == NONE ) {
+            recencyTail = previous;
+        }
+        else {
+            recencyPrevious[ next ] = previous;
+        }
+    }
+
+    private void linkAtHead( final int slot ) {
+        recencyPrevious[ slot ] = NONE;
+        recencyNext[ slot ] = recencyHead;
+        if ( recencyHead != NONE ) {
+            recencyPrevious[ recencyHead ] = slot;
+        }
+        recencyHead = slot;
+        if ( recencyTail == NONE ) {
+            recencyTail = slot;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.util;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+
+/**
+ * Runs filter design and response computations on a small pool of worker
+ * threads, so that changes to filter types and cutoffs (especially high-order
+ * and elliptical designs) never stall the JavaFX Application Thread.
+ * <p>
+ * Requests are keyed by their requester, typically a control group. A newer
+ * request for the same key supersedes any older one: the older one is
+ * cancelled if it has not finished, and its result is discarded if it has.
+ * Results are delivered on the JavaFX Application Thread, and for any one key
+ * they are delivered in request order, so a slow stale result can never
+ * overwrite a newer one.
+ * <p>
+ * Computations should be self-contained (working only from values captured
+ * when the request was made), and long ones may poll the interrupted status
+ * of their thread to give up early once they are superseded.
+ * <p>
+ * A shared instance is available for controls that have not been given one
+ * of their own; its threads are only started on the first request.
+ * <p>
+ * NOTE: Requests must be submitted from the JavaFX Application Thread.
+ */
+public final class FilterComputationService {
+
+    // Declare default number of worker threads, leaving room for the UI.
+    public static final int NUMBER_OF_WORKER_THREADS_DEFAULT = Math.max( 1,
+                                                                         Runtime.getRuntime()
+                                                                                 .availableProcessors()
+                                                                                 - 1 );
+
+    /**
+     * Holds the shared instance, so that it is only made when first used.
+     */
+    private static final class SharedInstanceHolder {
+        static final FilterComputationService SHARED_INSTANCE = new FilterComputationService();
+    }
+
+    /**
+     * The bookkeeping for the latest request of a single requester.
+     */
+    private static final class LatestRequest {
+        long        sequenceNumber;
+        Future< ? > future;
+    }
+
+    // NOTE: This is only accessed from the JavaFX Application Thread, so it
+    //  needs no synchronization, and identity is what distinguishes callers.
+    private final Map< Object, LatestRequest > latestRequests;
+
+    private final ExecutorService              executorService;
+
+    private long                               submittedRequestCount;
+    private long                               cancelledRequestCount;
+    private long                               deliveredResultCount;
+
+    public FilterComputationService() {
+        this( NUMBER_OF_WORKER_THREADS_DEFAULT );
+    }
+
+    /**
+     * Returns the instance shared by all controls that are not given a
+     * computation service of their own.
+     * <p>
+     * NOTE: The shared instance must not be shut down, as other controls may
+     *  still depend on it.
+     *
+     * @return The shared computation service
+     */
+    public static FilterComputationService getSharedInstance() {
+        return SharedInstanceHolder.SHARED_INSTANCE;
+    }
+
+    public FilterComputationService( final int numberOfWorkerThreads ) {
+        latestRequests = new IdentityHashMap<>();
+
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread( runnable,
+                                              "filter-computation-" //$NON-NLS-1$
+                                                      + threadNumber.incrementAndGet() );
+            thread.setDaemon( true );
+            thread.setPriority( Thread.NORM_PRIORITY - 1 );
+            return thread;
+        };
+        executorService = Executors.newFixedThreadPool( numberOfWorkerThreads, threadFactory );
+    }
+
+    /**
+     * Submits a computation on behalf of a requester, superseding any of that
+     * requester's earlier computations that have not yet been delivered.
+     *
+     * @param requester
+     *            The requester, compared by identity
+     * @param computation
+     *            The computation to run on a worker thread
+     * @param resultHandler
+     *            The handler for the result, called on the JavaFX Application
+     *            Thread only if no newer request has been made in the meantime
+     * @param <T>
+     *            The result type of the computation
+     */
+    public < T > void submit( final Object requester,
+                              final Callable< T > computation,
+                              final Consumer< T > resultHandler ) {
+        LatestRequest latestRequest = latestRequests.get( requester );
+        if ( latestRequest == null ) {
+            latestRequest = new LatestRequest();
+            latestRequests.put( requester, latestRequest );
+        }
+        else if ( ( latestRequest.future != null ) && !latestRequest.future.isDone() ) {
+            latestRequest.future.cancel( true );
+            cancelledRequestCount++;
+        }
+
+        final long sequenceNumber = ++latestRequest.sequenceNumber;
+        final LatestRequest request = latestRequest;
+        submittedRequestCount++;
+
+        request.future = executorService.submit( () -> {
+            final T result;
+            try {
+                result = computation.call();
+            }
+            catch ( final InterruptedException ie ) {
+                // Superseded while running, so there is nothing to deliver.
+                return;
+            }
+            catch ( final Exception e ) {
+                e.printStackTrace();
+                return;
+            }
+            if ( Thread.currentThread().isInterrupted() ) {
+                return;
+            }
+
+            // NOTE: The sequence check happens on the JavaFX Application
+            //  Thread, so it cannot race with a newer submission.
+            Platform.runLater( () -> {
+                if ( request.sequenceNumber != sequenceNumber ) {
+                    return;
+                }
+                request.future = null;
+
+                // Forget the requester once it is up to date, so that a
+                // long-lived service does not hold on to disposed controls.
+                latestRequests.remove( requester, request );
+                deliveredResultCount++;
+                resultHandler.accept( result );
+            } );
+        } );
+    }
+
+    /**
+     * Cancels the latest computation of a requester, if still outstanding,
+     * and forgets the requester, such as when its controls are disposed.
+     *
+     * @param requester
+     *            The requester, compared by identity
+     */
+    public void cancel( final Object requester ) {
+        final LatestRequest latestRequest = latestRequests.remove( requester );
+        if ( latestRequest == null ) {
+            return;
+        }
+
+        // Make sure a result that is already queued is not delivered.
+        latestRequest.sequenceNumber++;
+        if ( ( latestRequest.future != null ) && !latestRequest.future.isDone() ) {
+            latestRequest.future.cancel( true );
+            cancelledRequestCount++;
+        }
+    }
+
+    /**
+     * Stops the worker threads; outstanding computations are abandoned.
+     */
+    public void shutdown() {
+        executorService.shutdownNow();
+        latestRequests.clear();
+    }
+
+    public long getSubmittedRequestCount() {
+        return submittedRequestCount;
+    }
+
+    public long getCancelledRequestCount() {
+        return cancelledRequestCount;
+    }
+
+    public long getDeliveredResultCount() {
+        return deliveredResultCount;
+    }
+}
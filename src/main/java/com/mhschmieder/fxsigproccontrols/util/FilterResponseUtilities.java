@@ -0,0 +1,366 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.util;
+
+import com.mhschmieder.jsigproc.filter.HighLowPassFilterType;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * This is a utility class for computing approximate magnitude responses of
+ * the filters represented by the Signal Processing controls, for display.
+ * <p>
+ * All methods write into caller-supplied primitive arrays that are sampled on
+ * a shared frequency grid, so that display code can cache per-filter results
+ * and recompute only the filters that have changed, without allocating.
+ * <p>
+ * NOTE: These are analog prototype responses, which are accurate enough for
+ *  display purposes well below the Nyquist frequency, and which do not depend
+ *  on the sample rate of the DSP that eventually realizes the filters.
+ */
+public final class FilterResponseUtilities {
+
+    /**
+     * The default constructor is disabled, as this is a static utility class.
+     */
+    private FilterResponseUtilities() {}
+
+    /**
+     * Returns a logarithmically spaced frequency grid, inclusive of both ends.
+     *
+     * @param minimumFrequencyHz
+     *            The lowest frequency in the grid, in Hz
+     * @param maximumFrequencyHz
+     *            The highest frequency in the grid, in Hz
+     * @param numberOfPoints
+     *            The number of points in the grid (at least two)
+     * @return A new array of ascending log-spaced frequencies, in Hz
+     */
+    public static double[] makeLogFrequencyGrid( final double minimumFrequencyHz,
+                                                 final double maximumFrequencyHz,
+                                                 final int numberOfPoints ) {
+        final double[] frequenciesHz = new double[ numberOfPoints ];
+        final double logMinimum = FastMath.log( minimumFrequencyHz );
+        final double logStep = ( FastMath.log( maximumFrequencyHz ) - logMinimum )
+                / ( numberOfPoints - 1 );
+        for ( int i = 0; i < numberOfPoints; i++ ) {
+            frequenciesHz[ i ] = FastMath.exp( logMinimum + ( i * logStep ) );
+        }
+
+        // Avoid round-off at the end points, as callers may compare to them.
+        frequenciesHz[ 0 ] = minimumFrequencyHz;
+        frequenciesHz[ numberOfPoints - 1 ] = maximumFrequencyHz;
+
+        return frequenciesHz;
+    }
+
+    /**
+     * Converts a bandwidth in octaves to the equivalent Q factor.
+     *
+     * @param bandwidthOctaves
+     *            The bandwidth, in octaves
+     * @return The equivalent Q factor
+     */
+    public static double getQFactorFromOctaveBandwidth( final double bandwidthOctaves ) {
+        final double bandwidthRatio = FastMath.pow( 2.0d, bandwidthOctaves );
+        return FastMath.sqrt( bandwidthRatio ) / ( bandwidthRatio - 1.0d );
+    }
+
+    /**
+     * Computes the magnitude response of a parametric (peaking) filter.
+     *
+     * @param frequenciesHz
+     *            The frequency grid to sample the response on, in Hz
+     * @param centerFrequencyHz
+     *            The center frequency of the filter, in Hz
+     * @param qFactor
+     *            The Q factor of the filter
+     * @param gainDb
+     *            The boost or cut at the center frequency, in dB
+     * @param magnitudesDb
+     *            The array to write the magnitude response into, in dB
+     */
+    public static void computeParametricMagnitudeDb( final double[] frequenciesHz,
+                                                     final double centerFrequencyHz,
+                                                     final double qFactor,
+                                                     final double gainDb,
+                                                     final double[] magnitudesDb ) {
+        final int numberOfPoints = frequenciesHz.length;
+
+        // A flat or degenerate filter contributes nothing, so skip the math.
+        if ( ( gainDb == 0.0d ) || !( centerFrequencyHz > 0.0d ) || !( qFactor > 0.0d ) ) {
+            for ( int i = 0; i < numberOfPoints; i++ ) {
+                magnitudesDb[ i ] = 0.0d;
+            }
+            return;
+        }
+
+        final double amplitude = FastMath.pow( 10.0d, gainDb / 40.0d );
+        final double numeratorDamping = amplitude / qFactor;
+        final double denominatorDamping = 1.0d / ( amplitude * qFactor );
+        for ( int i = 0; i < numberOfPoints; i++ ) {
+            final double w = frequenciesHz[ i ] / centerFrequencyHz;
+            final double real = 1.0d - ( w * w );
+            final double realSquared = real * real;
+            final double numeratorImaginary = w * numeratorDamping;
+            final double denominatorImaginary = w * denominatorDamping;
+            magnitudesDb[ i ] = 10.0d * FastMath
+                    .log10( ( realSquared + ( numeratorImaginary * numeratorImaginary ) )
+                            / ( realSquared + ( denominatorImaginary * denominatorImaginary ) ) );
+        }
+    }
+
+    /**
+     * Computes the phase and group delay responses of a second order all-pass
+     * filter, in one pass. The phase is continuous (unwrapped), falling from 0
+     * to -360 degrees, and passes through -180 degrees at the center frequency.
+     *
+     * @param frequenciesHz
+     *            The frequency grid to sample the responses on, in Hz
+     * @param centerFrequencyHz
+     *            The center frequency of the filter, in Hz
+     * @param qFactor
+     *            The Q factor of the filter
+     * @param phasesDegrees
+     *            The array to write the phase response into, in degrees
+     * @param groupDelaysMs
+     *            The array to write the group delay response into, in ms
+     */
+    public static void computeAllPassResponse( final double[] frequenciesHz,
+                                               final double centerFrequencyHz,
+                                               final double qFactor,
+                                               final double[] phasesDegrees,
+                                               final double[] groupDelaysMs ) {
+        final int numberOfPoints = frequenciesHz.length;
+
+        // A degenerate filter contributes nothing, so skip the math.
+        if ( !( centerFrequencyHz > 0.0d ) || !( qFactor > 0.0d ) ) {
+            for ( int i = 0; i < numberOfPoints; i++ ) {
+                phasesDegrees[ i ] = 0.0d;
+                groupDelaysMs[ i ] = 0.0d;
+            }
+            return;
+        }
+
+        // NOTE: The phase is -2 * atan2( w / Q, 1 - w^2 ), whose derivative
+        //  with respect to angular frequency gives the group delay directly.
+        final double damping = 1.0d / qFactor;
+        final double delayScaleMs = 1000.0d / ( FastMath.PI * centerFrequencyHz );
+        for ( int i = 0; i < numberOfPoints; i++ ) {
+            final double w = frequenciesHz[ i ] / centerFrequencyHz;
+            final double real = 1.0d - ( w * w );
+            final double imaginary = w * damping;
+            phasesDegrees[ i ] = -2.0d * FastMath.toDegrees( FastMath.atan2( imaginary, real ) );
+            groupDelaysMs[ i ] = ( delayScaleMs * damping * ( 1.0d + ( w * w ) ) )
+                    / ( ( real * real ) + ( imaginary * imaginary ) );
+        }
+    }
+
+    /**
+     * Returns whether the supplied High/Low Pass Filter Type is a high pass.
+     *
+     * @param highLowPassFilterType
+     *            The High/Low Pass Filter Type to check
+     * @return true if the filter type is a high pass filter; false otherwise
+     */
+    public static boolean isHighPass( final HighLowPassFilterType highLowPassFilterType ) {
+        switch ( highLowPassFilterType ) {
+        case SECOND_ORDER_HIGH_PASS:
+        case ELLIPTICAL_HIGH_PASS:
+        case BUTTERWORTH_1_HIGH_PASS:
+        case BUTTERWORTH_2_HIGH_PASS:
+        case BUTTERWORTH_3_HIGH_PASS:
+        case BUTTERWORTH_4_HIGH_PASS:
+        case BUTTERWORTH_5_HIGH_PASS:
+        case BUTTERWORTH_6_HIGH_PASS:
+        case BUTTERWORTH_7_HIGH_PASS:
+        case BUTTERWORTH_8_HIGH_PASS:
+        case LINKWITZ_RILEY_2_HIGH_PASS:
+        case LINKWITZ_RILEY_4_HIGH_PASS:
+            return true;
+        case LOW_PASS:
+        case BUTTERWORTH_1_LOW_PASS:
+        case BUTTERWORTH_2_LOW_PASS:
+        case BUTTERWORTH_3_LOW_PASS:
+        case BUTTERWORTH_4_LOW_PASS:
+        case BUTTERWORTH_5_LOW_PASS:
+        case BUTTERWORTH_6_LOW_PASS:
+        case BUTTERWORTH_7_LOW_PASS:
+        case BUTTERWORTH_8_LOW_PASS:
+        case LINKWITZ_RILEY_2_LOW_PASS:
+        case LINKWITZ_RILEY_4_LOW_PASS:
+            return false;
+        default:
+            throw new IllegalArgumentException( "Unsupported High/Low Pass Filter Type: " //$NON-NLS-1$
+                    + highLowPassFilterType );
+        }
+    }
+
+    /**
+     * Returns the order of the Butterworth section that the supplied High/Low
+     * Pass Filter Type is built from. Linkwitz-Riley filters are two cascaded
+     * Butterworth sections of half their nominal order, so we return the
+     * order of one section and let the caller double the magnitude in dB.
+     * <p>
+     * NOTE: The elliptical filter is displayed as a fourth order Butterworth,
+     *  as its exact response depends on ripple and stop-band parameters that
+     *  are owned by the DSP; this is close enough for a response preview.
+     *
+     * @param highLowPassFilterType
+     *            The High/Low Pass Filter Type to query
+     * @return The order of one Butterworth section of the filter
+     * @throws IllegalArgumentException
+     *             if the filter type is not one that we know the order of
+     */
+    public static int getButterworthSectionOrder( final HighLowPassFilterType highLowPassFilterType ) {
+        switch ( highLowPassFilterType ) {
+        case BUTTERWORTH_1_HIGH_PASS:
+        case BUTTERWORTH_1_LOW_PASS:
+        case LINKWITZ_RILEY_2_HIGH_PASS:
+        case LINKWITZ_RILEY_2_LOW_PASS:
+            return 1;
+        case LOW_PASS:
+        case SECOND_ORDER_HIGH_PASS:
+        case BUTTERWORTH_2_HIGH_PASS:
+        case BUTTERWORTH_2_LOW_PASS:
+        case LINKWITZ_RILEY_4_HIGH_PASS:
+        case LINKWITZ_RILEY_4_LOW_PASS:
+            return 2;
+        case BUTTERWORTH_3_HIGH_PASS:
+        case BUTTERWORTH_3_LOW_PASS:
+            return 3;
+        case ELLIPTICAL_HIGH_PASS:
+        case BUTTERWORTH_4_HIGH_PASS:
+        case BUTTERWORTH_4_LOW_PASS:
+            return 4;
+        case BUTTERWORTH_5_HIGH_PASS:
+        case BUTTERWORTH_5_LOW_PASS:
+            return 5;
+        case BUTTERWORTH_6_HIGH_PASS:
+        case BUTTERWORTH_6_LOW_PASS:
+            return 6;
+        case BUTTERWORTH_7_HIGH_PASS:
+        case BUTTERWORTH_7_LOW_PASS:
+            return 7;
+        case BUTTERWORTH_8_HIGH_PASS:
+        case BUTTERWORTH_8_LOW_PASS:
+            return 8;
+        default:
+            throw new IllegalArgumentException( "Unsupported High/Low Pass Filter Type: " //$NON-NLS-1$
+                    + highLowPassFilterType );
+        }
+    }
+
+    /**
+     * Returns whether the supplied High/Low Pass Filter Type is Linkwitz-Riley.
+     *
+     * @param highLowPassFilterType
+     *            The High/Low Pass Filter Type to check
+     * @return true if the filter type is Linkwitz-Riley; false otherwise
+     */
+    public static boolean isLinkwitzRiley( final HighLowPassFilterType highLowPassFilterType ) {
+        switch ( highLowPassFilterType ) {
+        case LINKWITZ_RILEY_2_HIGH_PASS:
+        case LINKWITZ_RILEY_2_LOW_PASS:
+        case LINKWITZ_RILEY_4_HIGH_PASS:
+        case LINKWITZ_RILEY_4_LOW_PASS:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Returns the Q factors of the sections of a Butterworth filter of the
+     * supplied order: one per conjugate pole pair, followed by a zero for the
+     * real pole of an odd order filter, which is a first order section.
+     *
+     * @param butterworthOrder
+     *            The order of the Butterworth filter
+     * @return A new array of the Q factors of the sections
+     */
+    public static double[] getButterworthSectionQFactors( final int butterworthOrder ) {
+        final double[] qFactors = new double[ ( butterworthOrder + 1 ) / 2 ];
+        for ( int k = 0; k < ( butterworthOrder / 2 ); k++ ) {
+            final double poleAngle = ( ( ( 2 * k ) + 1 ) * FastMath.PI ) / ( 2 * butterworthOrder );
+            qFactors[ k ] = 1.0d / ( 2.0d * FastMath.sin( poleAngle ) );
+        }
+        return qFactors;
+    }
+
+    /**
+     * Returns whether the High Pass leg of a crossover of the supplied type
+     * should be wired in inverted polarity for the legs to sum flat. This is
+     * the case when the total order is 2, 6, 10 etc., as the legs are then in
+     * anti-phase at the crossover frequency.
+     *
+     * @param highLowPassFilterType
+     *            The High/Low Pass Filter Type of either leg of the crossover
+     * @return true if the High Pass leg should be inverted; false otherwise
+     */
+    public static boolean isCrossoverPolarityInverted( final HighLowPassFilterType highLowPassFilterType ) {
+        final int totalOrder = getButterworthSectionOrder( highLowPassFilterType )
+                * ( isLinkwitzRiley( highLowPassFilterType ) ? 2 : 1 );
+        return ( totalOrder % 4 ) == 2;
+    }
+
+    /**
+     * Computes the magnitude response of a High Pass or Low Pass filter.
+     *
+     * @param frequenciesHz
+     *            The frequency grid to sample the response on, in Hz
+     * @param highLowPassFilterType
+     *            The type of High Pass or Low Pass filter
+     * @param cutoffFrequencyHz
+     *            The cutoff frequency of the filter, in Hz
+     * @param magnitudesDb
+     *            The array to write the magnitude response into, in dB
+     */
+    public static void computeHighLowPassMagnitudeDb( final double[] frequenciesHz,
+                                                      final HighLowPassFilterType highLowPassFilterType,
+                                                      final double cutoffFrequencyHz,
+                                                      final double[] magnitudesDb ) {
+        final boolean highPass = isHighPass( highLowPassFilterType );
+        final int sectionOrder = getButterworthSectionOrder( highLowPassFilterType );
+        final double numberOfSections = isLinkwitzRiley( highLowPassFilterType ) ? 2.0d : 1.0d;
+        final int twiceOrder = 2 * sectionOrder;
+
+        for ( int i = 0; i < frequenciesHz.length; i++ ) {
+            final double ratio = highPass
+                ? cutoffFrequencyHz / frequenciesHz[ i ]
+                : frequenciesHz[ i ] / cutoffFrequencyHz;
+            double ratioPower = 1.0d;
+            for ( int n = 0; n < twiceOrder; n++ ) {
+                ratioPower *= ratio;
+            }
+            magnitudesDb[ i ] = -10.0d * numberOfSections * FastMath.log10( 1.0d + ratioPower );
+        }
+    }
+}
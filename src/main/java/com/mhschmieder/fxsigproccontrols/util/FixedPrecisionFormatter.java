@@ -0,0 +1,384 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.util;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * A fixed-precision number formatter for editor and table cell display, which
+ * writes into a reusable character buffer instead of going through the JDK
+ * number formatting machinery and string decoration.
+ * <p>
+ * Formatted strings are kept in a small direct-mapped cache keyed by value and
+ * precision, which is pre-populated with the ISO preferred centre frequencies,
+ * so that refreshing large tables of mostly standard values allocates almost
+ * nothing. The output matches the editors' display conventions: rounding to
+ * at most the given number of decimal places, with trailing zeros dropped.
+ * <p>
+ * NOTE: Unless told otherwise, the formatter uses the US decimal separator
+ *  and minus sign, as the editors' parse paths (and the pattern-matchers
+ *  behind them) only accept US number formats, so displayed values must be
+ *  in that format to survive being committed again.
+ * <p>
+ * NOTE: Instances are not thread-safe, as the buffer and cache are shared by
+ *  all calls; this is fine for the JavaFX Application Thread, which is where
+ *  all display formatting happens.
+ */
+public final class FixedPrecisionFormatter {
+
+    // The locale whose number symbols the editors can parse back in.
+    public static final Locale     DISPLAY_LOCALE         = Locale.US;
+
+    // The maximum number of decimal places supported by the fast path.
+    public static final int        MAXIMUM_DECIMAL_PLACES = 6;
+
+    // The number of entries in the direct-mapped string cache (power of two).
+    private static final int       CACHE_SIZE             = 1024;
+
+    // The ISO preferred (R10) third octave centre frequencies from 10 Hz to
+    // 20 kHz, plus the power-of-two defaults used by the All Pass Filters.
+    private static final double[]  ISO_CENTER_FREQUENCIES_HZ = new double[] {
+                                                                              10d,
+                                                                              12.5d,
+                                                                              16d,
+                                                                              20d,
+                                                                              25d,
+                                                                              31.5d,
+                                                                              32d,
+                                                                              40d,
+                                                                              50d,
+                                                                              63d,
+                                                                              64d,
+                                                                              80d,
+                                                                              100d,
+                                                                              125d,
+                                                                              128d,
+                                                                              160d,
+                                                                              200d,
+                                                                              250d,
+                                                                              256d,
+                                                                              315d,
+                                                                              400d,
+                                                                              500d,
+                                                                              630d,
+                                                                              800d,
+                                                                              1000d,
+                                                                              1250d,
+                                                                              1600d,
+                                                                              2000d,
+                                                                              2500d,
+                                                                              3150d,
+                                                                              4000d,
+                                                                              5000d,
+                                                                              6300d,
+                                                                              8000d,
+                                                                              10000d,
+                                                                              12500d,
+                                                                              16000d,
+                                                                              20000d };
+
+    private static final long[]    POWERS_OF_TEN          = new long[] {
+                                                                         1L,
+                                                                         10L,
+                                                                         100L,
+                                                                         1000L,
+                                                                         10000L,
+                                                                         100000L,
+                                                                         1000000L };
+
+    // The largest magnitude that can be scaled into a long without overflow.
+    private static final double    MAXIMUM_FAST_PATH_VALUE = 1.0e12d;
+
+    private final char             decimalSeparator;
+    private final char             minusSign;
+
+    // Optional suffix (such as a measurement unit) for all formatted values.
+    private final char[]           suffix;
+
+    // Reusable output buffer; large enough for any fast-path result.
+    private final char[]           buffer;
+    private int                    length;
+
+    // The direct-mapped cache of formatted strings.
+    private final long[]           cacheValueBits;
+    private final int[]            cacheFormats;
+    private final String[]         cacheStrings;
+
+    private long                   numberOfCacheHits;
+    private long                   numberOfCacheMisses;
+
+    public FixedPrecisionFormatter() {
+        this( DISPLAY_LOCALE, "" ); //$NON-NLS-1$
+    }
+
+    public FixedPrecisionFormatter( final String pSuffix ) {
+        this( DISPLAY_LOCALE, pSuffix );
+    }
+
+    public FixedPrecisionFormatter( final Locale locale ) {
+        this( locale, "" ); //$NON-NLS-1$
+    }
+
+    public FixedPrecisionFormatter( final Locale locale, final String pSuffix ) {
+        final DecimalFormatSymbols decimalFormatSymbols = DecimalFormatSymbols
+                .getInstance( locale );
+        decimalSeparator = decimalFormatSymbols.getDecimalSeparator();
+        minusSign = decimalFormatSymbols.getMinusSign();
+        suffix = pSuffix.toCharArray();
+
+        buffer = new char[ 32 + suffix.length ];
+        length = 0;
+
+        cacheValueBits = new long[ CACHE_SIZE ];
+        cacheFormats = new int[ CACHE_SIZE ];
+        cacheStrings = new String[ CACHE_SIZE ];
+
+        // Pre-populate the cache with the most common centre frequencies, at
+        // the precisions most commonly used for frequency display.
+        for ( final double centerFrequencyHz : ISO_CENTER_FREQUENCIES_HZ ) {
+            format( centerFrequencyHz, 0, false );
+            format( centerFrequencyHz, 1, false );
+            format( centerFrequencyHz, 2, false );
+        }
+        numberOfCacheMisses = 0L;
+    }
+
+    /**
+     * Formats a frequency per the Frequency Editor precision rule: integers
+     * at and above the precision cutoff frequency, and up to the given number
+     * of decimal places below it.
+     *
+     * @param frequencyHz
+     *            The frequency to format, in Hz
+     * @param precisionCutoffFrequencyHz
+     *            The frequency at and above which integers are displayed
+     * @param numberOfDecimalPlaces
+     *            The maximum number of decimal places below the cutoff
+     * @return The formatted frequency
+     */
+    public String formatFrequency( final double frequencyHz,
+                                   final double precisionCutoffFrequencyHz,
+                                   final int numberOfDecimalPlaces ) {
+        final int decimalPlaces = ( frequencyHz >= precisionCutoffFrequencyHz )
+            ? 0
+            : numberOfDecimalPlaces;
+        return format( frequencyHz, decimalPlaces, false );
+    }
+
+    /**
+     * Formats a gain per the Gain Editor sign conventions: when defaulting to
+     * negative gain, positive values get an explicit positive sign so that
+     * they are not mistaken for (or re-parsed as) negative values.
+     *
+     * @param gainDb
+     *            The gain to format, in dB
+     * @param numberOfDecimalPlaces
+     *            The maximum number of decimal places
+     * @param defaultToNegativeGain
+     *            true if positive gain must be explicitly signed
+     * @return The formatted gain
+     */
+    public String formatGain( final double gainDb,
+                              final int numberOfDecimalPlaces,
+                              final boolean defaultToNegativeGain ) {
+        return format( gainDb, numberOfDecimalPlaces, defaultToNegativeGain && ( gainDb > 0.0d ) );
+    }
+
+    /**
+     * Formats a value with up to the given number of decimal places, dropping
+     * trailing zeros, and returns a cached string whenever possible.
+     *
+     * @param value
+     *            The value to format
+     * @param numberOfDecimalPlaces
+     *            The maximum number of decimal places
+     * @param forcePositiveSign
+     *            true if positive values should be prefixed by a plus sign
+     * @return The formatted value
+     */
+    public String format( final double value,
+                          final int numberOfDecimalPlaces,
+                          final boolean forcePositiveSign ) {
+        final int decimalPlaces = Math.max( 0,
+                                            Math.min( MAXIMUM_DECIMAL_PLACES,
+                                                      numberOfDecimalPlaces ) );
+        final int format = ( decimalPlaces << 1 ) | ( forcePositiveSign ? 1 : 0 );
+        final long valueBits = Double.doubleToLongBits( value );
+
+        final int cacheIndex = getCacheIndex( valueBits, format );
+        final String cachedString = cacheStrings[ cacheIndex ];
+        if ( ( cachedString != null ) && ( cacheValueBits[ cacheIndex ] == valueBits )
+                && ( cacheFormats[ cacheIndex ] == format ) ) {
+            numberOfCacheHits++;
+            return cachedString;
+        }
+
+        numberOfCacheMisses++;
+        final String formattedString = formatToBuffer( value, decimalPlaces, forcePositiveSign )
+            ? new String( buffer, 0, length )
+            : formatSlowPath( value, forcePositiveSign ) + new String( suffix );
+
+        cacheValueBits[ cacheIndex ] = valueBits;
+        cacheFormats[ cacheIndex ] = format;
+        cacheStrings[ cacheIndex ] = formattedString;
+
+        return formattedString;
+    }
+
+    /**
+     * Formats a value into the reusable buffer without making a string, for
+     * callers that can consume characters directly. Returns false if the value
+     * is outside the fast-path range (non-finite or too large), in which case
+     * the buffer contents are undefined.
+     *
+     * @param value
+     *            The value to format
+     * @param numberOfDecimalPlaces
+     *            The maximum number of decimal places
+     * @param forcePositiveSign
+     *            true if positive values should be prefixed by a plus sign
+     * @return true if the value was formatted into the buffer
+     */
+    public boolean formatToBuffer( final double value,
+                                   final int numberOfDecimalPlaces,
+                                   final boolean forcePositiveSign ) {
+        length = 0;
+        if ( Double.isNaN( value ) || Double.isInfinite( value )
+                || ( FastMath.abs( value ) >= MAXIMUM_FAST_PATH_VALUE ) ) {
+            return false;
+        }
+
+        final int decimalPlaces = Math.max( 0,
+                                            Math.min( MAXIMUM_DECIMAL_PLACES,
+                                                      numberOfDecimalPlaces ) );
+        final long scale = POWERS_OF_TEN[ decimalPlaces ];
+        long scaledValue = FastMath.round( FastMath.abs( value ) * scale );
+
+        // Drop trailing zeros, as the editors use zero minimum fraction digits.
+        int fractionDigits = decimalPlaces;
+        while ( ( fractionDigits > 0 ) && ( ( scaledValue % 10L ) == 0L ) ) {
+            scaledValue /= 10L;
+            fractionDigits--;
+        }
+
+        // Zero is never signed, whether it came from -0.0 or from rounding.
+        if ( scaledValue == 0L ) {
+            buffer[ length++ ] = '0';
+            appendSuffix();
+            return true;
+        }
+
+        if ( value < 0.0d ) {
+            buffer[ length++ ] = minusSign;
+        }
+        else if ( forcePositiveSign ) {
+            buffer[ length++ ] = '+';
+        }
+
+        // Write the digits right to left, into their final positions.
+        final int numberOfIntegerDigits = getNumberOfIntegerDigits( scaledValue, fractionDigits );
+        final int end = length + numberOfIntegerDigits
+                + ( ( fractionDigits > 0 ) ? ( fractionDigits + 1 ) : 0 );
+        int position = end;
+        for ( int i = 0; i < fractionDigits; i++ ) {
+            buffer[ --position ] = ( char ) ( '0' + ( scaledValue % 10L ) );
+            scaledValue /= 10L;
+        }
+        if ( fractionDigits > 0 ) {
+            buffer[ --position ] = decimalSeparator;
+        }
+        do {
+            buffer[ --position ] = ( char ) ( '0' + ( scaledValue % 10L ) );
+            scaledValue /= 10L;
+        }
+        while ( position > length );
+        length = end;
+
+        appendSuffix();
+
+        return true;
+    }
+
+    private void appendSuffix() {
+        System.arraycopy( suffix, 0, buffer, length, suffix.length );
+        length += suffix.length;
+    }
+
+    // Count the integer digits; there is always at least one (e.g. "0.5").
+    private static int getNumberOfIntegerDigits( final long scaledValue,
+                                                 final int fractionDigits ) {
+        long integerPart = scaledValue / POWERS_OF_TEN[ fractionDigits ];
+        int numberOfDigits = 1;
+        while ( integerPart >= 10L ) {
+            integerPart /= 10L;
+            numberOfDigits++;
+        }
+        return numberOfDigits;
+    }
+
+    // Out-of-range values are rare enough to not bother optimizing.
+    private static String formatSlowPath( final double value, final boolean forcePositiveSign ) {
+        final String valueText = Double.toString( value );
+        return ( forcePositiveSign && ( value > 0.0d ) ) ? "+" + valueText : valueText; //$NON-NLS-1$
+    }
+
+    private static int getCacheIndex( final long valueBits, final int format ) {
+        long hash = valueBits ^ ( valueBits >>> 29 ) ^ ( ( long ) format * 0x9E3779B97F4A7C15L );
+        hash ^= ( hash >>> 32 );
+        return ( int ) hash & ( CACHE_SIZE - 1 );
+    }
+
+    /**
+     * Returns the reusable output buffer of the last call to
+     * {@link #formatToBuffer(double, int, boolean)}; only the first
+     * {@link #getLength()} characters are valid.
+     *
+     * @return The reusable output buffer
+     */
+    public char[] getBuffer() {
+        return buffer;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public long getNumberOfCacheHits() {
+        return numberOfCacheHits;
+    }
+
+    public long getNumberOfCacheMisses() {
+        return numberOfCacheMisses;
+    }
+}
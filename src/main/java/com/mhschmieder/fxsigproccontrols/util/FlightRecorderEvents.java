@@ -0,0 +1,290 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.util;
+
+import java.util.BitSet;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Java Flight Recorder events behind {@link SigprocEvents}, which are the
+ * only references to the Flight Recorder API in this library.
+ * <p>
+ * NOTE: This class must only be reached via {@link SigprocEvents}, once it
+ *  has found the Flight Recorder API to be present, as otherwise the event
+ *  classes fail to load (such as on Java 8 before Update 262).
+ */
+final class FlightRecorderEvents {
+
+    private static final String EVENT_CATEGORY = "FxSigProc"; //$NON-NLS-1$
+
+    private FlightRecorderEvents() {}
+
+    @Name("com.mhschmieder.fxsigproc.EditorCommit")
+    @Label("Editor Commit")
+    @Category(EVENT_CATEGORY)
+    @Description("A committed editor value, timed over delivery to its committed value listeners")
+    @StackTrace(false)
+    static final class EditorCommitEvent extends Event {
+        @Label("Control Type")
+        String controlType;
+
+        @Label("Channel")
+        int    channel;
+
+        @Label("Filter Number")
+        int    filterNumber;
+
+        @Label("Value")
+        double value;
+    }
+
+    @Name("com.mhschmieder.fxsigproc.SelectionChange")
+    @Label("Selection Change")
+    @Category(EVENT_CATEGORY)
+    @Description("A change of selection in a filter type or filter slope selector, timed over delivery to its selection listeners")
+    @StackTrace(false)
+    static final class SelectionChangeEvent extends Event {
+        @Label("Control Type")
+        String controlType;
+
+        @Label("Channel")
+        int    channel;
+
+        @Label("Filter Number")
+        int    filterNumber;
+
+        @Label("Old Value")
+        String oldValue;
+
+        @Label("New Value")
+        String newValue;
+    }
+
+    @Name("com.mhschmieder.fxsigproc.BypassToggle")
+    @Label("Bypass Toggle")
+    @Category(EVENT_CATEGORY)
+    @Description("A filter or processing block being bypassed or enabled by the user, timed over delivery to its selection listeners")
+    @StackTrace(false)
+    static final class BypassToggleEvent extends Event {
+        @Label("Control Text")
+        String  controlText;
+
+        @Label("Channel")
+        int     channel;
+
+        @Label("Filter Number")
+        int     filterNumber;
+
+        @Label("Bypassed")
+        boolean bypassed;
+    }
+
+    @Name("com.mhschmieder.fxsigproc.MasterLevelSettingsChange")
+    @Label("Master Level Settings Change")
+    @Category(EVENT_CATEGORY)
+    @Description("A user change of mute or polarity in the Master Level Settings controls, timed over delivery to its selection listeners")
+    @StackTrace(false)
+    static final class MasterLevelSettingsChangeEvent extends Event {
+        @Label("Channel")
+        int    channel;
+
+        @Label("Setting")
+        String setting;
+
+        @Label("Value")
+        double value;
+    }
+
+    @Name("com.mhschmieder.fxsigproc.MasterLevelSettingsBankChange")
+    @Label("Master Level Settings Bank Change")
+    @Category(EVENT_CATEGORY)
+    @Description("A batch of channel changes in a bank, timed over delivery to its listeners")
+    @StackTrace(false)
+    static final class MasterLevelSettingsBankChangeEvent extends Event {
+        @Label("First Channel")
+        int firstChannel;
+
+        @Label("Last Channel")
+        int lastChannel;
+
+        @Label("Changed Channels")
+        int numberOfChangedChannels;
+    }
+
+    // The event types, whose enabled state is checked before making an event,
+    // as events that escape (such as across a listener delivery loop) cannot
+    // have their allocation removed by the JIT compiler.
+    private static final EventType EDITOR_COMMIT_EVENT_TYPE =
+            EventType.getEventType( EditorCommitEvent.class );
+    private static final EventType SELECTION_CHANGE_EVENT_TYPE =
+            EventType.getEventType( SelectionChangeEvent.class );
+    private static final EventType BYPASS_TOGGLE_EVENT_TYPE =
+            EventType.getEventType( BypassToggleEvent.class );
+    private static final EventType MASTER_LEVEL_SETTINGS_CHANGE_EVENT_TYPE =
+            EventType.getEventType( MasterLevelSettingsChangeEvent.class );
+    private static final EventType MASTER_LEVEL_SETTINGS_BANK_CHANGE_EVENT_TYPE =
+            EventType.getEventType( MasterLevelSettingsBankChangeEvent.class );
+
+    // Load and link one of the events, so that any failure to do so (such as
+    // in a modular application that does not read jdk.jfr) shows up at once.
+    static void link() {
+        new SelectionChangeEvent();
+    }
+
+    static Object beginEditorCommit() {
+        if ( !EDITOR_COMMIT_EVENT_TYPE.isEnabled() ) {
+            return null;
+        }
+        final EditorCommitEvent event = new EditorCommitEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitEditorCommit( final Object pEvent,
+                                    final Object source,
+                                    final double value ) {
+        final EditorCommitEvent event = ( EditorCommitEvent ) pEvent;
+        event.end();
+        if ( !event.shouldCommit() ) {
+            return;
+        }
+        event.controlType = SigprocEvents.getControlType( source );
+        event.channel = SigprocEvents.getChannel( source );
+        event.filterNumber = SigprocEvents.getFilterNumber( source );
+        event.value = value;
+        event.commit();
+    }
+
+    static Object beginSelectionChange() {
+        if ( !SELECTION_CHANGE_EVENT_TYPE.isEnabled() ) {
+            return null;
+        }
+        final SelectionChangeEvent event = new SelectionChangeEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitSelectionChange( final Object pEvent,
+                                       final Object source,
+                                       final String oldValue,
+                                       final String newValue ) {
+        final SelectionChangeEvent event = ( SelectionChangeEvent ) pEvent;
+        event.end();
+        if ( !event.shouldCommit() ) {
+            return;
+        }
+        event.controlType = SigprocEvents.getControlType( source );
+        event.channel = SigprocEvents.getChannel( source );
+        event.filterNumber = SigprocEvents.getFilterNumber( source );
+        event.oldValue = oldValue;
+        event.newValue = newValue;
+        event.commit();
+    }
+
+    static Object beginBypassToggle() {
+        if ( !BYPASS_TOGGLE_EVENT_TYPE.isEnabled() ) {
+            return null;
+        }
+        final BypassToggleEvent event = new BypassToggleEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitBypassToggle( final Object pEvent,
+                                    final Object source,
+                                    final String controlText,
+                                    final boolean bypassed ) {
+        final BypassToggleEvent event = ( BypassToggleEvent ) pEvent;
+        event.end();
+        if ( !event.shouldCommit() ) {
+            return;
+        }
+        event.controlText = controlText;
+        event.channel = SigprocEvents.getChannel( source );
+        event.filterNumber = SigprocEvents.getFilterNumber( source );
+        event.bypassed = bypassed;
+        event.commit();
+    }
+
+    static Object beginMasterLevelSettingsChange() {
+        if ( !MASTER_LEVEL_SETTINGS_CHANGE_EVENT_TYPE.isEnabled() ) {
+            return null;
+        }
+        final MasterLevelSettingsChangeEvent event = new MasterLevelSettingsChangeEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitMasterLevelSettingsChange( final Object pEvent,
+                                                 final Object source,
+                                                 final String setting,
+                                                 final double value ) {
+        final MasterLevelSettingsChangeEvent event = ( MasterLevelSettingsChangeEvent ) pEvent;
+        event.end();
+        if ( !event.shouldCommit() ) {
+            return;
+        }
+        event.channel = SigprocEvents.getChannel( source );
+        event.setting = setting;
+        event.value = value;
+        event.commit();
+    }
+
+    static Object beginMasterLevelSettingsBankChange() {
+        if ( !MASTER_LEVEL_SETTINGS_BANK_CHANGE_EVENT_TYPE.isEnabled() ) {
+            return null;
+        }
+        final MasterLevelSettingsBankChangeEvent event = new MasterLevelSettingsBankChangeEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitMasterLevelSettingsBankChange( final Object pEvent,
+                                                     final BitSet changedChannels ) {
+        final MasterLevelSettingsBankChangeEvent event =
+                ( MasterLevelSettingsBankChangeEvent ) pEvent;
+        event.end();
+        if ( !event.shouldCommit() ) {
+            return;
+        }
+        event.firstChannel = changedChannels.nextSetBit( 0 );
+        event.lastChannel = changedChannels.length() - 1;
+        event.numberOfChangedChannels = changedChannels.cardinality();
+        event.commit();
+    }
+}
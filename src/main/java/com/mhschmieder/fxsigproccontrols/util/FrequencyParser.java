@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.util;
+
+/**
+ * A hand-written, allocation-free parser for frequency text as typed or pasted
+ * by users, which accepts plain Hz values as well as kHz shorthand.
+ * <p>
+ * Accepted forms include "1000", "31.5", "+63", "1.2k", "1k2" (the "k" acting
+ * as the decimal point, as on many hardware front panels), "20k", "20kHz",
+ * "20 kHz", "440 Hz" and "440hz"; leading and trailing whitespace is ignored
+ * and the unit letters are case-insensitive. Negative values, exponents,
+ * grouping separators and trailing garbage are rejected.
+ * <p>
+ * Invalid input is reported by returning NaN rather than throwing, as parse
+ * exceptions are expensive when users paste whole columns of values.
+ * <p>
+ * NOTE: The decimal separator is always a period, regardless of locale, as
+ *  with the "k" shorthand, this is a universal engineering notation.
+ */
+public final class FrequencyParser {
+
+    // The maximum number of significant digits we can hold in a long.
+    private static final int      MAXIMUM_NUMBER_OF_DIGITS = 18;
+
+    private static final double[] POWERS_OF_TEN           = new double[] {
+                                                                           1.0e0d,
+                                                                           1.0e1d,
+                                                                           1.0e2d,
+                                                                           1.0e3d,
+                                                                           1.0e4d,
+                                                                           1.0e5d,
+                                                                           1.0e6d,
+                                                                           1.0e7d,
+                                                                           1.0e8d,
+                                                                           1.0e9d,
+                                                                           1.0e10d,
+                                                                           1.0e11d,
+                                                                           1.0e12d,
+                                                                           1.0e13d,
+                                                                           1.0e14d,
+                                                                           1.0e15d,
+                                                                           1.0e16d,
+                                                                           1.0e17d,
+                                                                           1.0e18d };
+
+    /**
+     * The default constructor is disabled, as this is a static utility class.
+     */
+    private FrequencyParser() {}
+
+    /**
+     * Parses frequency text, in Hz or with kHz shorthand, into a value in Hz.
+     *
+     * @param text
+     *            The frequency text to parse
+     * @return The frequency in Hz, or NaN if the text is not a valid frequency
+     */
+    public static double parseFrequencyHz( final CharSequence text ) {
+        if ( text == null ) {
+            return Double.NaN;
+        }
+
+        int end = text.length();
+        int position = 0;
+
+        // Trim leading and trailing whitespace without making substrings.
+        while ( ( position < end ) && Character.isWhitespace( text.charAt( position ) ) ) {
+            position++;
+        }
+        while ( ( end > position ) && Character.isWhitespace( text.charAt( end - 1 ) ) ) {
+            end--;
+        }
+
+        // Strip an optional trailing "Hz" unit, and any space before it.
+        if ( ( ( end - position ) >= 2 )
+                && ( ( text.charAt( end - 1 ) == 'z' ) || ( text.charAt( end - 1 ) == 'Z' ) )
+                && ( ( text.charAt( end - 2 ) == 'h' ) || ( text.charAt( end - 2 ) == 'H' ) ) ) {
+            end -= 2;
+            while ( ( end > position ) && Character.isWhitespace( text.charAt( end - 1 ) ) ) {
+                end--;
+            }
+        }
+
+        // Strip an optional trailing kHz multiplier, and any space before it.
+        boolean kiloMultiplier = false;
+        if ( ( end > position )
+                && ( ( text.charAt( end - 1 ) == 'k' ) || ( text.charAt( end - 1 ) == 'K' ) ) ) {
+            kiloMultiplier = true;
+            end--;
+            while ( ( end > position ) && Character.isWhitespace( text.charAt( end - 1 ) ) ) {
+                end--;
+            }
+        }
+
+        // Allow an optional positive sign, as with the other editors.
+        if ( ( position < end ) && ( text.charAt( position ) == '+' ) ) {
+            position++;
+        }
+
+        long mantissa = 0L;
+        int numberOfDigits = 0;
+        int numberOfFractionDigits = 0;
+        boolean hasDigits = false;
+        boolean inFraction = false;
+
+        for ( ; position < end; position++ ) {
+            final char c = text.charAt( position );
+            if ( ( c >= '0' ) && ( c <= '9' ) ) {
+                // Leading zeros do not count against the significant digits.
+                if ( ( mantissa != 0L ) || ( c != '0' ) ) {
+                    if ( ++numberOfDigits > MAXIMUM_NUMBER_OF_DIGITS ) {
+                        return Double.NaN;
+                    }
+                }
+                mantissa = ( mantissa * 10L ) + ( c - '0' );
+                hasDigits = true;
+                if ( inFraction ) {
+                    if ( numberOfFractionDigits >= MAXIMUM_NUMBER_OF_DIGITS ) {
+                        return Double.NaN;
+                    }
+                    numberOfFractionDigits++;
+                }
+            }
+            else if ( c == '.' ) {
+                // Only one decimal point is allowed.
+                if ( inFraction ) {
+                    return Double.NaN;
+                }
+                inFraction = true;
+            }
+            else if ( ( c == 'k' ) || ( c == 'K' ) ) {
+                // An embedded "k" is the decimal point, as in "1k2", so it
+                // must follow at least one digit and cannot be combined with
+                // a decimal point or a trailing "k".
+                if ( inFraction || kiloMultiplier || !hasDigits ) {
+                    return Double.NaN;
+                }
+                kiloMultiplier = true;
+                inFraction = true;
+            }
+            else {
+                return Double.NaN;
+            }
+        }
+
+        if ( !hasDigits ) {
+            return Double.NaN;
+        }
+
+        final double value = mantissa / POWERS_OF_TEN[ numberOfFractionDigits ];
+        return kiloMultiplier ? value * 1000.0d : value;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.util;
+
+import java.util.Arrays;
+
+/**
+ * The ISO 266 preferred (nominal) centre frequencies, for fractional octave
+ * bands from 1/1 octave down to 1/24 octave, spanning 1 Hz to 100 kHz.
+ * <p>
+ * Each grid is precomputed once, as a sorted primitive array, from the R80
+ * series of preferred numbers; the R40, R20 and R10 series are its every 2nd,
+ * 4th and 8th members, and the octave series is every third R10 member, which
+ * is how the familiar 31.5, 63, 125, 250 Hz sequence arises. Lookups are by
+ * binary search, so snapping large imports of values is cheap.
+ * <p>
+ * "Nearest" is judged on a logarithmic frequency scale, as is the spacing.
+ */
+public enum IsoFrequencyGrid {
+    OCTAVE( 24 ),
+    THIRD_OCTAVE( 8 ),
+    SIXTH_OCTAVE( 4 ),
+    TWELFTH_OCTAVE( 2 ),
+    TWENTY_FOURTH_OCTAVE( 1 );
+
+    // NOTE: Enum constructors cannot refer to the enum's own static fields,
+    //  so the shared series table lives in a nested holder class.
+    private static final class PreferredNumbers {
+        // The R80 series of preferred numbers, for one decade.
+        static final double[] R80_SERIES        = new double[] {
+            1.00, 1.03, 1.06, 1.09, 1.12, 1.15, 1.18, 1.22, 1.25, 1.28,
+            1.32, 1.36, 1.40, 1.45, 1.50, 1.55, 1.60, 1.65, 1.70, 1.75,
+            1.80, 1.85, 1.90, 1.95, 2.00, 2.06, 2.12, 2.18, 2.24, 2.30,
+            2.36, 2.43, 2.50, 2.58, 2.65, 2.72, 2.80, 2.90, 3.00, 3.07,
+            3.15, 3.25, 3.35, 3.45, 3.55, 3.65, 3.75, 3.87, 4.00, 4.12,
+            4.25, 4.37, 4.50, 4.62, 4.75, 4.87, 5.00, 5.15, 5.30, 5.45,
+            5.60, 5.80, 6.00, 6.15, 6.30, 6.50, 6.70, 6.90, 7.10, 7.30,
+            7.50, 7.75, 8.00, 8.25, 8.50, 8.75, 9.00, 9.25, 9.50, 9.75 };
+
+        // The number of decades covered by the grids (1 Hz to 100 kHz).
+        static final int      NUMBER_OF_DECADES = 5;
+    }
+
+    private final double[] centerFrequenciesHz;
+
+    IsoFrequencyGrid( final int r80Step ) {
+        final double[] r80Series = PreferredNumbers.R80_SERIES;
+        final int lastR80Index = PreferredNumbers.NUMBER_OF_DECADES * r80Series.length;
+        centerFrequenciesHz = new double[ ( lastR80Index / r80Step ) + 1 ];
+
+        // NOTE: We round to the series precision after scaling by the decade,
+        //  to avoid values such as 31.499999999999996.
+        for ( int r80Index = 0, i = 0; r80Index <= lastR80Index; r80Index += r80Step ) {
+            final double decadeScale = Math.pow( 10.0d, r80Index / r80Series.length );
+            final double frequencyHz = r80Series[ r80Index % r80Series.length ] * decadeScale;
+            centerFrequenciesHz[ i++ ] = Math.round( frequencyHz * 100.0d ) / 100.0d;
+        }
+    }
+
+    /**
+     * Returns the nearest centre frequency, on a logarithmic scale.
+     *
+     * @param frequencyHz
+     *            The frequency to snap, in Hz
+     * @return The nearest centre frequency, in Hz
+     */
+    public double snap( final double frequencyHz ) {
+        if ( !( frequencyHz > 0.0d ) ) {
+            return frequencyHz;
+        }
+
+        final int index = Arrays.binarySearch( centerFrequenciesHz, frequencyHz );
+        if ( index >= 0 ) {
+            return centerFrequenciesHz[ index ];
+        }
+
+        final int upperIndex = -( index + 1 );
+        if ( upperIndex == 0 ) {
+            return centerFrequenciesHz[ 0 ];
+        }
+        if ( upperIndex == centerFrequenciesHz.length ) {
+            return centerFrequenciesHz[ centerFrequenciesHz.length - 1 ];
+        }
+
+        // Compare ratios rather than differences, so this is logarithmic.
+        final double lower = centerFrequenciesHz[ upperIndex - 1 ];
+        final double upper = centerFrequenciesHz[ upperIndex ];
+        return ( ( frequencyHz * frequencyHz ) < ( lower * upper ) ) ? lower : upper;
+    }
+
+    /**
+     * Snaps every frequency in the supplied array, in place.
+     *
+     * @param frequenciesHz
+     *            The frequencies to snap, in Hz
+     */
+    public void snap( final double[] frequenciesHz ) {
+        for ( int i = 0; i < frequenciesHz.length; i++ ) {
+            frequenciesHz[ i ] = snap( frequenciesHz[ i ] );
+        }
+    }
+
+    /**
+     * Returns the next centre frequency above the supplied frequency's nearest
+     * centre frequency, or that nearest frequency if already at the top.
+     *
+     * @param frequencyHz
+     *            The frequency to step up from, in Hz
+     * @return The next higher centre frequency, in Hz
+     */
+    public double next( final double frequencyHz ) {
+        final int index = Arrays.binarySearch( centerFrequenciesHz, snap( frequencyHz ) );
+        return centerFrequenciesHz[ Math.min( Math.max( index, 0 ) + 1,
+                                              centerFrequenciesHz.length - 1 ) ];
+    }
+
+    /**
+     * Returns the next centre frequency below the supplied frequency's nearest
+     * centre frequency, or that nearest frequency if already at the bottom.
+     *
+     * @param frequencyHz
+     *            The frequency to step down from, in Hz
+     * @return The next lower centre frequency, in Hz
+     */
+    public double previous( final double frequencyHz ) {
+        final int index = Arrays.binarySearch( centerFrequenciesHz, snap( frequencyHz ) );
+        return centerFrequenciesHz[ Math.max( index - 1, 0 ) ];
+    }
+
+    /**
+     * Returns a copy of the sorted centre frequencies of this grid.
+     *
+     * @return A copy of the centre frequencies, in Hz
+     */
+    public double[] getCenterFrequenciesHz() {
+        return centerFrequenciesHz.clone();
+    }
+
+    public int getNumberOfCenterFrequencies() {
+        return centerFrequenciesHz.length;
+    }
+}
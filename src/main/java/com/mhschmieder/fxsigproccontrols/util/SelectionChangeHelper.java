@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.util;
+
+import java.util.Arrays;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * Delivers a selector's selection changes to its downstream listeners, as the
+ * editors deliver their committed values.
+ * <p>
+ * Every selection change is recorded as a flight recorder event and in the
+ * metrics, timed over its delivery to the downstream listeners, so listeners
+ * that do real work on a change (such as recomputing responses) should be
+ * added here rather than to the selector's value, where they go untimed.
+ * <p>
+ * NOTE: As with the selectors themselves, this must only be used from the
+ *  JavaFX Application Thread.
+ */
+public final class SelectionChangeHelper {
+
+    // Shared by every helper until its first downstream listener is added.
+    @SuppressWarnings("rawtypes")
+    private static final ChangeListener[] NO_LISTENERS = new ChangeListener[ 0 ];
+
+    /**
+     * The control that owns the selection, for flight recorder events.
+     */
+    private final Object                         eventSource;
+
+    /**
+     * The control type that selection changes are recorded as, for metrics.
+     */
+    private final String                         metricsControlType;
+
+    /**
+     * The downstream listeners, which are replaced rather than modified so
+     * that listeners can be added or removed during delivery.
+     */
+    private ChangeListener< ? super String >[]   listeners;
+
+    @SuppressWarnings("unchecked")
+    public SelectionChangeHelper( final ObservableValue< String > selectedValue,
+                                  final Object pEventSource ) {
+        eventSource = pEventSource;
+        metricsControlType = ( eventSource != null )
+            ? eventSource.getClass().getSimpleName()
+            : SelectionChangeHelper.class.getSimpleName();
+
+        listeners = NO_LISTENERS;
+
+        selectedValue.addListener( this::deliver );
+    }
+
+    private void deliver( final ObservableValue< ? extends String > observable,
+                          final String oldValue,
+                          final String newValue ) {
+        // NOTE: The flight recorder event is timed over the delivery of the
+        //  selection to downstream listeners, which is where recomputing and
+        //  DSP pushes happen.
+        final ChangeListener< ? super String >[] deliveredListeners = listeners;
+        final long handlingStartNanos = SigprocMetrics.beginHandling();
+        final Object event = SigprocEvents.beginSelectionChange();
+        for ( final ChangeListener< ? super String > listener : deliveredListeners ) {
+            listener.changed( observable, oldValue, newValue );
+        }
+        SigprocEvents.commitSelectionChange( event, eventSource, oldValue, newValue );
+        SigprocMetrics.endHandling( metricsControlType,
+                                    handlingStartNanos,
+                                    deliveredListeners.length,
+                                    1 );
+    }
+
+    public void addListener( final ChangeListener< ? super String > listener ) {
+        final ChangeListener< ? super String >[] newListeners =
+                Arrays.copyOf( listeners, listeners.length + 1 );
+        newListeners[ listeners.length ] = listener;
+        listeners = newListeners;
+    }
+
+    public void removeListener( final ChangeListener< ? super String > listener ) {
+        for ( int i = 0; i < listeners.length; i++ ) {
+            if ( listeners[ i ] == listener ) {
+                final ChangeListener< ? super String >[] newListeners =
+                        Arrays.copyOf( listeners, listeners.length - 1 );
+                System.arraycopy( listeners, i + 1, newListeners, i, listeners.length - i - 1 );
+                listeners = newListeners;
+                return;
+            }
+        }
+    }
+
+    public int getNumberOfListeners() {
+        return listeners.length;
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.util;
+
+import java.util.BitSet;
+import java.util.Map;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.control.ToggleButton;
+
+/**
+ * Java Flight Recorder events for user edits, so that edits can be lined up
+ * with audio dropouts and JavaFX Application Thread stalls in recordings.
+ * <p>
+ * The enabled state of each event type is checked before an event is made,
+ * so when recording is off (or the event is disabled in the recording
+ * settings) the cost is a flag check, with no allocation; timed events that
+ * are begun but then disabled, or fall under their threshold, are dropped.
+ * <p>
+ * Controls do not know which channel or filter they edit, so clients tag the
+ * controls with those identifiers via {@link #setIdentifiers}; untagged
+ * controls are recorded with {@link #UNKNOWN_IDENTIFIER}.
+ * <p>
+ * NOTE: The Flight Recorder API requires Java 8 Update 262 or later, so its
+ *  presence is probed once, and on runtimes without it every method here is
+ *  a no-op; the events themselves live in {@link FlightRecorderEvents} so
+ *  that this class never links against the API.
+ */
+public final class SigprocEvents {
+
+    // Declare the identifier that is recorded when the channel or filter is unknown.
+    public static final int     UNKNOWN_IDENTIFIER = -1;
+
+    // Node property keys for the channel and filter identifiers of a control.
+    private static final String CHANNEL_KEY        = "fxsigproc.event.channel";      //$NON-NLS-1$
+    private static final String FILTER_NUMBER_KEY  = "fxsigproc.event.filterNumber"; //$NON-NLS-1$
+
+    // Whether the Flight Recorder API can be used in this runtime.
+    private static final boolean FLIGHT_RECORDER_AVAILABLE = probeFlightRecorder();
+
+    private SigprocEvents() {}
+
+    // NOTE: Linking our own events as well as finding the API catches those
+    //  runtimes that have the API but do not let this library use it.
+    private static boolean probeFlightRecorder() {
+        try {
+            Class.forName( "jdk.jfr.Event", false, SigprocEvents.class.getClassLoader() ); //$NON-NLS-1$
+            FlightRecorderEvents.link();
+            return true;
+        }
+        catch ( final ClassNotFoundException | LinkageError | SecurityException e ) {
+            return false;
+        }
+    }
+
+    public static boolean isFlightRecorderAvailable() {
+        return FLIGHT_RECORDER_AVAILABLE;
+    }
+
+    /**
+     * Tags a control with the channel and filter that it edits, so that its
+     * events can be told apart from those of its siblings on other channels.
+     *
+     * @param node
+     *            The control to tag; may be null, for unmaterialized controls
+     * @param channel
+     *            The channel that the control edits, or UNKNOWN_IDENTIFIER
+     * @param filterNumber
+     *            The filter that the control edits, or UNKNOWN_IDENTIFIER
+     */
+    public static void setIdentifiers( final Node node,
+                                       final int channel,
+                                       final int filterNumber ) {
+        if ( node == null ) {
+            return;
+        }
+        final Map< Object, Object > properties = node.getProperties();
+        properties.put( CHANNEL_KEY, Integer.valueOf( channel ) );
+        properties.put( FILTER_NUMBER_KEY, Integer.valueOf( filterNumber ) );
+    }
+
+    // Get one of the identifiers a control was tagged with, if any.
+    private static int getIdentifier( final Object source, final String key ) {
+        if ( !( source instanceof Node ) || !( ( Node ) source ).hasProperties() ) {
+            return UNKNOWN_IDENTIFIER;
+        }
+        final Object identifier = ( ( Node ) source ).getProperties().get( key );
+        return ( identifier instanceof Integer )
+            ? ( ( Integer ) identifier ).intValue()
+            : UNKNOWN_IDENTIFIER;
+    }
+
+    static int getChannel( final Object source ) {
+        return getIdentifier( source, CHANNEL_KEY );
+    }
+
+    static int getFilterNumber( final Object source ) {
+        return getIdentifier( source, FILTER_NUMBER_KEY );
+    }
+
+    static String getControlType( final Object source ) {
+        return ( source == null ) ? null : source.getClass().getSimpleName();
+    }
+
+    // NOTE: Begin the event before delivering the value to listeners, and
+    //  commit it after, so that the event duration is the listener time. The
+    //  event is opaque, and is null if there is no Flight Recorder or the
+    //  event is disabled.
+    public static Object beginEditorCommit() {
+        return FLIGHT_RECORDER_AVAILABLE ? FlightRecorderEvents.beginEditorCommit() : null;
+    }
+
+    public static void commitEditorCommit( final Object event,
+                                           final Object source,
+                                           final double value ) {
+        if ( event != null ) {
+            FlightRecorderEvents.commitEditorCommit( event, source, value );
+        }
+    }
+
+    // NOTE: As for editor commits, the event is timed over the delivery of
+    //  the new selection to listeners, and is null if it is not recorded.
+    public static Object beginSelectionChange() {
+        return FLIGHT_RECORDER_AVAILABLE ? FlightRecorderEvents.beginSelectionChange() : null;
+    }
+
+    public static void commitSelectionChange( final Object event,
+                                              final Object source,
+                                              final String oldValue,
+                                              final String newValue ) {
+        if ( event != null ) {
+            FlightRecorderEvents.commitSelectionChange( event, source, oldValue, newValue );
+        }
+    }
+
+    /**
+     * Records an event each time the user bypasses or enables the supplied
+     * toggle button, where "selected" means "bypassed".
+     * <p>
+     * NOTE: This must be called as soon as the button is made, so that the
+     *  event is timed over every selection listener that clients add later.
+     *
+     * @param toggleButton
+     *            The bypass toggle button to record events for
+     */
+    public static void recordBypassToggles( final ToggleButton toggleButton ) {
+        if ( FLIGHT_RECORDER_AVAILABLE ) {
+            new ToggleRecorder( toggleButton, null );
+        }
+    }
+
+    /**
+     * Records an event each time the user toggles one of the Master Level
+     * Settings through the supplied toggle button, against the channel that
+     * the button is tagged with, with true recorded as 1 and false as 0.
+     * <p>
+     * NOTE: Gain is recorded by its editor, as an Editor Commit event, so
+     *  this is only for the toggles. This must be called as soon as the
+     *  button is made, so that the event is timed over every selection
+     *  listener that is added later, including the push to the model.
+     *
+     * @param toggleButton
+     *            The toggle button to record events for
+     * @param setting
+     *            The name of the setting that the button toggles
+     */
+    public static void recordMasterLevelSettingsToggles( final ToggleButton toggleButton,
+                                                         final String setting ) {
+        if ( FLIGHT_RECORDER_AVAILABLE ) {
+            new ToggleRecorder( toggleButton, setting );
+        }
+    }
+
+    /**
+     * Times each user toggle of a button over its selection listeners, as a
+     * Bypass Toggle event, or as a Master Level Settings Change event if the
+     * button toggles a Master Level Setting.
+     * <p>
+     * The event begins when the selection changes, as this is the first
+     * listener, and is committed on the action event that the button fires
+     * once the change has been delivered to every listener. Selection changes
+     * that are pushed in rather than toggled fire no action event, so they
+     * are not recorded.
+     */
+    private static final class ToggleRecorder
+            implements ChangeListener< Boolean >, EventHandler< ActionEvent > {
+
+        private final ToggleButton toggleButton;
+
+        // The Master Level Setting that the button toggles, or null for bypass.
+        private final String       setting;
+
+        private Object             pendingEvent;
+
+        ToggleRecorder( final ToggleButton pToggleButton, final String pSetting ) {
+            toggleButton = pToggleButton;
+            setting = pSetting;
+            pendingEvent = null;
+
+            toggleButton.selectedProperty().addListener( this );
+            toggleButton.addEventHandler( ActionEvent.ACTION, this );
+        }
+
+        @Override
+        public void changed( final ObservableValue< ? extends Boolean > observable,
+                             final Boolean oldValue,
+                             final Boolean newValue ) {
+            pendingEvent = ( setting == null )
+                ? FlightRecorderEvents.beginBypassToggle()
+                : FlightRecorderEvents.beginMasterLevelSettingsChange();
+        }
+
+        @Override
+        public void handle( final ActionEvent actionEvent ) {
+            final Object event = pendingEvent;
+            if ( event == null ) {
+                return;
+            }
+            pendingEvent = null;
+            if ( setting == null ) {
+                FlightRecorderEvents.commitBypassToggle( event,
+                                                         toggleButton,
+                                                         toggleButton.getText(),
+                                                         toggleButton.isSelected() );
+            }
+            else {
+                FlightRecorderEvents.commitMasterLevelSettingsChange( event,
+                                                                      toggleButton,
+                                                                      setting,
+                                                                      toggleButton.isSelected()
+                                                                          ? 1.0d
+                                                                          : 0.0d );
+            }
+        }
+    }
+
+    public static Object beginMasterLevelSettingsBankChange() {
+        return FLIGHT_RECORDER_AVAILABLE
+            ? FlightRecorderEvents.beginMasterLevelSettingsBankChange()
+            : null;
+    }
+
+    public static void commitMasterLevelSettingsBankChange( final Object event,
+                                                            final BitSet changedChannels ) {
+        if ( event != null ) {
+            FlightRecorderEvents.commitMasterLevelSettingsBankChange( event, changedChannels );
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.scene.control.Tooltip;
+
+/**
+ * A registry of shared label strings and shared tooltips for the labeled
+ * controls, as most of them repeat the same few texts on every channel.
+ * <p>
+ * Composite strings such as "3 Bypassed" are made once per distinct value
+ * and then reused, and there is one {@link Tooltip} per distinct tooltip
+ * text, installed on every control that uses that text. A tooltip only ever
+ * shows for the control under the mouse, so sharing it is invisible to the
+ * user, and it saves a popup window's worth of objects per control.
+ * <p>
+ * NOTE: As with the controls themselves, this must only be used from the
+ *  JavaFX Application Thread.
+ */
+public final class SigprocLabelRegistry {
+
+    private static final String                  BYPASSED_SUFFIX      = " Bypassed"; //$NON-NLS-1$
+    private static final String                  ENABLED_SUFFIX       = " Enabled";  //$NON-NLS-1$
+
+    // Interned label strings, keyed by themselves.
+    private static final Map< String, String >   LABELS               = new HashMap<>();
+
+    // Bypassed/Enabled labels per filter number and per filter name.
+    private static final List< String[] >        FILTER_NUMBER_LABELS = new ArrayList<>();
+    private static final Map< String, String[] > FILTER_NAME_LABELS   = new HashMap<>();
+
+    // Bypass/Enable tooltip texts per filter name.
+    private static final Map< String, String >   FILTER_TOOLTIP_TEXTS = new HashMap<>();
+
+    // Shared tooltips, keyed by their text.
+    private static final Map< String, Tooltip >  TOOLTIPS             = new HashMap<>();
+
+    /**
+     * The default constructor is disabled, as this is a static utility class.
+     */
+    private SigprocLabelRegistry() {}
+
+    /**
+     * Returns the shared instance of a label string, registering it if new.
+     *
+     * @param label
+     *            The label string
+     * @return The shared instance of the label string
+     */
+    public static String getLabel( final String label ) {
+        final String sharedLabel = LABELS.putIfAbsent( label, label );
+        return ( sharedLabel != null ) ? sharedLabel : label;
+    }
+
+    /**
+     * Returns the shared "n Bypassed" or "n Enabled" label for a filter number.
+     *
+     * @param filterNumber
+     *            The one-based filter number
+     * @param bypassed
+     *            true for the bypassed label; false for the enabled label
+     * @return The shared label for the filter number
+     */
+    public static String getFilterNumberLabel( final int filterNumber, final boolean bypassed ) {
+        while ( FILTER_NUMBER_LABELS.size() <= filterNumber ) {
+            final String number = Integer.toString( FILTER_NUMBER_LABELS.size() );
+            FILTER_NUMBER_LABELS.add( new String[] {
+                                                     getLabel( number + BYPASSED_SUFFIX ),
+                                                     getLabel( number + ENABLED_SUFFIX ) } );
+        }
+        return FILTER_NUMBER_LABELS.get( filterNumber )[ bypassed ? 0 : 1 ];
+    }
+
+    /**
+     * Returns the shared "Name Bypassed" or "Name Enabled" label for a filter.
+     *
+     * @param filterName
+     *            The name of the filter
+     * @param bypassed
+     *            true for the bypassed label; false for the enabled label
+     * @return The shared label for the filter
+     */
+    public static String getFilterNameLabel( final String filterName, final boolean bypassed ) {
+        String[] labels = FILTER_NAME_LABELS.get( filterName );
+        if ( labels == null ) {
+            labels = new String[] {
+                                    getLabel( filterName + BYPASSED_SUFFIX ),
+                                    getLabel( filterName + ENABLED_SUFFIX ) };
+            FILTER_NAME_LABELS.put( filterName, labels );
+        }
+        return labels[ bypassed ? 0 : 1 ];
+    }
+
+    /**
+     * Returns the shared "Bypass/Enable Name Filter" tooltip text for a filter.
+     *
+     * @param filterName
+     *            The name of the filter
+     * @return The shared tooltip text for the filter
+     */
+    public static String getFilterTooltipText( final String filterName ) {
+        String tooltipText = FILTER_TOOLTIP_TEXTS.get( filterName );
+        if ( tooltipText == null ) {
+            tooltipText = getLabel( "Bypass/Enable " + filterName + " Filter" ); //$NON-NLS-1$ //$NON-NLS-2$
+            FILTER_TOOLTIP_TEXTS.put( filterName, tooltipText );
+        }
+        return tooltipText;
+    }
+
+    /**
+     * Returns the shared tooltip for a tooltip text, making it if new.
+     *
+     * @param tooltipText
+     *            The text of the tooltip
+     * @return The shared tooltip with the supplied text
+     */
+    public static Tooltip getTooltip( final String tooltipText ) {
+        Tooltip tooltip = TOOLTIPS.get( tooltipText );
+        if ( tooltip == null ) {
+            tooltip = new Tooltip( getLabel( tooltipText ) );
+            TOOLTIPS.put( tooltipText, tooltip );
+        }
+        return tooltip;
+    }
+
+    public static int getNumberOfLabels() {
+        return LABELS.size();
+    }
+
+    public static int getNumberOfTooltips() {
+        return TOOLTIPS.size();
+    }
+}
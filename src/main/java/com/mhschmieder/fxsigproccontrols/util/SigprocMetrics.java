@@ -0,0 +1,619 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MXBean;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * A registry of edit metrics per type of control, so that operators can see
+ * which controls flood the DSP link during a live show without a profiler.
+ * <p>
+ * For each control type the registry tracks the edit rate, the listener
+ * fan-out of each edit, the JavaFX Application Thread time spent delivering
+ * each edit to its listeners, and the biggest bursts of back-to-back edits.
+ * The metrics are readable as JMX MXBeans once {@link #registerMBeans} is
+ * called, and can be pushed periodically to any number of pluggable
+ * {@link MetricsReporter} implementations.
+ * <p>
+ * Sources report the edits whose listeners they own (committed editor values
+ * and Master Level Settings banks) with timing, and with the fan-out counted
+ * as the listeners actually delivered to; selectors and toggle buttons only
+ * report their edits, as their listeners are not ours to time. Models are
+ * never instrumented, so undo history and preset writes do not count.
+ * <p>
+ * Metrics are off by default, and while off each source pays a single
+ * volatile read per edit; they can be switched on through JMX as well.
+ */
+public final class SigprocMetrics {
+
+    // Declare the JMX domain that all of the MXBeans are registered under.
+    public static final String  JMX_DOMAIN              = "com.mhschmieder.fxsigproc"; //$NON-NLS-1$
+
+    // Declare the gap between edits that ends a burst: about three pulses.
+    public static final long    BURST_GAP_DEFAULT_MS    = 50L;
+
+    // Declare the fixed bucket over which the edit rate is measured.
+    private static final long   RATE_BUCKET_NANOS       = 1000000000L;
+
+    // Declare the value that marks an edit as not being timed.
+    private static final long   NOT_TIMED               = Long.MIN_VALUE;
+
+    private static volatile boolean enabled             = false;
+
+    private static volatile long    burstGapNanos       = BURST_GAP_DEFAULT_MS * 1000000L;
+
+    private static final ConcurrentMap< String, ControlTypeMetrics > CONTROL_TYPE_METRICS =
+            new ConcurrentHashMap<>();
+
+    private static final List< MetricsReporter > REPORTERS = new CopyOnWriteArrayList<>();
+
+    // Scheduler for periodic reporting; only made while reporting is running.
+    private static ScheduledExecutorService reportingScheduler;
+
+    // Whether the MXBeans are registered, so that new control types join them.
+    private static boolean                  mbeansRegistered;
+
+    private SigprocMetrics() {}
+
+    /**
+     * Receives the metrics of every control type seen so far, either
+     * periodically or on demand; implementations might log them, push them to
+     * a monitoring system, or show them on an operator's screen.
+     * <p>
+     * NOTE: Periodic reports are made on a background thread.
+     */
+    @FunctionalInterface
+    public interface MetricsReporter {
+        void report( final Collection< ControlTypeMetrics > controlTypeMetrics );
+    }
+
+    /**
+     * The JMX view of the metrics of a single control type.
+     */
+    @MXBean
+    public interface ControlTypeMetricsMXBean {
+        String getControlType();
+
+        long getEditCount();
+
+        double getEditsPerSecond();
+
+        double getPeakEditsPerSecond();
+
+        double getAverageFanOut();
+
+        int getMaximumFanOut();
+
+        double getTotalHandlingTimeMillis();
+
+        double getAverageHandlingTimeMicros();
+
+        double getMaximumHandlingTimeMicros();
+
+        long getBurstCount();
+
+        long getMaximumBurstSize();
+
+        double getMaximumBurstDurationMillis();
+
+        void reset();
+    }
+
+    /**
+     * The JMX view of the registry itself, for switching metrics on and off.
+     */
+    @MXBean
+    public interface RegistryMXBean {
+        boolean isEnabled();
+
+        void setEnabled( final boolean enabled );
+
+        long getBurstGapMillis();
+
+        void setBurstGapMillis( final long burstGapMillis );
+
+        int getNumberOfControlTypes();
+
+        void reset();
+    }
+
+    /**
+     * The metrics of a single control type, which are updated on whichever
+     * thread makes the edits and read on any thread.
+     */
+    public static final class ControlTypeMetrics implements ControlTypeMetricsMXBean {
+
+        private final String controlType;
+
+        private long         editCount;
+
+        private long         rateBucket;
+        private long         rateBucketEditCount;
+        private double       editsPerSecond;
+        private double       peakEditsPerSecond;
+
+        private long         timedEditCount;
+        private long         fanOutTotal;
+        private int          maximumFanOut;
+
+        private long         handlingNanosTotal;
+        private long         maximumHandlingNanos;
+
+        private long         lastEditNanos;
+        private long         burstStartNanos;
+        private long         burstSize;
+        private long         burstCount;
+        private long         maximumBurstSize;
+        private long         maximumBurstNanos;
+
+        ControlTypeMetrics( final String pControlType ) {
+            controlType = pControlType;
+
+            reset();
+        }
+
+        synchronized void recordEdits( final long nowNanos, final int numberOfEdits ) {
+            editCount += numberOfEdits;
+
+            rollRateBuckets( nowNanos );
+            rateBucketEditCount += numberOfEdits;
+
+            // An edit that follows closely on the last one extends the burst.
+            if ( ( burstSize > 0L ) && ( ( nowNanos - lastEditNanos ) <= burstGapNanos ) ) {
+                burstSize += numberOfEdits;
+            }
+            else {
+                burstCount++;
+                burstStartNanos = nowNanos;
+                burstSize = numberOfEdits;
+            }
+            lastEditNanos = nowNanos;
+            if ( burstSize > maximumBurstSize ) {
+                maximumBurstSize = burstSize;
+            }
+            maximumBurstNanos = Math.max( maximumBurstNanos, nowNanos - burstStartNanos );
+        }
+
+        // Close every bucket that has elapsed since the current one started,
+        // with any that were skipped over counting as empty, so that a burst
+        // is not averaged over the idle time that follows it; this is done on
+        // reads as well as edits, so that the rate of a quiet control decays.
+        private void rollRateBuckets( final long nowNanos ) {
+            final long bucket = Math.floorDiv( nowNanos, RATE_BUCKET_NANOS );
+            if ( bucket <= rateBucket ) {
+                return;
+            }
+            final double bucketEditsPerSecond = ( rateBucketEditCount * 1.0e9d )
+                    / RATE_BUCKET_NANOS;
+            peakEditsPerSecond = Math.max( peakEditsPerSecond, bucketEditsPerSecond );
+            editsPerSecond = ( bucket == ( rateBucket + 1L ) ) ? bucketEditsPerSecond : 0.0d;
+            rateBucket = bucket;
+            rateBucketEditCount = 0L;
+        }
+
+        synchronized void recordHandling( final int fanOut, final long handlingNanos ) {
+            timedEditCount++;
+            fanOutTotal += fanOut;
+            if ( fanOut > maximumFanOut ) {
+                maximumFanOut = fanOut;
+            }
+
+            handlingNanosTotal += handlingNanos;
+            if ( handlingNanos > maximumHandlingNanos ) {
+                maximumHandlingNanos = handlingNanos;
+            }
+        }
+
+        @Override
+        public String getControlType() {
+            return controlType;
+        }
+
+        @Override
+        public synchronized long getEditCount() {
+            return editCount;
+        }
+
+        // NOTE: This is the rate over the last closed one-second bucket, so
+        //  it drops to zero once the control has been idle for a whole bucket.
+        @Override
+        public synchronized double getEditsPerSecond() {
+            rollRateBuckets( System.nanoTime() );
+            return editsPerSecond;
+        }
+
+        // NOTE: This is the peak over the closed one-second buckets.
+        @Override
+        public synchronized double getPeakEditsPerSecond() {
+            rollRateBuckets( System.nanoTime() );
+            return peakEditsPerSecond;
+        }
+
+        @Override
+        public synchronized double getAverageFanOut() {
+            return ( timedEditCount > 0L ) ? ( double ) fanOutTotal / timedEditCount : 0.0d;
+        }
+
+        @Override
+        public synchronized int getMaximumFanOut() {
+            return maximumFanOut;
+        }
+
+        @Override
+        public synchronized double getTotalHandlingTimeMillis() {
+            return handlingNanosTotal * 1.0e-6d;
+        }
+
+        @Override
+        public synchronized double getAverageHandlingTimeMicros() {
+            return ( timedEditCount > 0L )
+                ? ( handlingNanosTotal * 1.0e-3d ) / timedEditCount
+                : 0.0d;
+        }
+
+        @Override
+        public synchronized double getMaximumHandlingTimeMicros() {
+            return maximumHandlingNanos * 1.0e-3d;
+        }
+
+        @Override
+        public synchronized long getBurstCount() {
+            return burstCount;
+        }
+
+        @Override
+        public synchronized long getMaximumBurstSize() {
+            return maximumBurstSize;
+        }
+
+        @Override
+        public synchronized double getMaximumBurstDurationMillis() {
+            return maximumBurstNanos * 1.0e-6d;
+        }
+
+        @Override
+        public synchronized void reset() {
+            editCount = 0L;
+
+            rateBucket = Math.floorDiv( System.nanoTime(), RATE_BUCKET_NANOS );
+            rateBucketEditCount = 0L;
+            editsPerSecond = 0.0d;
+            peakEditsPerSecond = 0.0d;
+
+            timedEditCount = 0L;
+            fanOutTotal = 0L;
+            maximumFanOut = 0;
+
+            handlingNanosTotal = 0L;
+            maximumHandlingNanos = 0L;
+
+            lastEditNanos = 0L;
+            burstStartNanos = 0L;
+            burstSize = 0L;
+            burstCount = 0L;
+            maximumBurstSize = 0L;
+            maximumBurstNanos = 0L;
+        }
+
+        @SuppressWarnings("nls")
+        @Override
+        public String toString() {
+            return controlType + ": " + getEditCount() + " edits, "
+                    + getEditsPerSecond() + "/s (peak " + getPeakEditsPerSecond() + "/s), fan-out "
+                    + getAverageFanOut() + " (max " + getMaximumFanOut() + "), handling "
+                    + getAverageHandlingTimeMicros() + " us (max " + getMaximumHandlingTimeMicros()
+                    + " us), biggest burst " + getMaximumBurstSize() + " edits";
+        }
+    }
+
+    /**
+     * The registry's own JMX view, which delegates to the static methods.
+     */
+    private static final class Registry implements RegistryMXBean {
+        @Override
+        public boolean isEnabled() {
+            return SigprocMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled( final boolean pEnabled ) {
+            SigprocMetrics.setEnabled( pEnabled );
+        }
+
+        @Override
+        public long getBurstGapMillis() {
+            return SigprocMetrics.getBurstGapMillis();
+        }
+
+        @Override
+        public void setBurstGapMillis( final long burstGapMillis ) {
+            SigprocMetrics.setBurstGapMillis( burstGapMillis );
+        }
+
+        @Override
+        public int getNumberOfControlTypes() {
+            return CONTROL_TYPE_METRICS.size();
+        }
+
+        @Override
+        public void reset() {
+            SigprocMetrics.reset();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled( final boolean pEnabled ) {
+        enabled = pEnabled;
+    }
+
+    public static long getBurstGapMillis() {
+        return burstGapNanos / 1000000L;
+    }
+
+    /**
+     * Sets the longest gap between edits of one control type for which they
+     * are still counted as the same burst.
+     *
+     * @param burstGapMillis
+     *            The longest gap between edits within a burst, in ms
+     */
+    public static void setBurstGapMillis( final long burstGapMillis ) {
+        burstGapNanos = Math.max( 0L, burstGapMillis ) * 1000000L;
+    }
+
+    // NOTE: Call this just before an edit is delivered to its listeners, and
+    //  pass the result to endHandling() just after.
+    public static long beginHandling() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Records one or more edits of a control type that have just been
+     * delivered to their listeners, along with the time that took.
+     *
+     * @param controlType
+     *            The type of control (or model) that was edited
+     * @param handlingStartNanos
+     *            The value that beginHandling() returned before delivery
+     * @param fanOut
+     *            The number of listeners the edits were delivered to
+     * @param numberOfEdits
+     *            The number of edits delivered at once, such as for a bank
+     */
+    public static void endHandling( final String controlType,
+                                    final long handlingStartNanos,
+                                    final int fanOut,
+                                    final int numberOfEdits ) {
+        if ( handlingStartNanos == NOT_TIMED ) {
+            return;
+        }
+        final long nowNanos = System.nanoTime();
+        final ControlTypeMetrics controlTypeMetrics = getControlTypeMetrics( controlType );
+        controlTypeMetrics.recordEdits( nowNanos, numberOfEdits );
+        controlTypeMetrics.recordHandling( fanOut, nowNanos - handlingStartNanos );
+    }
+
+    // Record an edit whose delivery to listeners is not ours to time.
+    public static void recordEdit( final String controlType ) {
+        if ( !enabled ) {
+            return;
+        }
+        getControlTypeMetrics( controlType ).recordEdits( System.nanoTime(), 1 );
+    }
+
+    /**
+     * Returns the metrics of a control type, making them on first request.
+     *
+     * @param controlType
+     *            The type of control to get the metrics of
+     * @return The live metrics of the control type
+     */
+    public static ControlTypeMetrics getControlTypeMetrics( final String controlType ) {
+        ControlTypeMetrics controlTypeMetrics = CONTROL_TYPE_METRICS.get( controlType );
+        if ( controlTypeMetrics == null ) {
+            controlTypeMetrics = new ControlTypeMetrics( controlType );
+            final ControlTypeMetrics existingMetrics = CONTROL_TYPE_METRICS
+                    .putIfAbsent( controlType, controlTypeMetrics );
+            if ( existingMetrics != null ) {
+                return existingMetrics;
+            }
+            registerMBean( controlTypeMetrics );
+        }
+        return controlTypeMetrics;
+    }
+
+    // Get the metrics of every control type seen so far, sorted by type.
+    public static List< ControlTypeMetrics > getAllControlTypeMetrics() {
+        final List< ControlTypeMetrics > controlTypeMetrics =
+                new ArrayList<>( CONTROL_TYPE_METRICS.values() );
+        Collections.sort( controlTypeMetrics,
+                          ( metrics1, metrics2 ) -> metrics1.getControlType()
+                                  .compareTo( metrics2.getControlType() ) );
+        return controlTypeMetrics;
+    }
+
+    public static void reset() {
+        for ( final ControlTypeMetrics controlTypeMetrics : CONTROL_TYPE_METRICS.values() ) {
+            controlTypeMetrics.reset();
+        }
+    }
+
+    /**
+     * Registers the registry and the metrics of every control type with the
+     * platform MBean server, under {@link #JMX_DOMAIN}; control types that
+     * are first seen later are registered as they appear.
+     */
+    public static synchronized void registerMBeans() {
+        if ( mbeansRegistered ) {
+            return;
+        }
+        mbeansRegistered = true;
+
+        registerMBean( getRegistryObjectName(),
+                       new StandardMBean( new Registry(), RegistryMXBean.class, true ) );
+        for ( final ControlTypeMetrics controlTypeMetrics : CONTROL_TYPE_METRICS.values() ) {
+            registerMBean( controlTypeMetrics );
+        }
+    }
+
+    public static synchronized void unregisterMBeans() {
+        if ( !mbeansRegistered ) {
+            return;
+        }
+        mbeansRegistered = false;
+
+        final MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            mbeanServer.unregisterMBean( getRegistryObjectName() );
+            for ( final ControlTypeMetrics controlTypeMetrics : CONTROL_TYPE_METRICS.values() ) {
+                mbeanServer.unregisterMBean( getObjectName( controlTypeMetrics ) );
+            }
+        }
+        catch ( final JMException jme ) {
+            jme.printStackTrace();
+        }
+    }
+
+    private static synchronized void registerMBean( final ControlTypeMetrics controlTypeMetrics ) {
+        if ( !mbeansRegistered ) {
+            return;
+        }
+        registerMBean( getObjectName( controlTypeMetrics ),
+                       new StandardMBean( controlTypeMetrics,
+                                          ControlTypeMetricsMXBean.class,
+                                          true ) );
+    }
+
+    private static void registerMBean( final ObjectName objectName,
+                                       final StandardMBean mbean ) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean( mbean, objectName );
+        }
+        catch ( final InstanceAlreadyExistsException iaee ) {
+            // NOTE: Another copy of this library in the same process got
+            //  there first, which is harmless.
+        }
+        catch ( final JMException jme ) {
+            jme.printStackTrace();
+        }
+    }
+
+    @SuppressWarnings("nls")
+    private static ObjectName getRegistryObjectName() {
+        try {
+            return new ObjectName( JMX_DOMAIN + ":type=Metrics,name=Registry" );
+        }
+        catch ( final JMException jme ) {
+            throw new IllegalStateException( jme );
+        }
+    }
+
+    @SuppressWarnings("nls")
+    private static ObjectName getObjectName( final ControlTypeMetrics controlTypeMetrics ) {
+        try {
+            return new ObjectName( JMX_DOMAIN + ":type=ControlMetrics,name="
+                    + ObjectName.quote( controlTypeMetrics.getControlType() ) );
+        }
+        catch ( final JMException jme ) {
+            throw new IllegalStateException( jme );
+        }
+    }
+
+    public static void addReporter( final MetricsReporter reporter ) {
+        REPORTERS.add( reporter );
+    }
+
+    public static void removeReporter( final MetricsReporter reporter ) {
+        REPORTERS.remove( reporter );
+    }
+
+    // Push the current metrics to every reporter, on the calling thread.
+    public static void report() {
+        final List< ControlTypeMetrics > controlTypeMetrics = getAllControlTypeMetrics();
+        for ( final MetricsReporter reporter : REPORTERS ) {
+            try {
+                reporter.report( controlTypeMetrics );
+            }
+            catch ( final RuntimeException re ) {
+                // NOTE: One faulty reporter must not starve the others.
+                re.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Starts pushing the metrics to every reporter at a fixed period, on a
+     * background daemon thread, replacing any earlier reporting schedule.
+     *
+     * @param reportingPeriodMillis
+     *            The period between reports, in ms
+     */
+    public static synchronized void startReporting( final long reportingPeriodMillis ) {
+        stopReporting();
+
+        reportingScheduler = Executors.newSingleThreadScheduledExecutor( runnable -> {
+            final Thread thread = new Thread( runnable, "Sigproc Metrics Reporter" ); //$NON-NLS-1$
+            thread.setDaemon( true );
+            return thread;
+        } );
+        reportingScheduler.scheduleAtFixedRate( SigprocMetrics::report,
+                                                reportingPeriodMillis,
+                                                reportingPeriodMillis,
+                                                TimeUnit.MILLISECONDS );
+    }
+
+    public static synchronized void stopReporting() {
+        if ( reportingScheduler != null ) {
+            reportingScheduler.shutdownNow();
+            reportingScheduler = null;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020, 2025 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxSigProc Library
+ *
+ * You should have received a copy of the MIT License along with the
+ * FxSigProc Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxsigproc
+ */
+package com.mhschmieder.fxsigproccontrols.util;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.value.ObservableDoubleValue;
+
+/**
+ * Republishes the values of an observable double (typically an editor's value
+ * property) so that downstream listeners see at most one value per JavaFX
+ * pulse, or per configurable minimum interval, while the source is changing
+ * quickly, such as when an arrow key is held down on an editor.
+ * <p>
+ * Coalescing is opt-in; when disabled, every source value is republished
+ * immediately. When enabled, intermediate values are dropped but the final
+ * value is always delivered, on the next pulse after the interval elapses.
+ * <p>
+ * NOTE: As with the editors themselves, this must only be used from the
+ *  JavaFX Application Thread.
+ */
+public final class ValueChangeCoalescer {
+
+    // Declare default minimum interval, which means "once per pulse".
+    public static final long             COALESCING_INTERVAL_DEFAULT_MS = 0L;
+
+    /**
+     * The coalesced (published) value that downstream listeners observe.
+     */
+    private final ReadOnlyDoubleWrapper publishedValue;
+
+    /**
+     * The source of the values to coalesce.
+     */
+    private final ObservableDoubleValue sourceValue;
+
+    /**
+     * Pulse timer for delivering pending values; created on first use.
+     */
+    private AnimationTimer              pulseTimer;
+
+    private boolean                     coalescingEnabled;
+    private long                        coalescingIntervalNanos;
+
+    private boolean                     valuePending;
+    private long                        lastPublishedNanos;
+
+    private long                        receivedValueCount;
+    private long                        publishedValueCount;
+    private long                        droppedValueCount;
+
+    public ValueChangeCoalescer( final ObservableDoubleValue pSourceValue ) {
+        sourceValue = pSourceValue;
+        publishedValue = new ReadOnlyDoubleWrapper( sourceValue.get() );
+
+        coalescingEnabled = false;
+        coalescingIntervalNanos = COALESCING_INTERVAL_DEFAULT_MS * 1000000L;
+
+        valuePending = false;
+        lastPublishedNanos = Long.MIN_VALUE;
+
+        resetCounters();
+
+        sourceValue.addListener( ( observable, oldValue, newValue ) -> sourceValueChanged() );
+    }
+
+    private void sourceValueChanged() {
+        receivedValueCount++;
+
+        if ( !coalescingEnabled ) {
+            publish();
+            return;
+        }
+
+        // A value that is still waiting to be delivered is now superseded.
+        if ( valuePending ) {
+            droppedValueCount++;
+        }
+        valuePending = true;
+
+        getPulseTimer().start();
+    }
+
+    private AnimationTimer getPulseTimer() {
+        if ( pulseTimer == null ) {
+            pulseTimer = new AnimationTimer() {
+                @Override
+                public void handle( final long now ) {
+                    pulse( now );
+                }
+            };
+        }
+        return pulseTimer;
+    }
+
+    private void pulse( final long now ) {
+        if ( !valuePending ) {
+            // Stop listening to pulses while the source is idle.
+            pulseTimer.stop();
+            return;
+        }
+
+        if ( ( lastPublishedNanos == Long.MIN_VALUE )
+                || ( ( now - lastPublishedNanos ) >= coalescingIntervalNanos ) ) {
+            lastPublishedNanos = now;
+            publish();
+        }
+    }
+
+    private void publish() {
+        valuePending = false;
+        publishedValueCount++;
+        publishedValue.set( sourceValue.get() );
+    }
+
+    /**
+     * Immediately delivers any pending value, such as on focus loss or when
+     * the downstream consumer needs to be in sync before a snapshot is taken.
+     */
+    public void flush() {
+        if ( valuePending ) {
+            publish();
+        }
+        if ( pulseTimer != null ) {
+            pulseTimer.stop();
+        }
+    }
+
+    public ReadOnlyDoubleProperty publishedValueProperty() {
+        return publishedValue.getReadOnlyProperty();
+    }
+
+    public double getPublishedValue() {
+        return publishedValue.get();
+    }
+
+    public boolean isCoalescingEnabled() {
+        return coalescingEnabled;
+    }
+
+    public void setCoalescingEnabled( final boolean pCoalescingEnabled ) {
+        coalescingEnabled = pCoalescingEnabled;
+
+        // Never strand a pending value when switching coalescing off.
+        if ( !coalescingEnabled ) {
+            flush();
+        }
+    }
+
+    public long getCoalescingIntervalMillis() {
+        return coalescingIntervalNanos / 1000000L;
+    }
+
+    /**
+     * Sets the minimum interval between published values; zero means that at
+     * most one value is published per JavaFX pulse.
+     *
+     * @param coalescingIntervalMillis
+     *            The minimum interval between published values, in ms
+     */
+    public void setCoalescingIntervalMillis( final long coalescingIntervalMillis ) {
+        coalescingIntervalNanos = Math.max( 0L, coalescingIntervalMillis ) * 1000000L;
+    }
+
+    public long getReceivedValueCount() {
+        return receivedValueCount;
+    }
+
+    public long getPublishedValueCount() {
+        return publishedValueCount;
+    }
+
+    /**
+     * Returns how many intermediate values were superseded before they could
+     * be published, since construction or the last counter reset.
+     *
+     * @return The number of dropped intermediate values
+     */
+    public long getDroppedValueCount() {
+        return droppedValueCount;
+    }
+
+    public void resetCounters() {
+        receivedValueCount = 0L;
+        publishedValueCount = 0L;
+        droppedValueCount = 0L;
+    }
+}